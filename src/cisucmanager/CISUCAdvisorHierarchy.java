@@ -0,0 +1,297 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.datamodels.StudentInvestigator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the advisor hierarchy, in which the students of an
+ * investigator are the ones he advises, directly or through his own students.
+ *
+ * The hierarchy is kept as an Euler tour: the investigators are laid out in
+ * depth-first order, so that the students of the investigator at position p
+ * are exactly the ones at positions p + 1 to subtreeEnds[p] - 1. Finding them,
+ * or checking whether an investigator is advised by another one, doesn't
+ * require walking the hierarchy.
+ *
+ * The advisor references aren't validated against cycles, so a cycle is
+ * broken at the investigator with the lowest id, which becomes a root.
+ */
+public class CISUCAdvisorHierarchy {
+
+    // region Constants
+    private static final Comparator<Investigator> BY_ID = Comparator.comparingInt(Investigator::getInvestigatorId);
+    private static final Comparator<Publication> BY_YEAR = Comparator.comparingInt(Publication::getPublicationYear);
+
+    private final CISUCPublicationIndex publicationIndex;
+    private final Investigator[] order;
+    private final int[] subtreeEnds, depths;
+    private final HashMap<Integer, Integer> positions;
+    private final int advisorCount;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param investigators the investigators.
+     * @param publicationIndex the publications index, which the publications
+     * of the students are gathered from.
+     */
+    public CISUCAdvisorHierarchy(Collection<Investigator> investigators, CISUCPublicationIndex publicationIndex) {
+        this.publicationIndex = publicationIndex;
+
+        HashMap<Integer, Investigator> byId = new HashMap<>();
+        for (Investigator investigator : investigators) {
+            byId.put(investigator.getInvestigatorId(), investigator);
+        }
+
+        HashMap<Integer, List<Investigator>> students = new HashMap<>();
+        ArrayList<Investigator> roots = new ArrayList<>();
+
+        for (Investigator investigator : byId.values()) {
+            Investigator advisor = getAdvisor(investigator, byId);
+
+            if (advisor == null) {
+                roots.add(investigator);
+            } else {
+                students.computeIfAbsent(advisor.getInvestigatorId(), id -> new ArrayList<>()).add(investigator);
+            }
+        }
+        for (List<Investigator> advisees : students.values()) {
+            advisees.sort(BY_ID);
+        }
+        roots.sort(BY_ID);
+
+        order = new Investigator[byId.size()];
+        subtreeEnds = new int[order.length];
+        depths = new int[order.length];
+        positions = new HashMap<>();
+
+        int next = 0;
+        for (Investigator root : roots) {
+            next = tour(root, next, students);
+        }
+        if (next < order.length) {
+            // the investigators left are in advisor cycles, which no root leads to
+            ArrayList<Investigator> remaining = new ArrayList<>(byId.values());
+
+            remaining.sort(BY_ID);
+            for (Investigator investigator : remaining) {
+                if (!positions.containsKey(investigator.getInvestigatorId())) {
+                    next = tour(investigator, next, students);
+                }
+            }
+        }
+        advisorCount = students.size();
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the students an investigator advises directly.
+     *
+     * @param advisor the advisor.
+     * @return the students, sorted by id, or an empty list if the advisor has
+     * none or isn't in the hierarchy.
+     */
+    public List<Investigator> getStudents(Investigator advisor) {
+        Integer position = positions.get(advisor.getInvestigatorId());
+        ArrayList<Investigator> students = new ArrayList<>();
+
+        if (position != null) {
+            // each direct student's subtree ends where the next one begins
+            for (int student = position + 1; student < subtreeEnds[position]; student = subtreeEnds[student]) {
+                students.add(order[student]);
+            }
+        }
+        return students;
+    }
+
+    /**
+     * Function that gets the students an investigator advises, directly or
+     * through his own students.
+     *
+     * @param advisor the advisor.
+     * @return the students, in depth-first order, which can't be changed, or
+     * an empty list if the advisor has none or isn't in the hierarchy.
+     */
+    public List<Investigator> getAllStudents(Investigator advisor) {
+        Integer position = positions.get(advisor.getInvestigatorId());
+
+        if (position == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(order).subList(position + 1, subtreeEnds[position]));
+    }
+
+    /**
+     * Function that checks whether an investigator is advised by another one,
+     * directly or through his students.
+     *
+     * @param student the student.
+     * @param advisor the advisor.
+     * @return true if the student is in the advisor's subtree, false
+     * otherwise.
+     */
+    public boolean isAdvisedBy(Investigator student, Investigator advisor) {
+        Integer studentPosition = positions.get(student.getInvestigatorId()), advisorPosition = positions.get(advisor.getInvestigatorId());
+
+        return studentPosition != null && advisorPosition != null
+                && advisorPosition < studentPosition && studentPosition < subtreeEnds[advisorPosition];
+    }
+
+    /**
+     * Function that gets how far down the hierarchy an investigator is.
+     *
+     * @param investigator the investigator.
+     * @return 0 for an investigator without an advisor, 1 for his students
+     * and so on, or -1 if the investigator isn't in the hierarchy.
+     */
+    public int getDepth(Investigator investigator) {
+        Integer position = positions.get(investigator.getInvestigatorId());
+
+        return position == null ? -1 : depths[position];
+    }
+
+    /**
+     * Function that gets the investigators that advise, at least, one
+     * student.
+     *
+     * @return the advisors, in depth-first order.
+     */
+    public List<Investigator> getAdvisors() {
+        ArrayList<Investigator> advisors = new ArrayList<>();
+
+        for (int position = 0; position < order.length; position++) {
+            if (subtreeEnds[position] > position + 1) {
+                advisors.add(order[position]);
+            }
+        }
+        return advisors;
+    }
+
+    /**
+     * Function that gets the publications, in a range of years, of the
+     * students of an investigator, gathered from the publications index. A
+     * publication authored by more than one of them is only listed once.
+     *
+     * @param advisor the advisor.
+     * @param includeAdvisor whether the advisor's own publications are listed
+     * as well.
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the publications, sorted by year.
+     */
+    public List<Publication> getPublications(Investigator advisor, boolean includeAdvisor, int fromYear, int toYear) {
+        Integer position = positions.get(advisor.getInvestigatorId());
+
+        if (position == null) {
+            return new ArrayList<>();
+        }
+        int begin = includeAdvisor ? position : position + 1;
+
+        if (subtreeEnds[position] - begin == 1) {
+            return new ArrayList<>(publicationIndex.getInvestigatorPublications(order[begin].getInvestigatorId(), fromYear, toYear));
+        }
+
+        ArrayList<Publication> publications = new ArrayList<>();
+        Set<Publication> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        for (int member = begin; member < subtreeEnds[position]; member++) {
+            for (Publication publication : publicationIndex.getInvestigatorPublications(order[member].getInvestigatorId(), fromYear, toYear)) {
+                if (seen.add(publication)) {
+                    publications.add(publication);
+                }
+            }
+        }
+        publications.sort(BY_YEAR);
+        return publications;
+    }
+
+    public int getInvestigatorCount() {
+        return order.length;
+    }
+
+    public int getAdvisorCount() {
+        return advisorCount;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that gets the advisor of an investigator, as one of the
+     * hierarchy investigators.
+     *
+     * @param investigator the investigator.
+     * @param byId the hierarchy investigators, by id.
+     * @return the advisor, or null if the investigator isn't a student, has
+     * no advisor, has an unknown one or advises himself.
+     */
+    private static Investigator getAdvisor(Investigator investigator, HashMap<Integer, Investigator> byId) {
+        if (!(investigator instanceof StudentInvestigator)) {
+            return null;
+        }
+        Investigator advisor = ((StudentInvestigator) investigator).getAdvisorInvestigator();
+
+        if (advisor == null || advisor.getInvestigatorId() == investigator.getInvestigatorId()) {
+            return null;
+        }
+        return byId.get(advisor.getInvestigatorId());
+    }
+
+    /**
+     * Function that lays out, in depth-first order, the subtree of an
+     * investigator, skipping the investigators already laid out. The tour is
+     * iterative, so long advisor chains don't overflow the stack.
+     *
+     * @param root the subtree root.
+     * @param next the first free position.
+     * @param students the direct students of each advisor, by advisor id.
+     * @return the first free position after the subtree.
+     */
+    private int tour(Investigator root, int next, HashMap<Integer, List<Investigator>> students) {
+        ArrayDeque<Integer> path = new ArrayDeque<>();
+        ArrayDeque<Iterator<Investigator>> pending = new ArrayDeque<>();
+
+        next = enter(root, next, path, pending, students);
+        while (!pending.isEmpty()) {
+            Iterator<Investigator> advisees = pending.peek();
+
+            if (advisees.hasNext()) {
+                Investigator student = advisees.next();
+
+                if (!positions.containsKey(student.getInvestigatorId())) {
+                    next = enter(student, next, path, pending, students);
+                }
+            } else {
+                pending.pop();
+                subtreeEnds[path.pop()] = next;
+            }
+        }
+        return next;
+    }
+
+    private int enter(Investigator investigator, int next, ArrayDeque<Integer> path, ArrayDeque<Iterator<Investigator>> pending, HashMap<Integer, List<Investigator>> students) {
+        order[next] = investigator;
+        depths[next] = path.size();
+        positions.put(investigator.getInvestigatorId(), next);
+        path.push(next);
+        pending.push(students.getOrDefault(investigator.getInvestigatorId(), Collections.emptyList()).iterator());
+        return next + 1;
+    }
+    // endregion Private Methods
+}
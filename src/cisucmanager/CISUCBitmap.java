@@ -0,0 +1,521 @@
+package cisucmanager;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds an immutable compressed set of non negative integers, in
+ * the manner of roaring bitmaps: the integers are split by their 16 highest
+ * bits into chunks and each chunk keeps its 16 lowest bits either in a sorted
+ * array, when it has few of them, or in a bitmap of 65536 bits, when it has
+ * many. Sets are combined chunk by chunk, bitmap chunks 64 bits at a time.
+ */
+public final class CISUCBitmap {
+
+    // region Constants
+    private static final int ARRAY_MAX_SIZE = 4096,
+            CHUNK_BITS = 16,
+            CHUNK_SIZE = 1 << CHUNK_BITS,
+            WORDS_PER_CHUNK = CHUNK_SIZE / Long.SIZE;
+    private static final CISUCBitmap EMPTY = new CISUCBitmap(new char[0], new Container[0], 0);
+
+    private final char[] keys;
+    private final Container[] containers;
+    private final int cardinality;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param keys the 16 highest bits of each chunk, in increasing order.
+     * @param containers the containers of each chunk, none of them empty.
+     * @param size the number of keys and containers.
+     */
+    private CISUCBitmap(char[] keys, Container[] containers, int size) {
+        this.keys = size == keys.length ? keys : Arrays.copyOf(keys, size);
+        this.containers = size == containers.length ? containers : Arrays.copyOf(containers, size);
+
+        int sum = 0;
+        for (Container container : this.containers) {
+            sum += container.getCardinality();
+        }
+        cardinality = sum;
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the empty set.
+     *
+     * @return the empty set.
+     */
+    public static CISUCBitmap empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Function that creates the set of the integers of a range.
+     *
+     * @param from the first integer of the range.
+     * @param to the integer after the last one of the range.
+     * @return the set.
+     */
+    public static CISUCBitmap range(int from, int to) {
+        from = Math.max(0, from);
+        if (from >= to) {
+            return EMPTY;
+        }
+        int firstKey = from >>> CHUNK_BITS, lastKey = (to - 1) >>> CHUNK_BITS, size = lastKey - firstKey + 1;
+        char[] keys = new char[size];
+        Container[] containers = new Container[size];
+
+        for (int key = firstKey; key <= lastKey; key++) {
+            int begin = key == firstKey ? from & (CHUNK_SIZE - 1) : 0,
+                    end = key == lastKey ? ((to - 1) & (CHUNK_SIZE - 1)) + 1 : CHUNK_SIZE;
+            long[] words = new long[WORDS_PER_CHUNK];
+
+            // whole words are filled at once, only the ones at the ends bit by bit
+            for (int value = begin; value < end;) {
+                if ((value & (Long.SIZE - 1)) == 0 && value + Long.SIZE <= end) {
+                    words[value >>> 6] = -1L;
+                    value += Long.SIZE;
+                } else {
+                    words[value >>> 6] |= 1L << value;
+                    value++;
+                }
+            }
+            keys[key - firstKey] = (char) key;
+            containers[key - firstKey] = fromWords(words);
+        }
+        return new CISUCBitmap(keys, containers, size);
+    }
+
+    /**
+     * Function that intersects this set with another one.
+     *
+     * @param other the other set.
+     * @return the integers in both sets.
+     */
+    public CISUCBitmap and(CISUCBitmap other) {
+        int size = Math.min(keys.length, other.keys.length), count = 0;
+        char[] resultKeys = new char[size];
+        Container[] resultContainers = new Container[size];
+
+        for (int i = 0, j = 0; i < keys.length && j < other.keys.length;) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i++].and(other.containers[j++]);
+
+                if (container.getCardinality() != 0) {
+                    resultKeys[count] = keys[i - 1];
+                    resultContainers[count++] = container;
+                }
+            }
+        }
+        return new CISUCBitmap(resultKeys, resultContainers, count);
+    }
+
+    /**
+     * Function that joins this set with another one.
+     *
+     * @param other the other set.
+     * @return the integers in any of the sets.
+     */
+    public CISUCBitmap or(CISUCBitmap other) {
+        int size = keys.length + other.keys.length, count = 0, i = 0, j = 0;
+        char[] resultKeys = new char[size];
+        Container[] resultContainers = new Container[size];
+
+        while (i < keys.length || j < other.keys.length) {
+            if (j == other.keys.length || i < keys.length && keys[i] < other.keys[j]) {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = containers[i++];
+            } else if (i == keys.length || keys[i] > other.keys[j]) {
+                resultKeys[count] = other.keys[j];
+                resultContainers[count++] = other.containers[j++];
+            } else {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = containers[i++].or(other.containers[j++]);
+            }
+        }
+        return new CISUCBitmap(resultKeys, resultContainers, count);
+    }
+
+    /**
+     * Function that removes the integers of another set from this one.
+     *
+     * @param other the other set.
+     * @return the integers in this set but not in the other.
+     */
+    public CISUCBitmap andNot(CISUCBitmap other) {
+        int count = 0;
+        char[] resultKeys = new char[keys.length];
+        Container[] resultContainers = new Container[keys.length];
+
+        for (int i = 0, j = 0; i < keys.length; i++) {
+            while (j < other.keys.length && other.keys[j] < keys[i]) {
+                j++;
+            }
+            Container container = j < other.keys.length && other.keys[j] == keys[i] ? containers[i].andNot(other.containers[j]) : containers[i];
+
+            if (container.getCardinality() != 0) {
+                resultKeys[count] = keys[i];
+                resultContainers[count++] = container;
+            }
+        }
+        return new CISUCBitmap(resultKeys, resultContainers, count);
+    }
+
+    /**
+     * Function that complements this set within the integers from 0 to a
+     * given size.
+     *
+     * @param universeSize the number of integers of the universe.
+     * @return the integers of the universe not in this set.
+     */
+    public CISUCBitmap not(int universeSize) {
+        return range(0, universeSize).andNot(this);
+    }
+
+    /**
+     * Function that checks if an integer belongs to the set.
+     *
+     * @param value the integer.
+     * @return true if the integer belongs to the set. False otherwise.
+     */
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = Arrays.binarySearch(keys, (char) (value >>> CHUNK_BITS));
+
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    /**
+     * Function that goes through the integers of the set, in increasing
+     * order.
+     *
+     * @param consumer the consumer of each integer.
+     */
+    public void forEach(IntConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            containers[i].forEach(keys[i] << CHUNK_BITS, consumer);
+        }
+    }
+
+    /**
+     * Function that gets the integers of the set.
+     *
+     * @return the integers, in increasing order.
+     */
+    public int[] toArray() {
+        int[] values = new int[cardinality];
+        int[] position = new int[1];
+
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    public int getCardinality() {
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return cardinality == 0;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that creates the container of a chunk from its bitmap, which
+     * becomes an array container if it has few integers.
+     *
+     * @param words the chunk bitmap.
+     * @return the container.
+     */
+    private static Container fromWords(long[] words) {
+        int cardinality = 0;
+
+        for (long word : words) {
+            cardinality += Long.bitCount(word);
+        }
+        if (cardinality > ARRAY_MAX_SIZE) {
+            return new BitmapContainer(words, cardinality);
+        }
+        char[] values = new char[cardinality];
+        int count = 0;
+
+        for (int word = 0; word < words.length; word++) {
+            for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                values[count++] = (char) (word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return new ArrayContainer(values, cardinality);
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that builds a set from integers added in increasing order.
+     */
+    public static class Builder {
+
+        private char[] keys = new char[4];
+        private Container[] containers = new Container[4];
+        private int size;
+        private final char[] values = new char[CHUNK_SIZE];
+        private int valueCount, currentKey = -1, last = -1;
+
+        /**
+         * Function that adds an integer to the set. Adding the last added
+         * integer again does nothing.
+         *
+         * @param value the integer, not lower than the ones already added.
+         * @throws IllegalArgumentException if the integer is negative or lower
+         * than the last one added.
+         */
+        public void add(int value) {
+            if (value == last) {
+                return;
+            }
+            if (value < last || value < 0) {
+                throw new IllegalArgumentException("ERROR: BITMAP VALUES MUST BE ADDED IN INCREASING ORDER!");
+            }
+            int key = value >>> CHUNK_BITS;
+
+            if (key != currentKey) {
+                flush();
+                currentKey = key;
+            }
+            values[valueCount++] = (char) value;
+            last = value;
+        }
+
+        /**
+         * Function that builds the set with the integers added so far.
+         *
+         * @return the set.
+         */
+        public CISUCBitmap build() {
+            flush();
+            return size == 0 ? EMPTY : new CISUCBitmap(keys, containers, size);
+        }
+
+        /**
+         * Function that closes the chunk being filled, if any.
+         */
+        private void flush() {
+            if (valueCount == 0) {
+                return;
+            }
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+                containers = Arrays.copyOf(containers, size * 2);
+            }
+            keys[size] = (char) currentKey;
+
+            if (valueCount > ARRAY_MAX_SIZE) {
+                long[] words = new long[WORDS_PER_CHUNK];
+
+                for (int i = 0; i < valueCount; i++) {
+                    words[values[i] >>> 6] |= 1L << values[i];
+                }
+                containers[size++] = new BitmapContainer(words, valueCount);
+            } else {
+                containers[size++] = new ArrayContainer(Arrays.copyOf(values, valueCount), valueCount);
+            }
+            valueCount = 0;
+        }
+    }
+
+    /**
+     * Class that holds the 16 lowest bits of the integers of a chunk.
+     */
+    private abstract static class Container {
+
+        abstract int getCardinality();
+
+        abstract boolean contains(char value);
+
+        abstract Container and(Container other);
+
+        abstract Container or(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract long[] toWords();
+    }
+
+    /**
+     * Class that holds the integers of a sparse chunk in a sorted array.
+     */
+    private static final class ArrayContainer extends Container {
+
+        private final char[] values;
+        private final int cardinality;
+
+        private ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int getCardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer array = (ArrayContainer) other;
+            char[] result = new char[cardinality + array.cardinality];
+            int count = 0, i = 0, j = 0;
+
+            while (i < cardinality || j < array.cardinality) {
+                if (j == array.cardinality || i < cardinality && values[i] < array.values[j]) {
+                    result[count++] = values[i++];
+                } else if (i == cardinality || values[i] > array.values[j]) {
+                    result[count++] = array.values[j++];
+                } else {
+                    result[count++] = values[i++];
+                    j++;
+                }
+            }
+            if (count > ARRAY_MAX_SIZE) {
+                return fromWords(new ArrayContainer(result, count).toWords());
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            char[] result = new char[cardinality];
+            int count = 0;
+
+            for (int i = 0; i < cardinality; i++) {
+                if (!other.contains(values[i])) {
+                    result[count++] = values[i];
+                }
+            }
+            return new ArrayContainer(result, count);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            long[] words = new long[WORDS_PER_CHUNK];
+
+            for (int i = 0; i < cardinality; i++) {
+                words[values[i] >>> 6] |= 1L << values[i];
+            }
+            return words;
+        }
+    }
+
+    /**
+     * Class that holds the integers of a dense chunk in a bitmap.
+     */
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private final int cardinality;
+
+        private BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        int getCardinality() {
+            return cardinality;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            long[] otherWords = ((BitmapContainer) other).words, result = new long[WORDS_PER_CHUNK];
+
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                result[i] = words[i] & otherWords[i];
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] otherWords = other.toWords(), result = new long[WORDS_PER_CHUNK];
+
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                result[i] = words[i] | otherWords[i];
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            long[] otherWords = other.toWords(), result = new long[WORDS_PER_CHUNK];
+
+            for (int i = 0; i < WORDS_PER_CHUNK; i++) {
+                result[i] = words[i] & ~otherWords[i];
+            }
+            return fromWords(result);
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int word = 0; word < WORDS_PER_CHUNK; word++) {
+                for (long bits = words[word]; bits != 0; bits &= bits - 1) {
+                    consumer.accept(high | word * Long.SIZE + Long.numberOfTrailingZeros(bits));
+                }
+            }
+        }
+
+        @Override
+        long[] toWords() {
+            return words;
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,182 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.ImpactFactor;
+import cisucmanager.enums.PublicationType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that indexes the publications by type, impact factor, year and
+ * investigation group of their authors in compressed bitmaps (see
+ * CISUCBitmap) over the publication numbers, so that filters combining
+ * several of those fields are evaluated with bitmap operations and only the
+ * publications in the final result are gone through.
+ *
+ * The publications are numbered by year, so the publications of a range of
+ * years have consecutive numbers.
+ */
+public class CISUCBitmapIndex {
+
+    // region Constants
+    private final Publication[] publications;
+    private final int[] years;
+    private final EnumMap<PublicationType, CISUCBitmap> publicationsByType;
+    private final EnumMap<ImpactFactor, CISUCBitmap> publicationsByImpactFactor;
+    private final HashMap<String, CISUCBitmap> publicationsByInvestigationGroup;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publications the publications to be indexed. The publications of
+     * the same year keep, in the index, the order they have in this
+     * collection.
+     */
+    public CISUCBitmapIndex(Collection<Publication> publications) {
+        ArrayList<Publication> sorted = new ArrayList<>(publications);
+        sorted.sort(Comparator.comparingInt(Publication::getPublicationYear));
+
+        this.publications = sorted.toArray(new Publication[0]);
+        years = new int[this.publications.length];
+        publicationsByType = new EnumMap<>(PublicationType.class);
+        publicationsByImpactFactor = new EnumMap<>(ImpactFactor.class);
+        publicationsByInvestigationGroup = new HashMap<>();
+
+        EnumMap<PublicationType, CISUCBitmap.Builder> typeBuilders = new EnumMap<>(PublicationType.class);
+        EnumMap<ImpactFactor, CISUCBitmap.Builder> impactFactorBuilders = new EnumMap<>(ImpactFactor.class);
+        HashMap<String, CISUCBitmap.Builder> investigationGroupBuilders = new HashMap<>();
+
+        for (PublicationType publicationType : PublicationType.values()) {
+            typeBuilders.put(publicationType, new CISUCBitmap.Builder());
+        }
+        for (ImpactFactor impactFactor : ImpactFactor.values()) {
+            impactFactorBuilders.put(impactFactor, new CISUCBitmap.Builder());
+        }
+
+        for (int number = 0; number < this.publications.length; number++) {
+            Publication publication = this.publications[number];
+
+            years[number] = publication.getPublicationYear();
+            typeBuilders.get(publication.getPublicationType()).add(number);
+            impactFactorBuilders.get(publication.getImpactFactor()).add(number);
+
+            for (Investigator author : publication.getAuthors()) {
+                InvestigationGroup investigationGroup = author.getInvestigationGroup();
+
+                if (investigationGroup != null) {
+                    // adding the same number twice is ignored by the builder
+                    investigationGroupBuilders.computeIfAbsent(investigationGroup.getName(), name -> new CISUCBitmap.Builder()).add(number);
+                }
+            }
+        }
+
+        typeBuilders.forEach((publicationType, builder) -> publicationsByType.put(publicationType, builder.build()));
+        impactFactorBuilders.forEach((impactFactor, builder) -> publicationsByImpactFactor.put(impactFactor, builder.build()));
+        investigationGroupBuilders.forEach((name, builder) -> publicationsByInvestigationGroup.put(name, builder.build()));
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * @return the set of all the publications.
+     */
+    public CISUCBitmap getAll() {
+        return CISUCBitmap.range(0, publications.length);
+    }
+
+    /**
+     * @param publicationType the publication type.
+     * @return the set of the publications of the type.
+     */
+    public CISUCBitmap getType(PublicationType publicationType) {
+        return publicationsByType.get(publicationType);
+    }
+
+    /**
+     * @param impactFactor the impact factor.
+     * @return the set of the publications with the impact factor.
+     */
+    public CISUCBitmap getImpactFactor(ImpactFactor impactFactor) {
+        return publicationsByImpactFactor.get(impactFactor);
+    }
+
+    /**
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the set of the publications from the range of years.
+     */
+    public CISUCBitmap getYears(int fromYear, int toYear) {
+        if (fromYear > toYear) {
+            return CISUCBitmap.empty();
+        }
+        return CISUCBitmap.range(firstAfter((long) fromYear - 1), firstAfter(toYear));
+    }
+
+    /**
+     * @param investigationGroupName the investigation group name.
+     * @return the set of the publications which have, at least, one author
+     * that is a member of the investigation group.
+     */
+    public CISUCBitmap getInvestigationGroup(String investigationGroupName) {
+        CISUCBitmap bitmap = publicationsByInvestigationGroup.get(investigationGroupName);
+
+        return bitmap == null ? CISUCBitmap.empty() : bitmap;
+    }
+
+    /**
+     * Function that gets the publications of a set.
+     *
+     * @param bitmap the set of publication numbers.
+     * @return the publications, sorted by year.
+     */
+    public List<Publication> getPublications(CISUCBitmap bitmap) {
+        ArrayList<Publication> result = new ArrayList<>(bitmap.getCardinality());
+
+        bitmap.forEach(number -> result.add(publications[number]));
+        return result;
+    }
+
+    /**
+     * @return the number of indexed publications, which is the size of the
+     * universe of the sets.
+     */
+    public int getSize() {
+        return publications.length;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that finds, by binary search, the number of the first
+     * publication published after a certain year.
+     *
+     * @param year the year.
+     * @return the number of the first publication published after the year,
+     * or the number of publications if there is none.
+     */
+    private int firstAfter(long year) {
+        int low = 0, high = years.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (years[middle] <= year) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+    // endregion Private Methods
+}
@@ -0,0 +1,460 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the co-authorship graph, in which two investigators are
+ * connected if they authored, at least, one publication together.
+ *
+ * The investigators are numbered by id and the graph is kept in compressed
+ * sparse row form: the collaborators of investigator number i are the numbers
+ * in collaborators[offsets[i]] to collaborators[offsets[i + 1] - 1], in
+ * increasing order, and sharedPublications holds, at the same positions, the
+ * number of publications authored together.
+ */
+public class CISUCCoauthorshipGraph {
+
+    // region Constants
+    private static final int EXACT_CENTRALITY_LIMIT = 4096,
+            CENTRALITY_SAMPLES = 256;
+
+    private final Investigator[] investigators;
+    private final int[] ids;
+    private final int[] offsets, collaborators, sharedPublications;
+    private final int[] components;
+    private final int componentCount;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param investigators the investigators.
+     * @param publications the publications, whose authors are connected.
+     */
+    public CISUCCoauthorshipGraph(Collection<Investigator> investigators, Collection<Publication> publications) {
+        this.investigators = investigators.toArray(new Investigator[0]);
+        Arrays.sort(this.investigators, Comparator.comparingInt(Investigator::getInvestigatorId));
+
+        ids = new int[this.investigators.length];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = this.investigators[i].getInvestigatorId();
+        }
+
+        // every pair of co-authors, in both directions, as (first << 32 | second)
+        long[] pairs = new long[16];
+        int pairCount = 0;
+        int[] authors = new int[8];
+
+        for (Publication publication : publications) {
+            int authorCount = 0;
+
+            for (Investigator author : publication.getAuthors()) {
+                int vertex = Arrays.binarySearch(ids, author.getInvestigatorId());
+
+                if (vertex >= 0 && !contains(authors, authorCount, vertex)) {
+                    if (authorCount == authors.length) {
+                        authors = Arrays.copyOf(authors, authorCount * 2);
+                    }
+                    authors[authorCount++] = vertex;
+                }
+            }
+            for (int i = 0; i < authorCount; i++) {
+                for (int j = 0; j < authorCount; j++) {
+                    if (i != j) {
+                        if (pairCount == pairs.length) {
+                            pairs = Arrays.copyOf(pairs, pairCount * 2);
+                        }
+                        pairs[pairCount++] = (long) authors[i] << 32 | authors[j];
+                    }
+                }
+            }
+        }
+        Arrays.parallelSort(pairs, 0, pairCount);
+
+        int edgeCount = 0;
+        for (int i = 0; i < pairCount; i++) {
+            if (i == 0 || pairs[i] != pairs[i - 1]) {
+                edgeCount++;
+            }
+        }
+
+        offsets = new int[ids.length + 1];
+        collaborators = new int[edgeCount];
+        sharedPublications = new int[edgeCount];
+        for (int i = 0, edge = -1; i < pairCount; i++) {
+            if (i == 0 || pairs[i] != pairs[i - 1]) {
+                edge++;
+                collaborators[edge] = (int) pairs[i];
+                offsets[(int) (pairs[i] >>> 32) + 1]++;
+            }
+            sharedPublications[edge]++;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        components = new int[ids.length];
+        componentCount = labelComponents();
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the collaborators of an investigator.
+     *
+     * @param investigator the investigator.
+     * @return the investigator's co-authors, sorted by id.
+     */
+    public List<Investigator> getCollaborators(Investigator investigator) {
+        int vertex = getVertex(investigator);
+        ArrayList<Investigator> result = new ArrayList<>();
+
+        if (vertex >= 0) {
+            for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+                result.add(investigators[collaborators[edge]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Function that gets the number of publications two investigators
+     * authored together.
+     *
+     * @param first the first investigator.
+     * @param second the second investigator.
+     * @return the number of publications.
+     */
+    public int getSharedPublicationCount(Investigator first, Investigator second) {
+        int vertex = getVertex(first), collaborator = getVertex(second);
+
+        if (vertex < 0 || collaborator < 0) {
+            return 0;
+        }
+        int edge = Arrays.binarySearch(collaborators, offsets[vertex], offsets[vertex + 1], collaborator);
+
+        return edge < 0 ? 0 : sharedPublications[edge];
+    }
+
+    /**
+     * Function that finds, by bidirectional breadth-first search, the
+     * shortest chain of co-authorships between two investigators. The search
+     * grows, one level at a time, whichever of the two frontiers is smaller.
+     *
+     * @param from the first investigator.
+     * @param to the second investigator.
+     * @return the investigators of the chain, from the first to the second,
+     * or null if they aren't connected.
+     */
+    public List<Investigator> getShortestPath(Investigator from, Investigator to) {
+        int source = getVertex(from), target = getVertex(to);
+
+        if (source < 0 || target < 0 || components[source] != components[target]) {
+            return null;
+        }
+        if (source == target) {
+            return Collections.singletonList(investigators[source]);
+        }
+
+        int[] sourceParents = new int[ids.length], targetParents = new int[ids.length],
+                sourceDistances = new int[ids.length], targetDistances = new int[ids.length];
+        Arrays.fill(sourceDistances, -1);
+        Arrays.fill(targetDistances, -1);
+        sourceDistances[source] = 0;
+        targetDistances[target] = 0;
+
+        int[] sourceFrontier = {source}, targetFrontier = {target};
+        int sourceSize = 1, targetSize = 1, meeting = -1, meetingDistance = Integer.MAX_VALUE;
+
+        while (meeting < 0 && sourceSize > 0 && targetSize > 0) {
+            boolean forward = sourceSize <= targetSize;
+            int[] frontier = forward ? sourceFrontier : targetFrontier,
+                    parents = forward ? sourceParents : targetParents,
+                    distances = forward ? sourceDistances : targetDistances,
+                    otherDistances = forward ? targetDistances : sourceDistances,
+                    next = new int[16];
+            int size = forward ? sourceSize : targetSize, nextSize = 0;
+
+            // the whole level is expanded and the closest meeting is kept, so the chain is the shortest
+            for (int i = 0; i < size; i++) {
+                int vertex = frontier[i];
+
+                for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+                    int collaborator = collaborators[edge];
+
+                    if (distances[collaborator] < 0) {
+                        distances[collaborator] = distances[vertex] + 1;
+                        parents[collaborator] = vertex;
+                        if (otherDistances[collaborator] >= 0 && distances[collaborator] + otherDistances[collaborator] < meetingDistance) {
+                            meeting = collaborator;
+                            meetingDistance = distances[collaborator] + otherDistances[collaborator];
+                        }
+                        if (nextSize == next.length) {
+                            next = Arrays.copyOf(next, nextSize * 2);
+                        }
+                        next[nextSize++] = collaborator;
+                    }
+                }
+            }
+            if (forward) {
+                sourceFrontier = next;
+                sourceSize = nextSize;
+            } else {
+                targetFrontier = next;
+                targetSize = nextSize;
+            }
+        }
+        if (meeting < 0) {
+            return null;
+        }
+
+        ArrayList<Investigator> path = new ArrayList<>();
+        for (int vertex = meeting; vertex != source; vertex = sourceParents[vertex]) {
+            path.add(investigators[vertex]);
+        }
+        path.add(investigators[source]);
+        Collections.reverse(path);
+        for (int vertex = meeting; vertex != target;) {
+            vertex = targetParents[vertex];
+            path.add(investigators[vertex]);
+        }
+        return path;
+    }
+
+    /**
+     * Function that gets the connected components of the graph, that is, the
+     * groups of investigators connected by chains of co-authorships.
+     *
+     * @return the components, from the largest to the smallest, each one
+     * sorted by investigator id.
+     */
+    public List<List<Investigator>> getComponents() {
+        ArrayList<List<Investigator>> result = new ArrayList<>();
+
+        for (int i = 0; i < componentCount; i++) {
+            result.add(new ArrayList<>());
+        }
+        for (int vertex = 0; vertex < ids.length; vertex++) {
+            result.get(components[vertex]).add(investigators[vertex]);
+        }
+        // components are labelled by their lowest id, so the sort is stable on it
+        result.sort(Comparator.comparingInt(component -> -component.size()));
+        return result;
+    }
+
+    /**
+     * Function that gets the most central investigators, by their harmonic
+     * centrality: the average, over all the other investigators, of the
+     * inverse of their collaboration distance (0 when unconnected).
+     *
+     * The distances are found by breadth-first searches, split among
+     * concurrent partitions, from every investigator or, in graphs with more
+     * than EXACT_CENTRALITY_LIMIT investigators, from an evenly spaced sample
+     * of CENTRALITY_SAMPLES of them, which estimates the centrality.
+     *
+     * @param maxResults the maximum number of investigators.
+     * @param partitions the number of partitions searched concurrently.
+     * @return the most central investigators, from the most to the least
+     * central.
+     */
+    public List<Centrality> getMostCentral(int maxResults, int partitions) {
+        int vertexCount = ids.length;
+        int[] sources = new int[vertexCount <= EXACT_CENTRALITY_LIMIT ? vertexCount : CENTRALITY_SAMPLES];
+
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (int) ((long) i * vertexCount / sources.length);
+        }
+
+        ArrayList<CompletableFuture<double[]>> partialSums = new ArrayList<>();
+        int partitionSize = (sources.length + Math.max(1, partitions) - 1) / Math.max(1, partitions);
+
+        for (int begin = 0; begin < sources.length; begin += partitionSize) {
+            int first = begin, last = Math.min(sources.length, begin + partitionSize);
+
+            partialSums.add(partitions > 1
+                    ? CompletableFuture.supplyAsync(() -> sumInverseDistances(sources, first, last))
+                    : CompletableFuture.completedFuture(sumInverseDistances(sources, first, last)));
+        }
+
+        double[] sums = new double[vertexCount];
+        for (CompletableFuture<double[]> partial : partialSums) {
+            double[] partialSum = partial.join();
+
+            for (int vertex = 0; vertex < vertexCount; vertex++) {
+                sums[vertex] += partialSum[vertex];
+            }
+        }
+
+        Comparator<Centrality> worstFirst = Comparator.comparingDouble(Centrality::getValue)
+                .thenComparing(centrality -> centrality.getInvestigator().getName(), Comparator.reverseOrder());
+        PriorityQueue<Centrality> best = new PriorityQueue<>(worstFirst);
+
+        for (int vertex = 0; vertex < vertexCount && maxResults > 0; vertex++) {
+            // a sampled investigator isn't at any distance from itself, hence one sample less
+            int samples = sources.length - (Arrays.binarySearch(sources, vertex) >= 0 ? 1 : 0);
+            double value = samples == 0 ? 0 : sums[vertex] / samples;
+            Centrality centrality = new Centrality(investigators[vertex], value, offsets[vertex + 1] - offsets[vertex]);
+
+            if (best.size() < maxResults) {
+                best.add(centrality);
+            } else if (worstFirst.compare(centrality, best.peek()) > 0) {
+                best.poll();
+                best.add(centrality);
+            }
+        }
+
+        ArrayList<Centrality> result = new ArrayList<>(best);
+        result.sort(worstFirst.reversed());
+        return result;
+    }
+
+    // region Getters
+    public int getInvestigatorCount() {
+        return ids.length;
+    }
+
+    /**
+     * @return the number of pairs of co-authors.
+     */
+    public int getCollaborationCount() {
+        return collaborators.length / 2;
+    }
+
+    public int getComponentCount() {
+        return componentCount;
+    }
+    // endregion Getters
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that labels every investigator with the number of its
+     * connected component, by breadth-first search from each investigator
+     * not yet labelled, in order of id.
+     *
+     * @return the number of components.
+     */
+    private int labelComponents() {
+        int[] queue = new int[ids.length];
+        int count = 0;
+
+        Arrays.fill(components, -1);
+        for (int root = 0; root < ids.length; root++) {
+            if (components[root] >= 0) {
+                continue;
+            }
+            int head = 0, tail = 0;
+
+            components[root] = count;
+            queue[tail++] = root;
+            while (head < tail) {
+                int vertex = queue[head++];
+
+                for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+                    if (components[collaborators[edge]] < 0) {
+                        components[collaborators[edge]] = count;
+                        queue[tail++] = collaborators[edge];
+                    }
+                }
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Function that sums, for every investigator, the inverse of its distance
+     * to each of a range of sources, by breadth-first search from each
+     * source.
+     *
+     * @param sources the sources.
+     * @param first the position of the first source of the range.
+     * @param last the position after the last source of the range.
+     * @return the sums, by investigator number.
+     */
+    private double[] sumInverseDistances(int[] sources, int first, int last) {
+        double[] sums = new double[ids.length];
+        int[] distances = new int[ids.length], queue = new int[ids.length];
+
+        for (int i = first; i < last; i++) {
+            int head = 0, tail = 0;
+
+            Arrays.fill(distances, -1);
+            distances[sources[i]] = 0;
+            queue[tail++] = sources[i];
+            while (head < tail) {
+                int vertex = queue[head++];
+
+                for (int edge = offsets[vertex]; edge < offsets[vertex + 1]; edge++) {
+                    int collaborator = collaborators[edge];
+
+                    if (distances[collaborator] < 0) {
+                        distances[collaborator] = distances[vertex] + 1;
+                        sums[collaborator] += 1.0 / distances[collaborator];
+                        queue[tail++] = collaborator;
+                    }
+                }
+            }
+        }
+        return sums;
+    }
+
+    private int getVertex(Investigator investigator) {
+        return investigator == null ? -1 : Arrays.binarySearch(ids, investigator.getInvestigatorId());
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds an investigator and its centrality.
+     */
+    public static class Centrality {
+
+        private final Investigator investigator;
+        private final double value;
+        private final int collaboratorCount;
+
+        private Centrality(Investigator investigator, double value, int collaboratorCount) {
+            this.investigator = investigator;
+            this.value = value;
+            this.collaboratorCount = collaboratorCount;
+        }
+
+        public Investigator getInvestigator() {
+            return investigator;
+        }
+
+        /**
+         * @return the harmonic centrality, from 0 to 1.
+         */
+        public double getValue() {
+            return value;
+        }
+
+        public int getCollaboratorCount() {
+            return collaboratorCount;
+        }
+    }
+    // endregion Nested Classes
+}
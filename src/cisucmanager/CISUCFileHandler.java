@@ -2,18 +2,28 @@ package cisucmanager;
 
 import cisucmanager.datamodels.*;
 import cisucmanager.enums.InvestigatorType;
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
-import java.io.FileReader;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static cisucmanager.CISUCSnapshotFormat.*;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -28,8 +38,8 @@ public class CISUCFileHandler {
     private final CISUCManagerConfig conf;
 
     private final String FIELD_SEPARATOR = "|",
-            FIELD_SEPARATOR_REGEX = "\\s*\\" + FIELD_SEPARATOR + "\\s*",
-            COMMENT_SEPARATOR = "//",
+            TEMPORARY_FILE_SUFFIX = ".tmp",
+            SNAPSHOT_WRITER_THREAD_NAME = "CISUC SNAPSHOT WRITER",
             DATE_FORMAT = "dd/MM/yyyy",
             EFFECTIVE_INVESTIGATOR_TXT_TYPE = "0",
             STUDENT_INVESTIGATOR_TXT_TYPE = "1",
@@ -38,11 +48,15 @@ public class CISUCFileHandler {
             BOOK_TXT_TYPE = "2",
             BOOK_CHAPTER_TXT_TYPE = "3",
             CONFERENCE_ARTICLE_BOOK_TXT_TYPE = "4";
+    private final int PUBLICATION_RECORD_LINES = 4,
+            PUBLICATION_CHUNK_SIZE = 1024;
+    private final String[] SOURCE_NAMES = {"INVESTIGATORS", "INVESTIGATION GROUPS", "PUBLICATIONS"};
+
+    private final CISUCSourceStamp[] sourceStamps = {CISUCSourceStamp.UNKNOWN, CISUCSourceStamp.UNKNOWN, CISUCSourceStamp.UNKNOWN};
+    private final ThreadLocal<Boolean> deferringErrors = ThreadLocal.withInitial(() -> false);
     // endregion Constants
 
     // region Instance Variables
-    private BufferedReader textFileReader;
-    private ObjectInputStream objectFileReader;
     private ObjectOutputStream objectWriter;
     // endregion Instance Variables
 
@@ -61,31 +75,32 @@ public class CISUCFileHandler {
      * investigator object.
      */
     public HashMap< Integer, Investigator> readInvestigatorsTextFile() {
+        CISUCTextTokenizer textFileTokenizer = null;
         HashMap< Integer, Investigator> investigators = new HashMap<>();
         HashSet<String> usedEmails = new HashSet<>();
         HashSet<String> usedPhoneNumbers = new HashSet<>();
 
         try {
-            textFileReader = new BufferedReader(new FileReader(conf.getInvestigatorsTxtFilePath()));
+            textFileTokenizer = CISUCTextTokenizer.open(new File(conf.getInvestigatorsTxtFilePath()));
         } catch (FileNotFoundException ex) {
             errorAndExit("ERROR! INVESTIGATORS TEXT FILE WITH PATH " + conf.getInvestigatorsTxtFilePath() + " NOT FOUND!");
+        } catch (IOException ex) {
+            errorAndExit("ERROR! COULDN'T OPEN INVESTIGATORS TEXT FILE!");
         }
+        stampSourceFile(INVESTIGATORS_SOURCE);
 
-        String line;
-        int lineCounter = 1;
+        int lineCounter;
         CISUCManagerValidator validator = new CISUCManagerValidator();
 
         try {
-            while ((line = textFileReader.readLine()) != null) {
+            while (textFileTokenizer.nextLine()) {
+                lineCounter = textFileTokenizer.getLineNumber();
 
-                if (line.trim().startsWith(COMMENT_SEPARATOR) || line.length() == 0) {
-                    lineCounter++;
+                if (textFileTokenizer.isEmptyOrComment()) {
                     continue;
                 }
 
-                String[] splitLine = line.split(FIELD_SEPARATOR_REGEX);
-
-                String investigatorType = splitLine[0];
+                String investigatorType = textFileTokenizer.getField(0);
 
                 if (!STUDENT_INVESTIGATOR_TXT_TYPE.equals(investigatorType) && !EFFECTIVE_INVESTIGATOR_TXT_TYPE.equals(investigatorType)) {
                     errorAndExit("ERROR AT FIELD 1 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR TYPE " + investigatorType + "! IT MUST BE 0 OR 1!\n"
@@ -97,16 +112,16 @@ public class CISUCFileHandler {
                 String name, email;
 
                 try {
-                    id = Integer.parseInt(splitLine[1]);
+                    id = textFileTokenizer.getIntField(1);
                 } catch (NumberFormatException ex) {
-                    errorAndExit("ERROR AT FIELD 2 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR ID " + splitLine[1] + "! IT MUST BE AN INTEGER!");
+                    errorAndExit("ERROR AT FIELD 2 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR ID " + textFileTokenizer.getField(1) + "! IT MUST BE AN INTEGER!");
                 }
 
                 if (investigators.containsKey(id)) {
                     errorAndExit("ERROR AT FIELD 2 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVESTIGATOR WITH ID " + id + " ALREADY EXISTS!");
                 }
 
-                name = splitLine[2];
+                name = textFileTokenizer.getField(2);
 
                 if (validator.isInvalid(name, CISUCManagerValidator.NAME_REGEX)) {
                     errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR NAME " + name + "!");
@@ -116,7 +131,7 @@ public class CISUCFileHandler {
                     errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR NAME " + name + "! IT MUST CONTAIN AT LEAST TWO WORDS!");
                 }
 
-                email = splitLine[3];
+                email = textFileTokenizer.getField(3);
 
                 if (validator.isInvalid(email, CISUCManagerValidator.EMAIL_REGEX)) {
                     errorAndExit("ERROR AT FIELD 4 AT LINE  " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID INVESTIGATOR EMAIL " + email + "!");
@@ -133,15 +148,15 @@ public class CISUCFileHandler {
                 switch (investigatorType) {
                     case EFFECTIVE_INVESTIGATOR_TXT_TYPE:
 
-                        if (splitLine.length != 6) {
+                        if (textFileTokenizer.getFieldCount() != 6) {
                             errorAndExit("ERROR AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 6 WHEN INVESTIGATOR IS OF TYPE EFFECTIVE!");
                         }
 
                         String officeId,
                          deiPhoneNumber;
 
-                        officeId = splitLine[4];
-                        deiPhoneNumber = splitLine[5];
+                        officeId = textFileTokenizer.getField(4);
+                        deiPhoneNumber = textFileTokenizer.getField(5);
 
                         if (validator.isInvalid(deiPhoneNumber, CISUCManagerValidator.PHONE_NUMBER_REGEX)) {
                             errorAndExit("ERROR AT FIELD 6 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID EFFECTIVE INVESTIGATOR PHONE NUMBER " + deiPhoneNumber + "! IT MUST HAVE 9 DIGITS!");
@@ -157,27 +172,27 @@ public class CISUCFileHandler {
                         break;
                     case STUDENT_INVESTIGATOR_TXT_TYPE: // Student Investigator
 
-                        if (splitLine.length != 7) {
+                        if (textFileTokenizer.getFieldCount() != 7) {
                             errorAndExit("ERROR AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 7 WHEN INVESTIGATOR IS OF TYPE STUDENT!");
                         }
 
                         String thesisTitle;
                         Date expectedPhdCompletionDate = null;
 
-                        thesisTitle = splitLine[4];
+                        thesisTitle = textFileTokenizer.getField(4);
 
                         try {
-                            expectedPhdCompletionDate = new SimpleDateFormat(DATE_FORMAT).parse(splitLine[5]);
+                            expectedPhdCompletionDate = textFileTokenizer.getDateField(5);
                         } catch (ParseException ex) {
-                            errorAndExit("ERROR AT FIELD 6 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID STUDENT INVESTIGATOR'S EXPECTED PHD COMPLETION DATE " + splitLine[6] + "! IT MUST HAVE THE FORMAT " + DATE_FORMAT + "!");
+                            errorAndExit("ERROR AT FIELD 6 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID STUDENT INVESTIGATOR'S EXPECTED PHD COMPLETION DATE " + textFileTokenizer.getField(5) + "! IT MUST HAVE THE FORMAT " + DATE_FORMAT + "!");
                         }
 
                         int advisorInvestigatorId = -1;
 
                         try {
-                            advisorInvestigatorId = Integer.parseInt(splitLine[6]);
+                            advisorInvestigatorId = textFileTokenizer.getIntField(6);
                         } catch (NumberFormatException ex) {
-                            errorAndExit("ERROR AT FIELD 7 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID ADVISOR INVESTIGATOR ID " + splitLine[7] + "! IT MUST BE AN INTEGER!");
+                            errorAndExit("ERROR AT FIELD 7 AT LINE " + lineCounter + " IN INVESTIGATORS TEXT FILE: INVALID ADVISOR INVESTIGATOR ID " + textFileTokenizer.getField(6) + "! IT MUST BE AN INTEGER!");
                         }
 
                         Investigator tempAdvisorInvestigator = new Investigator();
@@ -187,13 +202,12 @@ public class CISUCFileHandler {
                         break;
                 }
                 investigators.put(id, investigator);
-
-                lineCounter++;
             }
         } catch (IOException ex) {
             errorAndExit("ERROR! COULDN'T READ INVESTIGATORS TEXT FILE!");
+        } finally {
+            closeTextReader(textFileTokenizer);
         }
-        closeTextReader();
         log("FINISHED READING INVESTIGATORS TEXT FILE.\n---------------------------------------------------------------");
         return investigators;
     }
@@ -207,28 +221,31 @@ public class CISUCFileHandler {
      * @return a HashMap that maps for each investigator group name its
      * correspondent investigator group object.
      */
-    public HashMap< String, InvestigationGroup> readInvestigationGroupsTextFile(HashMap< Integer, Investigator> investigators) {
+    public HashMap< String, InvestigationGroup> readInvestigationGroupsTextFile(Map< Integer, Investigator> investigators) {
+        CISUCTextTokenizer textFileTokenizer = null;
         HashMap< String, InvestigationGroup> investigationGroups = new HashMap<>();
 
         try {
-            textFileReader = new BufferedReader(new FileReader(conf.getInvestigationGroupsTxtFilePath()));
+            textFileTokenizer = CISUCTextTokenizer.open(new File(conf.getInvestigationGroupsTxtFilePath()));
         } catch (FileNotFoundException ex) {
             errorAndExit("ERROR! INVESTIGATION GROUPS TEXT FILE WITH PATH " + conf.getInvestigationGroupsTxtFilePath() + " NOT FOUND!");
+        } catch (IOException ex) {
+            errorAndExit("ERROR! COULDN'T OPEN INVESTIGATION GROUPS TEXT FILE!");
         }
+        stampSourceFile(INVESTIGATION_GROUPS_SOURCE);
 
         try {
-            String line;
-            int lineCounter = 1;
+            int lineCounter;
             HashSet<Integer> responsibleInvestigatorsIds = new HashSet<>();
 
-            while ((line = textFileReader.readLine()) != null) {
-                if (line.trim().startsWith(COMMENT_SEPARATOR) || line.length() == 0) {
-                    lineCounter++;
+            while (textFileTokenizer.nextLine()) {
+                lineCounter = textFileTokenizer.getLineNumber();
+
+                if (textFileTokenizer.isEmptyOrComment()) {
                     continue;
                 }
-                String[] splitLine = line.split(FIELD_SEPARATOR_REGEX);
 
-                if (splitLine.length != 3) {
+                if (textFileTokenizer.getFieldCount() != 3) {
                     errorAndExit("ERROR AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 3!");
                 }
 
@@ -236,18 +253,18 @@ public class CISUCFileHandler {
                 String name, acronym;
                 ArrayList< Investigator> groupMembers = new ArrayList<>();
 
-                name = splitLine[0];
+                name = textFileTokenizer.getField(0);
 
-                if (investigationGroups.containsKey(splitLine[0])) {
-                    errorAndExit("ERROR AT FIELD 1 AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVESTIGATION GROUP NAMED " + splitLine[0] + " ALREADY EXISTS!");
+                if (investigationGroups.containsKey(name)) {
+                    errorAndExit("ERROR AT FIELD 1 AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVESTIGATION GROUP NAMED " + name + " ALREADY EXISTS!");
                 }
 
-                acronym = splitLine[1];
+                acronym = textFileTokenizer.getField(1);
 
                 try {
-                    responsibleInvestigatorId = Integer.parseInt(splitLine[2]);
+                    responsibleInvestigatorId = textFileTokenizer.getIntField(2);
                 } catch (NumberFormatException ex) {
-                    errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVALID RESPONSIBLE INVESTIGATOR ID " + splitLine[2] + "! IT MUST BE AN INTEGER!");
+                    errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVALID RESPONSIBLE INVESTIGATOR ID " + textFileTokenizer.getField(2) + "! IT MUST BE AN INTEGER!");
                 }
                 if (!investigators.containsKey(responsibleInvestigatorId)) {
                     errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: RESPONSIBLE INVESTIGATOR WITH ID " + responsibleInvestigatorId + " DOESN'T EXIST!");
@@ -265,12 +282,12 @@ public class CISUCFileHandler {
 
                 responsibleInvestigatorsIds.add(responsibleInvestigatorId);
 
-                lineCounter++;
-
-                line = textFileReader.readLine();
-                splitLine = line.split(FIELD_SEPARATOR_REGEX);
+                if (!textFileTokenizer.nextLine()) {
+                    errorAndExit("ERROR AT LINE " + (lineCounter + 1) + " IN INVESTIGATION GROUPS TEXT FILE: UNEXPECTED END OF FILE! MISSING MEMBER INVESTIGATORS ID LIST!");
+                }
+                lineCounter = textFileTokenizer.getLineNumber();
 
-                if (splitLine.length == 0) {
+                if (textFileTokenizer.getFieldCount() == 0) {
                     errorAndExit("ERROR AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: NUMBER OF RESEARCH GROUP MEMBERS MUST BE AT LEAST 1!");
                 }
 
@@ -284,13 +301,13 @@ public class CISUCFileHandler {
 
                 responsibleInvestigator.setInvestigationGroup(invGroup);
 
-                for (int i = 0; i < splitLine.length; i++) {
+                for (int i = 0; i < textFileTokenizer.getFieldCount(); i++) {
                     int memberId = -1;
 
                     try {
-                        memberId = Integer.parseInt(splitLine[i]);
+                        memberId = textFileTokenizer.getIntField(i);
                     } catch (NumberFormatException ex) {
-                        errorAndExit("ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVALID MEMBER INVESTIGATOR ID " + splitLine[i] + "! EACH INVESTIGATION GROUP MEMBER ID MUST BE AN INTEGER!");
+                        errorAndExit("ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + " IN INVESTIGATION GROUPS TEXT FILE: INVALID MEMBER INVESTIGATOR ID " + textFileTokenizer.getField(i) + "! EACH INVESTIGATION GROUP MEMBER ID MUST BE AN INTEGER!");
                     }
 
                     if (!investigators.containsKey(memberId)) {
@@ -312,13 +329,14 @@ public class CISUCFileHandler {
                     groupMembers.add(responsibleInvestigator);
                 }
 
-                investigationGroups.put(name, new InvestigationGroup(name, acronym, responsibleInvestigator, groupMembers));
-                lineCounter++;
+                invGroup.setMemberList(groupMembers);
+                investigationGroups.put(name, invGroup);
             }
         } catch (IOException ex) {
             errorAndExit("ERROR! COULDN'T READ INVESTIGATOR GROUPS TEXT FILE!");
+        } finally {
+            closeTextReader(textFileTokenizer);
         }
-        closeTextReader();
         log("FINISHED READING INVESTIGATION GROUPS TEXT FILE.\n---------------------------------------------------------------");
         return investigationGroups;
     }
@@ -332,273 +350,108 @@ public class CISUCFileHandler {
      * @return a HashMap that maps for each publication title its correspondent
      * publication object.
      */
-    public HashMap< String, Publication> readPublicationsTextFile(HashMap< Integer, Investigator> investigators) {
+    public HashMap< String, Publication> readPublicationsTextFile(Map< Integer, Investigator> investigators) {
+        CISUCTextTokenizer textFileTokenizer = null;
         HashMap< String, Publication> publications = new HashMap<>();
 
         try {
-            textFileReader = new BufferedReader(new FileReader(conf.getPublicationsTxtFilePath()));
+            textFileTokenizer = CISUCTextTokenizer.open(new File(conf.getPublicationsTxtFilePath()));
         } catch (FileNotFoundException ex) {
             errorAndExit("ERROR! PUBLICATIONS TEXT FILE WITH PATH " + conf.getPublicationsTxtFilePath() + " NOT FOUND!");
+        } catch (IOException ex) {
+            errorAndExit("ERROR! COULDN'T OPEN PUBLICATIONS TEXT FILE!");
         }
+        stampSourceFile(PUBLICATIONS_SOURCE);
 
         try {
-            String line;
-            int lineCounter = 1;
             CISUCManagerValidator validator = new CISUCManagerValidator();
 
-            while ((line = textFileReader.readLine()) != null) {
-                if (line.trim().startsWith(COMMENT_SEPARATOR) || line.length() == 0) {
-                    lineCounter++;
+            while (textFileTokenizer.nextLine()) {
+                if (textFileTokenizer.isEmptyOrComment()) {
                     continue;
                 }
 
-                String[] splitLine = line.split(FIELD_SEPARATOR_REGEX);
-                String publicationType = splitLine[0];
-
-                if (!publicationType.equals(CONFERENCE_ARTICLE_TXT_TYPE) && !publicationType.equals(MAGAZINE_ARTICLE_TXT_TYPE)
-                        && !publicationType.equals(BOOK_TXT_TYPE) && !publicationType.equals(BOOK_CHAPTER_TXT_TYPE)
-                        && !publicationType.equals(CONFERENCE_ARTICLE_BOOK_TXT_TYPE)) {
-                    errorAndExit("ERROR AT FIELD 1 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID PUBLICATION TYPE " + publicationType + "! IT MUST RANGE BETWEEN 0 AND 4, BOTH INCLUDED!\n"
-                            + "(0 - CONFERENCE ARTICLE\n"
-                            + " 1 - MAGAZINE ARTICLE\n"
-                            + " 2 - BOOK\n"
-                            + " 3 - BOOK CHAPTER\n"
-                            + " 4 - CONFERENCE ARTICLE)");
-                }
-
-                String title, summary;
-                int publicationYear = -1, audienceSize = -1;
-
-                title = splitLine[1];
-
-                if (publications.containsKey(title)) {
-                    errorAndExit("ERROR AT FIELD 2 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: PUBLICATION WITH TITLE " + title + " ALREADY EXISTS!");
-                }
-
-                try {
-                    publicationYear = Integer.parseInt(splitLine[2]);
-                } catch (NumberFormatException ex) {
-                    errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID PUBLICATION YEAR " + splitLine[2] + "! IT MUST BE AN INTEGER!");
-                }
-
-                if (validator.isInvalid(CISUCManagerValidator.VALID_YEAR, publicationYear)) {
-                    errorAndExit("ERROR AT FIELD 3 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE! INVALID PUBLICATION YEAR " + splitLine[2] + "! IT MUST RANGE BETWEEN " + CISUCManagerValidator.MIN_YEAR + " AND " + CISUCManagerValidator.MAX_YEAR + "!");
-                }
-
-                try {
-                    audienceSize = Integer.parseInt(splitLine[3]);
-                } catch (NumberFormatException ex) {
-                    errorAndExit("ERROR AT FIELD 4 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID AUDIENCE SIZE " + splitLine[3] + "! IT MUST BE AN INTEGER!");
-                }
-
-                if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, audienceSize)) {
-                    errorAndExit("ERROR AT FIELD5 4 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE! INVALID AUDIENCE SIZE " + splitLine[3] + "! IT MUST BE A NON-NEGATIVE INTEGER!");
-                }
-
-                Publication publication = null;
-
-                switch (publicationType) {
-                    case CONFERENCE_ARTICLE_TXT_TYPE:
-                        if (splitLine.length != 7) {
-                            errorAndExit("ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 7 WHEN THE PUBLICATION OF TYPE CONFERENCE ARTICLE!");
-                        }
-
-                        String conferenceName,
-                         conferencePlace;
-                        Date conferenceDate = null;
-
-                        conferenceName = splitLine[4];
-                        conferencePlace = splitLine[5];
-
-                        try {
-                            conferenceDate = new SimpleDateFormat(DATE_FORMAT).parse(splitLine[6]);
-                        } catch (ParseException ex) {
-                            errorAndExit("ERROR AT FIELD 7 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID CONFERENCE DATE " + splitLine[6] + "! IT MUST HAVE THE FORMAT" + DATE_FORMAT + "!");
-                        }
-
-                        ConferenceArticle conferenceArticle = new ConferenceArticle();
-
-                        conferenceArticle.setConferenceName(conferenceName);
-                        conferenceArticle.setConferencePlace(conferencePlace);
-                        conferenceArticle.setConferenceDate(conferenceDate);
-
-                        publication = conferenceArticle;
-                        break;
-                    case MAGAZINE_ARTICLE_TXT_TYPE:
-                        if (splitLine.length != 7) {
-                            errorAndExit("ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 7 WHEN THE PUBLICATION OF TYPE MAGAZINE ARTICLE!");
-                        }
-
-                        String magazineName,
-                         magazineId;
-                        Date magazineDate = null;
+                PublicationRecord record = new PublicationRecord(textFileTokenizer.getLineNumber());
 
-                        magazineName = splitLine[4];
-                        magazineId = splitLine[5];
-
-                        try {
-                            magazineDate = new SimpleDateFormat(DATE_FORMAT).parse(splitLine[6]);
-                        } catch (ParseException ex) {
-                            errorAndExit("ERROR AT FIELD 7 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID MAGAZINE DATE " + splitLine[6] + "! IT MUST HAVE THE FORMAT " + DATE_FORMAT + "!");
-                        }
-
-                        MagazineArticle magazineArticle = new MagazineArticle();
-
-                        magazineArticle.setMagazineName(magazineName);
-                        magazineArticle.setMagazineId(magazineId);
-                        magazineArticle.setMagazineDate(magazineDate);
-
-                        publication = magazineArticle;
-                        break;
-                    case BOOK_TXT_TYPE:
-                    case BOOK_CHAPTER_TXT_TYPE:
-                    case CONFERENCE_ARTICLE_BOOK_TXT_TYPE:
-                        if (publicationType.equals(BOOK_TXT_TYPE)) {
-                            if (splitLine.length != 6) {
-                                errorAndExit("ERROR AT  LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 6 WHEN THE PUBLICATION OF TYPE BOOK!");
-                            }
-                        }
-
-                        String publishingCompany,
-                         isbn;
-
-                        isbn = splitLine[4];
-
-                        if (!(validator.isInvalidISBN(isbn))) {
-                            errorAndExit("ERROR AT FIELD 5 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BOOK ISBN " + isbn + "!");
-                        }
-
-                        publishingCompany = splitLine[5];
-
-                        Book book = new Book();
-
-                        if (publicationType.equals(BOOK_CHAPTER_TXT_TYPE)) {
-                            if (splitLine.length != 9) {
-                                errorAndExit("ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF COMMA SEPARATED VALUES PER LINE MUST BE 9 WHEN THE PUBLICATION OF TYPE BOOK CHAPTER!");
-                            }
-                            String chapterName;
-                            int beginPage = -1, endPage = -1;
-
-                            chapterName = splitLine[6];
-
-                            try {
-                                beginPage = Integer.parseInt(splitLine[7]);
-                            } catch (NumberFormatException ex) {
-                                errorAndExit("ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BEGIN PAGE " + splitLine[7] + "! IT MUST BE A POSITIVE INTEGER!");
-                            }
-
-                            if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, beginPage)) {
-                                errorAndExit("ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BEGIN PAGE " + splitLine[7] + "! IT MUST BE A POSITIVE INTEGER!");
-                            }
-
-                            try {
-                                endPage = Integer.parseInt(splitLine[8]);
-                            } catch (NumberFormatException ex) {
-                                errorAndExit("ERROR AT FIELD 9 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID END PAGE " + splitLine[8] + "! IT MUST BE AN INTEGER!");
-                            }
-
-                            if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, beginPage)) {
-                                errorAndExit("ERROR AT FIELD 9 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID END PAGE " + splitLine[8] + "! IT MUST BE A POSITIVE INTEGER!");
-                            }
-
-                            BookChapter chapter = new BookChapter();
-
-                            chapter.setChapterName(chapterName);
-                            chapter.setBeginPage(beginPage);
-                            chapter.setEndPage(endPage);
-
-                            book = chapter;
-                        } else if (publicationType.equals(CONFERENCE_ARTICLE_BOOK_TXT_TYPE)) {
-                            if (splitLine.length != 8) {
-                                errorAndExit("ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 8 WHEN THE PUBLICATION IS OF TYPE CONFERENCE ARTICLE BOOK!");
-                            }
-
-                            int numberOfArticles = -1;
-                            conferenceName = splitLine[6];
+                parsePublicationRecord(textFileTokenizer, record, investigators, validator);
+                mergePublicationRecord(publications, record);
+            }
 
-                            try {
-                                numberOfArticles = Integer.parseInt(splitLine[7]);
-                            } catch (NumberFormatException ex) {
-                                errorAndExit("ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID NUMBER OF ARTICLES " + splitLine[7] + "! IT MUST BE A POSITIVE INTEGER");
-                            }
+        } catch (IOException ex) {
+            errorAndExit("ERROR! COULDN'T READ PUBLICATIONS FILE!");
+        } finally {
+            closeTextReader(textFileTokenizer);
+        }
+        log("FINISHED READING PUBLICATIONS TEXT FILE.\n---------------------------------------------------------------");
+        return publications;
+    }
 
-                            if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, numberOfArticles)) {
-                                errorAndExit("ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID NUMBER OF ARTICLES " + splitLine[7] + "! IT MUST BE A POSITIVE INTEGER!");
-                            }
+    /**
+     * Function that reads and validates the .txt which holds information about
+     * publications using a pool of worker threads. The file is still scanned
+     * sequentially, but only to split it into byte ranges of whole publication
+     * records, which are tokenized, parsed and validated concurrently and then
+     * merged, in file
+     * order, into the final mapping. Hence, the duplicate title detection and
+     * the reported error (the first one, by line number) are the same as in
+     * the sequential version.
+     *
+     * @param investigators the previous parsed investigators list, as a needed
+     * dependency.
+     * @param threads the number of worker threads.
+     * @return a HashMap that maps for each publication title its correspondent
+     * publication object.
+     */
+    public HashMap< String, Publication> readPublicationsTextFileParallel(Map< Integer, Investigator> investigators, int threads) {
+        HashMap< String, Publication> publications = new HashMap<>();
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        ArrayDeque<Future<ArrayList<PublicationRecord>>> pendingChunks = new ArrayDeque<>();
+        int maxPendingChunks = threads * 2;
 
-                            ConferenceArticleBook confArticleBook = new ConferenceArticleBook();
-                            confArticleBook.setConferenceName(conferenceName);
-                            confArticleBook.setArticleNumber(numberOfArticles);
+        try (FileChannel channel = new RandomAccessFile(conf.getPublicationsTxtFilePath(), "r").getChannel();
+                CISUCTextTokenizer textFileTokenizer = new CISUCTextTokenizer(channel, 0, channel.size(), 1)) {
+            stampSourceFile(PUBLICATIONS_SOURCE);
 
-                            book = confArticleBook;
-                        }
-                        book.setPublishingCompany(publishingCompany);
-                        book.setIsbn(isbn);
+            long chunkStart = 0;
+            int chunkFirstLine = 1, chunkRecords = 0;
 
-                        publication = book;
-                        break;
+            while (textFileTokenizer.nextLine()) {
+                if (textFileTokenizer.isEmptyOrComment()) {
+                    continue;
                 }
-                publication.setTitle(title);
-                publication.setPublicationYear(publicationYear);
-                publication.setAudienceSize(audienceSize);
-                publication.setImpactFactor();
-
-                lineCounter++;
-
-                summary = textFileReader.readLine();
-                publication.setSummary(summary);
-
-                lineCounter++;
-
-                line = textFileReader.readLine();
-                splitLine = line.split(FIELD_SEPARATOR_REGEX);
-
-                ArrayList< String> keywords = new ArrayList<>();
 
-                Collections.addAll(keywords, splitLine);
-                lineCounter++;
-
-                line = textFileReader.readLine();
-                splitLine = line.split(FIELD_SEPARATOR_REGEX);
-
-                if (splitLine.length == 0) {
-                    errorAndExit("ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: EACH PUBLICATION MUST HAVE AT LEAST ONE AUTHOR!");
+                if (chunkRecords == 0) {
+                    chunkStart = textFileTokenizer.getLineStart();
+                    chunkFirstLine = textFileTokenizer.getLineNumber();
                 }
+                skipPublicationRecordLines(textFileTokenizer);
+                chunkRecords++;
 
-                ArrayList< Investigator> authors = new ArrayList<>();
-                HashSet<Integer> authorsIds = new HashSet<>();
+                if (chunkRecords == PUBLICATION_CHUNK_SIZE) {
+                    pendingChunks.add(submitPublicationChunk(workers, channel, chunkStart, textFileTokenizer.getNextLineStart(), chunkFirstLine, investigators));
+                    chunkRecords = 0;
 
-                for (int i = 0; i < splitLine.length; i++) {
-                    Investigator author;
-                    int authorId = -1;
-                    try {
-                        authorId = Integer.parseInt(splitLine[i]);
-                    } catch (NumberFormatException ex) {
-                        errorAndExit("ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + ": INVALID AUTHOR ID " + splitLine[i] + "! EACH AUTHOR ID MUST BE AN INTEGER!");
-                    }
-                    if (!investigators.containsKey(authorId)) {
-                        errorAndExit("ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + ": AUTHOR WITH ID " + authorId + " DOESN'T EXIST!");
-                    }
-                    if (!authorsIds.contains(authorId)) {
-                        authorsIds.add(authorId);
-                        author = investigators.get(authorId);
-                        authors.add(author);
+                    if (pendingChunks.size() >= maxPendingChunks) {
+                        mergePublicationChunk(publications, pendingChunks.poll());
                     }
                 }
+            }
 
-                lineCounter++;
-
-                publication.setAuthors(authors);
-                publication.setKeywords(keywords);
-                publications.put(title, publication);
-
+            if (chunkRecords != 0) {
+                pendingChunks.add(submitPublicationChunk(workers, channel, chunkStart, textFileTokenizer.getNextLineStart(), chunkFirstLine, investigators));
             }
 
+            while (!pendingChunks.isEmpty()) {
+                mergePublicationChunk(publications, pendingChunks.poll());
+            }
+        } catch (FileNotFoundException ex) {
+            errorAndExit("ERROR! PUBLICATIONS TEXT FILE WITH PATH " + conf.getPublicationsTxtFilePath() + " NOT FOUND!");
         } catch (IOException ex) {
             errorAndExit("ERROR! COULDN'T READ PUBLICATIONS FILE!");
+        } finally {
+            workers.shutdownNow();
         }
-        closeTextReader();
-        log("FINISHED READING PUBLICATIONS TEXT FILE.\n---------------------------------------------------------------");
+        log("FINISHED READING PUBLICATIONS TEXT FILE (" + threads + " WORKER THREADS).\n---------------------------------------------------------------");
         return publications;
     }
 
@@ -609,7 +462,7 @@ public class CISUCFileHandler {
      * @param investigators the investigators mapping to be resolved.
      * @return the resolved investigators mapping.
      */
-    public HashMap<Integer, Investigator> resolveInvestigators(HashMap<Integer, Investigator> investigators) {
+    public Map<Integer, Investigator> resolveInvestigators(Map<Integer, Investigator> investigators) {
         log("RESOLVING INVESTIGATORS...");
         for (Integer investigatorId : investigators.keySet()) {
             Investigator investigator = investigators.get(investigatorId);
@@ -671,6 +524,120 @@ public class CISUCFileHandler {
         return 0;
     }
 
+    /**
+     * Function that writes a snapshot into a given snapshot file, with the
+     * columnar binary format described in CISUCSnapshotFormat. The snapshot is
+     * first written into a temporary file next to the snapshot file, which is
+     * then renamed, so that a half written snapshot file is never left behind.
+     *
+     * @param snapshot the snapshot to be written.
+     * @param snapshotFile the target snapshot file.
+     * @return 1 - if the file was written. 0 - if it already existed. -1 - if
+     * it couldn't be written.
+     */
+    public int writeSnapshotFile(CISUCSnapshot snapshot, File snapshotFile) {
+        if (snapshotFile.exists()) {
+            return 0;
+        }
+        File temporaryFile = new File(snapshotFile.getPath() + TEMPORARY_FILE_SUFFIX);
+
+        try {
+            new CISUCSnapshotWriter().write(snapshot, temporaryFile);
+            try {
+                Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            temporaryFile.delete();
+            return -1;
+        }
+        return 1;
+    }
+
+    /**
+     * Function that writes a snapshot into a given snapshot file, as in
+     * writeSnapshotFile, in a background thread. The snapshot maps must not be
+     * changed until the returned future completes.
+     *
+     * @param snapshot the snapshot to be written.
+     * @param snapshotFile the target snapshot file.
+     * @return a future that completes with the result of writeSnapshotFile.
+     */
+    public CompletableFuture<Integer> writeSnapshotFileInBackground(CISUCSnapshot snapshot, File snapshotFile) {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, SNAPSHOT_WRITER_THREAD_NAME);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+
+        try {
+            return CompletableFuture.supplyAsync(() -> writeSnapshotFile(snapshot, snapshotFile), executor);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Function that reads a snapshot from a given snapshot file. If some of
+     * the text files the snapshot was built from changed since it was
+     * written, only the entities of those text files are read again, the
+     * others being reused from the snapshot, and the snapshot file is deleted
+     * so that it gets rewritten.
+     *
+     * @param snapshotFile the snapshot file to be read.
+     * @param lazy flag that toggles the mapping of the snapshot file, so that
+     * its entities are only read when first needed. It has no effect if the
+     * snapshot is stale.
+     * @return the snapshot that was read or null if the file couldn't be read
+     * or doesn't match the current snapshot format.
+     */
+    public CISUCSnapshot readSnapshotFile(File snapshotFile, boolean lazy) {
+        CISUCSnapshot snapshot;
+
+        try (CISUCSnapshotReader reader = new CISUCSnapshotReader(snapshotFile)) {
+            boolean[] changedSources = new boolean[SOURCE_COUNT];
+            boolean stale = false;
+
+            for (int source = 0; source < SOURCE_COUNT; source++) {
+                changedSources[source] = !matchesSourceStamp(reader.getSourceStamp(source), source);
+                sourceStamps[source] = reader.getSourceStamp(source);
+                if (changedSources[source]) {
+                    log(SOURCE_NAMES[source] + " TEXT FILE CHANGED SINCE THE SNAPSHOT FILE WAS WRITTEN!");
+                    stale = true;
+                }
+            }
+
+            if (!stale) {
+                return lazy ? mapSnapshotFile(snapshotFile) : reader.read();
+            }
+            snapshot = readChangedSources(reader, changedSources);
+        } catch (IOException ex) {
+            log("COULDN'T READ SNAPSHOT FILE WITH PATH " + snapshotFile.getPath() + ": " + ex.getMessage() + "!");
+            return null;
+        }
+
+        snapshotFile.delete();
+        return snapshot;
+    }
+
+    public CISUCSourceStamp[] getSourceStamps() {
+        return sourceStamps.clone();
+    }
+
+    /**
+     * Function that toggles, for the calling thread only, the deferral of the
+     * errors found whilst reading files. When deferred, instead of ending the
+     * program execution right away, an error is thrown as a CISUCLoadException
+     * holding the message that would have been displayed, so that the loader
+     * can report the errors in the same order as a sequential load.
+     *
+     * @param deferErrors the flag that toggles the deferral of errors.
+     */
+    public void setDeferringErrors(boolean deferErrors) {
+        deferringErrors.set(deferErrors);
+    }
+
     /**
      * Function that reads an HashMap of entities from a given object file.
      *
@@ -678,6 +645,9 @@ public class CISUCFileHandler {
      * @return the entities HashMap that was read.
      */
     public HashMap readEntityObjectFile(File objectFile) {
+        ObjectInputStream objectFileReader = null;
+        HashMap<?, ?> entities = null;
+
         try {
             objectFileReader = new ObjectInputStream(new FileInputStream(objectFile));
         } catch (IOException ex) {
@@ -685,34 +655,577 @@ public class CISUCFileHandler {
         }
 
         try {
-            return (HashMap) objectFileReader.readObject();
+            entities = (HashMap<?, ?>) objectFileReader.readObject();
         } catch (IOException ex) {
             errorAndExit("ERROR: COULDN'T READ FILE WITH PATH " + objectFile.getPath());
         } catch (ClassNotFoundException ex) {
             errorAndExit("ERROR: CLASS NOT FOUND!");
         }
-        closeObjectReader();
-        return null;
+        closeObjectReader(objectFileReader);
+        return entities;
     }
     // endregion Public Methods
 
     // region Private Methods
+    // region Snapshot
+    /**
+     * Function that maps a given snapshot file into memory, so that its
+     * entities are only read when first needed.
+     *
+     * @param snapshotFile the snapshot file to be mapped.
+     * @return a snapshot backed by the mapped file or null if the file
+     * couldn't be mapped.
+     */
+    private CISUCSnapshot mapSnapshotFile(File snapshotFile) {
+        try {
+            CISUCMappedSnapshot mappedSnapshot = new CISUCMappedSnapshot(snapshotFile);
+            return new CISUCSnapshot(mappedSnapshot.getInvestigators(), mappedSnapshot.getInvestigationGroups(), mappedSnapshot.getPublications(), getSourceStamps());
+        } catch (IOException ex) {
+            log("COULDN'T MAP SNAPSHOT FILE WITH PATH " + snapshotFile.getPath() + ": " + ex.getMessage() + "!");
+        }
+        return null;
+    }
+
+    /**
+     * Function that reads the entities of the changed text files again,
+     * reusing the other ones from the snapshot. Since the snapshot refers to
+     * investigators by id, reused investigation groups and publications are
+     * bound to the investigators that were read again. If some of them refer
+     * to an investigator that no longer exists, their text file is read again
+     * as well, so that the error is reported as usual.
+     *
+     * @param reader the snapshot reader.
+     * @param changedSources the flags of the changed text files.
+     * @return the snapshot.
+     * @throws IOException if something went wrong whilst reading the
+     * snapshot file.
+     */
+    private CISUCSnapshot readChangedSources(CISUCSnapshotReader reader, boolean[] changedSources) throws IOException {
+        Map<Integer, Investigator> investigators;
+        HashMap<String, InvestigationGroup> investigationGroups = null;
+        HashMap<String, Publication> publications = null;
+        boolean resolveInvestigators = changedSources[INVESTIGATORS_SOURCE];
+
+        if (changedSources[INVESTIGATORS_SOURCE]) {
+            investigators = readInvestigatorsTextFile();
+        } else {
+            log("REUSING INVESTIGATORS FROM SNAPSHOT FILE.");
+            investigators = reader.readInvestigators();
+        }
+
+        if (!changedSources[INVESTIGATION_GROUPS_SOURCE]) {
+            investigationGroups = reader.readInvestigationGroups(investigators);
+            log(investigationGroups != null ? "REUSING INVESTIGATION GROUPS FROM SNAPSHOT FILE."
+                    : "INVESTIGATION GROUPS FROM SNAPSHOT FILE DON'T MATCH THE INVESTIGATORS! READING THEM FROM THE TEXT FILE.");
+        }
+        if (investigationGroups == null) {
+            investigationGroups = readInvestigationGroupsTextFile(investigators);
+            resolveInvestigators = true;
+        }
+
+        if (resolveInvestigators) {
+            investigators = resolveInvestigators(investigators);
+        }
+
+        if (!changedSources[PUBLICATIONS_SOURCE]) {
+            publications = reader.readPublications(investigators);
+            log(publications != null ? "REUSING PUBLICATIONS FROM SNAPSHOT FILE."
+                    : "PUBLICATIONS FROM SNAPSHOT FILE REFER TO MISSING INVESTIGATORS!");
+        }
+        if (publications == null) {
+            publications = conf.isParallel() ? readPublicationsTextFileParallel(investigators, conf.getParallelThreads()) : readPublicationsTextFile(investigators);
+        }
+
+        return new CISUCSnapshot(investigators, investigationGroups, publications, getSourceStamps());
+    }
+
+    /**
+     * Function that checks if the text file of a given source still matches
+     * its stamp. Only a text file that exists and differs counts as changed:
+     * if it's missing or can't be read, its entities are reused from the
+     * snapshot, just like they would be from an object file.
+     *
+     * @param stamp the stamp stored in the snapshot.
+     * @param source the source, as in CISUCSnapshotFormat.
+     * @return true if the text file is unchanged or can't be checked. False
+     * otherwise.
+     */
+    private boolean matchesSourceStamp(CISUCSourceStamp stamp, int source) {
+        File sourceFile = new File(getSourceFilePath(source));
+
+        if (!sourceFile.exists()) {
+            log(SOURCE_NAMES[source] + " TEXT FILE WITH PATH " + sourceFile.getPath() + " NOT FOUND! REUSING ITS ENTITIES FROM SNAPSHOT FILE.");
+            return true;
+        }
+        try {
+            return stamp.matches(sourceFile);
+        } catch (IOException ex) {
+            log("COULDN'T READ " + SOURCE_NAMES[source] + " TEXT FILE WITH PATH " + sourceFile.getPath() + "! REUSING ITS ENTITIES FROM SNAPSHOT FILE.");
+            return true;
+        }
+    }
+
+    /**
+     * Function that stamps the text file of a given source before it's read,
+     * so that the stamp is stored along with its entities in the snapshot.
+     *
+     * @param source the source, as in CISUCSnapshotFormat.
+     */
+    private void stampSourceFile(int source) {
+        try {
+            sourceStamps[source] = new CISUCSourceStamp(new File(getSourceFilePath(source)));
+        } catch (IOException ex) {
+            sourceStamps[source] = CISUCSourceStamp.UNKNOWN;
+        }
+    }
+
+    private String getSourceFilePath(int source) {
+        switch (source) {
+            case INVESTIGATORS_SOURCE:
+                return conf.getInvestigatorsTxtFilePath();
+            case INVESTIGATION_GROUPS_SOURCE:
+                return conf.getInvestigationGroupsTxtFilePath();
+            default:
+                return conf.getPublicationsTxtFilePath();
+        }
+    }
+    // endregion Snapshot
+
+    // region Publication Records
+    /**
+     * Function that submits a byte range of whole publication records to be
+     * tokenized and parsed by the worker threads.
+     *
+     * @param workers the worker threads.
+     * @param channel the publications text file channel.
+     * @param start the position of the first byte of the chunk.
+     * @param end the position after the last byte of the chunk.
+     * @param firstLine the line number of the first line of the chunk.
+     * @param investigators the previous parsed investigators list.
+     * @return the future holding the parsed chunk.
+     */
+    private Future<ArrayList<PublicationRecord>> submitPublicationChunk(ExecutorService workers, FileChannel channel, long start, long end, int firstLine, Map< Integer, Investigator> investigators) {
+        return workers.submit(() -> {
+            ArrayList<PublicationRecord> chunk = new ArrayList<>(PUBLICATION_CHUNK_SIZE);
+            CISUCManagerValidator validator = new CISUCManagerValidator();
+            try (CISUCTextTokenizer tokenizer = new CISUCTextTokenizer(channel, start, end, firstLine)) {
+                while (tokenizer.nextLine()) {
+                    if (tokenizer.isEmptyOrComment()) {
+                        continue;
+                    }
+
+                    PublicationRecord record = new PublicationRecord(tokenizer.getLineNumber());
+
+                    parsePublicationRecord(tokenizer, record, investigators, validator);
+                    chunk.add(record);
+
+                    if (record.errorMessage != null) {
+                        break;
+                    }
+                }
+            }
+            return chunk;
+        });
+    }
+
+    /**
+     * Function that waits for a parsed chunk of publication records and merges
+     * it into the publications mapping.
+     *
+     * @param publications the publications mapping.
+     * @param pendingChunk the future holding the parsed chunk.
+     */
+    private void mergePublicationChunk(HashMap< String, Publication> publications, Future<ArrayList<PublicationRecord>> pendingChunk) {
+        ArrayList<PublicationRecord> chunk = null;
+
+        try {
+            chunk = pendingChunk.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            errorAndExit("ERROR! INTERRUPTED WHILST READING PUBLICATIONS FILE!");
+        } catch (ExecutionException ex) {
+            errorAndExit("ERROR! COULDN'T PARSE PUBLICATIONS FILE: " + ex.getCause());
+        }
+
+        for (PublicationRecord record : chunk) {
+            mergePublicationRecord(publications, record);
+        }
+    }
+
+    /**
+     * Function that adds a parsed publication record to the publications
+     * mapping, or ends the program execution if the record is invalid. The
+     * duplicate title check is performed here, instead of in the parser, so
+     * that it can be deferred until all the previous records are merged.
+     *
+     * @param publications the publications mapping.
+     * @param record the parsed publication record.
+     */
+    private void mergePublicationRecord(HashMap< String, Publication> publications, PublicationRecord record) {
+        if (record.title != null && publications.containsKey(record.title)) {
+            errorAndExit("ERROR AT FIELD 2 AT LINE " + record.lineNumber + " IN PUBLICATIONS TEXT FILE: PUBLICATION WITH TITLE " + record.title + " ALREADY EXISTS!");
+        }
+        if (record.errorMessage != null) {
+            errorAndExit(record.errorMessage);
+        }
+        publications.put(record.title, buildPublication(record));
+    }
+
+    /**
+     * Function that parses and validates a publication record, which begins at
+     * the current line of the tokenizer. Instead of ending the program
+     * execution, the first error found is stored in the record, so that this
+     * function can be safely run by worker threads.
+     *
+     * @param tokenizer the tokenizer positioned at the record header line.
+     * @param record the publication record.
+     * @param investigators the previous parsed investigators list.
+     * @param validator the validator to be used.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    private void parsePublicationRecord(CISUCTextTokenizer tokenizer, PublicationRecord record, Map< Integer, Investigator> investigators, CISUCManagerValidator validator) throws IOException {
+        int lineCounter = record.lineNumber;
+        String publicationType = tokenizer.getField(0);
+
+        if (!publicationType.equals(CONFERENCE_ARTICLE_TXT_TYPE) && !publicationType.equals(MAGAZINE_ARTICLE_TXT_TYPE)
+                && !publicationType.equals(BOOK_TXT_TYPE) && !publicationType.equals(BOOK_CHAPTER_TXT_TYPE)
+                && !publicationType.equals(CONFERENCE_ARTICLE_BOOK_TXT_TYPE)) {
+            record.errorMessage = "ERROR AT FIELD 1 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID PUBLICATION TYPE " + publicationType + "! IT MUST RANGE BETWEEN 0 AND 4, BOTH INCLUDED!\n"
+                    + "(0 - CONFERENCE ARTICLE\n"
+                    + " 1 - MAGAZINE ARTICLE\n"
+                    + " 2 - BOOK\n"
+                    + " 3 - BOOK CHAPTER\n"
+                    + " 4 - CONFERENCE ARTICLE)";
+            return;
+        }
+
+        if (tokenizer.getFieldCount() < 4) {
+            record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE AT LEAST 4!";
+            return;
+        }
+
+        String title;
+        int publicationYear, audienceSize;
+
+        title = tokenizer.getField(1);
+        record.title = title;
+
+        try {
+            publicationYear = tokenizer.getIntField(2);
+        } catch (NumberFormatException ex) {
+            record.errorMessage = "ERROR AT FIELD 3 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID PUBLICATION YEAR " + tokenizer.getField(2) + "! IT MUST BE AN INTEGER!";
+            return;
+        }
+
+        if (validator.isInvalid(CISUCManagerValidator.VALID_YEAR, publicationYear)) {
+            record.errorMessage = "ERROR AT FIELD 3 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE! INVALID PUBLICATION YEAR " + tokenizer.getField(2) + "! IT MUST RANGE BETWEEN " + CISUCManagerValidator.MIN_YEAR + " AND " + CISUCManagerValidator.MAX_YEAR + "!";
+            return;
+        }
+
+        try {
+            audienceSize = tokenizer.getIntField(3);
+        } catch (NumberFormatException ex) {
+            record.errorMessage = "ERROR AT FIELD 4 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID AUDIENCE SIZE " + tokenizer.getField(3) + "! IT MUST BE AN INTEGER!";
+            return;
+        }
+
+        if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, audienceSize)) {
+            record.errorMessage = "ERROR AT FIELD5 4 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE! INVALID AUDIENCE SIZE " + tokenizer.getField(3) + "! IT MUST BE A NON-NEGATIVE INTEGER!";
+            return;
+        }
+
+        switch (publicationType) {
+            case CONFERENCE_ARTICLE_TXT_TYPE: {
+                if (tokenizer.getFieldCount() != 7) {
+                    record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 7 WHEN THE PUBLICATION OF TYPE CONFERENCE ARTICLE!";
+                    return;
+                }
+
+                String conferenceName = tokenizer.getField(4),
+                        conferencePlace = tokenizer.getField(5);
+                Date conferenceDate;
+
+                try {
+                    conferenceDate = tokenizer.getDateField(6);
+                } catch (ParseException ex) {
+                    record.errorMessage = "ERROR AT FIELD 7 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID CONFERENCE DATE " + tokenizer.getField(6) + "! IT MUST HAVE THE FORMAT" + DATE_FORMAT + "!";
+                    return;
+                }
+
+                record.newPublication = () -> {
+                    ConferenceArticle conferenceArticle = new ConferenceArticle();
+
+                    conferenceArticle.setConferenceName(conferenceName);
+                    conferenceArticle.setConferencePlace(conferencePlace);
+                    conferenceArticle.setConferenceDate(conferenceDate);
+                    return conferenceArticle;
+                };
+                break;
+            }
+            case MAGAZINE_ARTICLE_TXT_TYPE: {
+                if (tokenizer.getFieldCount() != 7) {
+                    record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 7 WHEN THE PUBLICATION OF TYPE MAGAZINE ARTICLE!";
+                    return;
+                }
+
+                String magazineName = tokenizer.getField(4),
+                        magazineId = tokenizer.getField(5);
+                Date magazineDate;
+
+                try {
+                    magazineDate = tokenizer.getDateField(6);
+                } catch (ParseException ex) {
+                    record.errorMessage = "ERROR AT FIELD 7 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID MAGAZINE DATE " + tokenizer.getField(6) + "! IT MUST HAVE THE FORMAT " + DATE_FORMAT + "!";
+                    return;
+                }
+
+                record.newPublication = () -> {
+                    MagazineArticle magazineArticle = new MagazineArticle();
+
+                    magazineArticle.setMagazineName(magazineName);
+                    magazineArticle.setMagazineId(magazineId);
+                    magazineArticle.setMagazineDate(magazineDate);
+                    return magazineArticle;
+                };
+                break;
+            }
+            case BOOK_TXT_TYPE:
+            case BOOK_CHAPTER_TXT_TYPE:
+            case CONFERENCE_ARTICLE_BOOK_TXT_TYPE: {
+                if (publicationType.equals(BOOK_TXT_TYPE)) {
+                    if (tokenizer.getFieldCount() != 6) {
+                        record.errorMessage = "ERROR AT  LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 6 WHEN THE PUBLICATION OF TYPE BOOK!";
+                        return;
+                    }
+                }
+
+                if (tokenizer.getFieldCount() < 6) {
+                    record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE AT LEAST 6 WHEN THE PUBLICATION IS A BOOK!";
+                    return;
+                }
+
+                String isbn = tokenizer.getField(4);
+
+                if (!(validator.isInvalidISBN(isbn))) {
+                    record.errorMessage = "ERROR AT FIELD 5 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BOOK ISBN " + isbn + "!";
+                    return;
+                }
+
+                String publishingCompany = tokenizer.getField(5);
+                Supplier<Book> newBook;
+
+                if (publicationType.equals(BOOK_CHAPTER_TXT_TYPE)) {
+                    if (tokenizer.getFieldCount() != 9) {
+                        record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF COMMA SEPARATED VALUES PER LINE MUST BE 9 WHEN THE PUBLICATION OF TYPE BOOK CHAPTER!";
+                        return;
+                    }
+                    String chapterName = tokenizer.getField(6);
+                    int beginPage, endPage;
+
+                    try {
+                        beginPage = tokenizer.getIntField(7);
+                    } catch (NumberFormatException ex) {
+                        record.errorMessage = "ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BEGIN PAGE " + tokenizer.getField(7) + "! IT MUST BE A POSITIVE INTEGER!";
+                        return;
+                    }
+
+                    if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, beginPage)) {
+                        record.errorMessage = "ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID BEGIN PAGE " + tokenizer.getField(7) + "! IT MUST BE A POSITIVE INTEGER!";
+                        return;
+                    }
+
+                    try {
+                        endPage = tokenizer.getIntField(8);
+                    } catch (NumberFormatException ex) {
+                        record.errorMessage = "ERROR AT FIELD 9 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID END PAGE " + tokenizer.getField(8) + "! IT MUST BE AN INTEGER!";
+                        return;
+                    }
+
+                    if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, beginPage)) {
+                        record.errorMessage = "ERROR AT FIELD 9 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID END PAGE " + tokenizer.getField(8) + "! IT MUST BE A POSITIVE INTEGER!";
+                        return;
+                    }
+
+                    newBook = () -> {
+                        BookChapter chapter = new BookChapter();
+
+                        chapter.setChapterName(chapterName);
+                        chapter.setBeginPage(beginPage);
+                        chapter.setEndPage(endPage);
+                        return chapter;
+                    };
+                } else if (publicationType.equals(CONFERENCE_ARTICLE_BOOK_TXT_TYPE)) {
+                    if (tokenizer.getFieldCount() != 8) {
+                        record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: NUMBER OF " + FIELD_SEPARATOR + " SEPARATED VALUES PER LINE MUST BE 8 WHEN THE PUBLICATION IS OF TYPE CONFERENCE ARTICLE BOOK!";
+                        return;
+                    }
+
+                    String conferenceName = tokenizer.getField(6);
+                    int numberOfArticles;
+
+                    try {
+                        numberOfArticles = tokenizer.getIntField(7);
+                    } catch (NumberFormatException ex) {
+                        record.errorMessage = "ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID NUMBER OF ARTICLES " + tokenizer.getField(7) + "! IT MUST BE A POSITIVE INTEGER";
+                        return;
+                    }
+
+                    if (validator.isInvalid(CISUCManagerValidator.POSITIVE_NUMBER, numberOfArticles)) {
+                        record.errorMessage = "ERROR AT FIELD 8 AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: INVALID NUMBER OF ARTICLES " + tokenizer.getField(7) + "! IT MUST BE A POSITIVE INTEGER!";
+                        return;
+                    }
+
+                    newBook = () -> {
+                        ConferenceArticleBook confArticleBook = new ConferenceArticleBook();
+
+                        confArticleBook.setConferenceName(conferenceName);
+                        confArticleBook.setArticleNumber(numberOfArticles);
+                        return confArticleBook;
+                    };
+                } else {
+                    newBook = Book::new;
+                }
+
+                record.newPublication = () -> {
+                    Book book = newBook.get();
+
+                    book.setPublishingCompany(publishingCompany);
+                    book.setIsbn(isbn);
+                    return book;
+                };
+            }
+        }
+        record.publicationYear = publicationYear;
+        record.audienceSize = audienceSize;
+
+        if (!nextPublicationRecordLine(tokenizer, record)) {
+            return;
+        }
+        record.summary = tokenizer.getLine();
+
+        if (!nextPublicationRecordLine(tokenizer, record)) {
+            return;
+        }
+
+        ArrayList< String> keywords = new ArrayList<>(tokenizer.getFieldCount());
+
+        for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+            keywords.add(tokenizer.getField(i));
+        }
+
+        if (!nextPublicationRecordLine(tokenizer, record)) {
+            return;
+        }
+        lineCounter = tokenizer.getLineNumber();
+
+        if (tokenizer.getFieldCount() == 0) {
+            record.errorMessage = "ERROR AT LINE " + lineCounter + " IN PUBLICATIONS TEXT FILE: EACH PUBLICATION MUST HAVE AT LEAST ONE AUTHOR!";
+            return;
+        }
+
+        ArrayList< Investigator> authors = new ArrayList<>();
+        HashSet<Integer> authorsIds = new HashSet<>();
+
+        for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+            int authorId;
+            try {
+                authorId = tokenizer.getIntField(i);
+            } catch (NumberFormatException ex) {
+                record.errorMessage = "ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + ": INVALID AUTHOR ID " + tokenizer.getField(i) + "! EACH AUTHOR ID MUST BE AN INTEGER!";
+                return;
+            }
+            if (!investigators.containsKey(authorId)) {
+                record.errorMessage = "ERROR AT FIELD " + (i + 1) + " AT LINE " + lineCounter + ": AUTHOR WITH ID " + authorId + " DOESN'T EXIST!";
+                return;
+            }
+            if (!authorsIds.contains(authorId)) {
+                authorsIds.add(authorId);
+                authors.add(investigators.get(authorId));
+            }
+        }
+
+        record.keywords = keywords;
+        record.authors = authors;
+    }
+
+    /**
+     * Function that builds the publication of a valid record. The publication
+     * objects are only built here, as the records are merged in file order,
+     * so that the publication numbers, which come from per-type counters
+     * bumped on construction, don't depend on the order the worker threads
+     * finish in.
+     *
+     * @param record the parsed publication record.
+     * @return the publication.
+     */
+    private Publication buildPublication(PublicationRecord record) {
+        Publication publication = record.newPublication.get();
+
+        publication.setTitle(record.title);
+        publication.setPublicationYear(record.publicationYear);
+        publication.setAudienceSize(record.audienceSize);
+        publication.setImpactFactor();
+        publication.setSummary(record.summary);
+        publication.setAuthors(record.authors);
+        publication.setKeywords(record.keywords);
+        return publication;
+    }
+
+    /**
+     * Function that advances the tokenizer past the remaining lines of a
+     * publication record, without parsing them, so that the record boundaries
+     * are found without tokenizing the records. The record may be cut short
+     * by the end of the file, which the parser reports later.
+     *
+     * @param tokenizer the tokenizer positioned at the record header line.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    private void skipPublicationRecordLines(CISUCTextTokenizer tokenizer) throws IOException {
+        int remainingLines = PUBLICATION_RECORD_LINES - 1;
+
+        while (remainingLines > 0 && tokenizer.nextLine()) {
+            remainingLines--;
+        }
+    }
+
+    /**
+     * Function that advances the tokenizer to the next line of a publication
+     * record, storing an error in the record if the file ends prematurely.
+     *
+     * @param tokenizer the tokenizer.
+     * @param record the publication record.
+     * @return true - if the line exists. false - otherwise.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    private boolean nextPublicationRecordLine(CISUCTextTokenizer tokenizer, PublicationRecord record) throws IOException {
+        if (!tokenizer.nextLine()) {
+            record.errorMessage = "ERROR AT LINE " + (tokenizer.getLineNumber() + 1) + " IN PUBLICATIONS TEXT FILE: UNEXPECTED END OF FILE! EACH PUBLICATION MUST BE DESCRIBED IN " + PUBLICATION_RECORD_LINES + " LINES!";
+            return false;
+        }
+        return true;
+    }
+    // endregion Publication Records
+
     // region Aliases Methods
     /**
-     * Alias function that closes the BufferedReader of this class.
+     * Alias function that closes a text file tokenizer.
+     *
+     * @param textFileTokenizer the tokenizer to be closed.
      */
-    private void closeTextReader() {
+    private void closeTextReader(CISUCTextTokenizer textFileTokenizer) {
         try {
-            textFileReader.close();
+            textFileTokenizer.close();
         } catch (IOException ex) {
             errorAndExit("ERROR: COULDN'T CLOSE TEXT FILE READER!");
         }
     }
 
     /**
-     * Alias function that closes the ObjectInputStream of this class.
+     * Alias function that closes an ObjectInputStream.
+     *
+     * @param objectFileReader the ObjectInputStream to be closed.
      */
-    private void closeObjectReader() {
+    private void closeObjectReader(ObjectInputStream objectFileReader) {
         try {
             objectFileReader.close();
         } catch (IOException ex) {
@@ -745,15 +1258,42 @@ public class CISUCFileHandler {
 
     /**
      * Alias function that writes the error message and immediately ends the
-     * execution of the program.
+     * execution of the program, unless errors are being deferred for the
+     * calling thread, in which case it is thrown as a CISUCLoadException.
      *
      * @param errorMessage the error message to be displayed
      */
     private void errorAndExit(String errorMessage) {
+        if (deferringErrors.get()) {
+            throw new CISUCLoadException(errorMessage);
+        }
         System.out.println(errorMessage);
         System.out.println("EXITING PROGRAM...");
         System.exit(1);
     }
     // endregion Aliases Methods
     // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds the result of parsing a publication record.
+     */
+    private static class PublicationRecord {
+
+        private final int lineNumber;
+        private String title, errorMessage, summary;
+        private int publicationYear, audienceSize;
+        private ArrayList<String> keywords;
+        private ArrayList<Investigator> authors;
+        // builds the publication of the record type, once the record is merged
+        private Supplier<Publication> newPublication;
+
+        /**
+         * @param lineNumber the line number of the record header line.
+         */
+        private PublicationRecord(int lineNumber) {
+            this.lineNumber = lineNumber;
+        }
+    }
+    // endregion Nested Classes
 }
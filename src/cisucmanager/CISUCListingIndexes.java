@@ -0,0 +1,72 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the orders the entities are listed and browsed in (see
+ * CISUCSortedIndex). Names and titles are compared ignoring case and ties are
+ * broken by id, so that every order is total.
+ */
+public class CISUCListingIndexes {
+
+    // region Constants
+    public static final Comparator<Publication> PUBLICATIONS_BY_TITLE = Comparator.comparing(Publication::getTitle, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingInt(Publication::getPublicationId);
+    public static final Comparator<Publication> PUBLICATIONS_BY_YEAR = Comparator.comparingInt(Publication::getPublicationYear)
+            .thenComparing(PUBLICATIONS_BY_TITLE);
+    public static final Comparator<Investigator> INVESTIGATORS_BY_ID = Comparator.comparingInt(Investigator::getInvestigatorId);
+    public static final Comparator<Investigator> INVESTIGATORS_BY_NAME = Comparator.comparing(Investigator::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(INVESTIGATORS_BY_ID);
+    public static final Comparator<InvestigationGroup> INVESTIGATION_GROUPS_BY_NAME = Comparator.comparing(InvestigationGroup::getName, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(InvestigationGroup::getName);
+
+    private final CISUCSortedIndex<Publication> publicationsByYear, publicationsByTitle;
+    private final CISUCSortedIndex<Investigator> investigatorsById, investigatorsByName;
+    private final CISUCSortedIndex<InvestigationGroup> investigationGroupsByName;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publications the publications.
+     * @param investigators the investigators.
+     * @param investigationGroups the investigation groups.
+     */
+    public CISUCListingIndexes(Collection<Publication> publications, Collection<Investigator> investigators, Collection<InvestigationGroup> investigationGroups) {
+        publicationsByYear = new CISUCSortedIndex<>(publications, PUBLICATIONS_BY_YEAR);
+        publicationsByTitle = new CISUCSortedIndex<>(publications, PUBLICATIONS_BY_TITLE);
+        investigatorsById = new CISUCSortedIndex<>(investigators, INVESTIGATORS_BY_ID);
+        investigatorsByName = new CISUCSortedIndex<>(investigators, INVESTIGATORS_BY_NAME);
+        investigationGroupsByName = new CISUCSortedIndex<>(investigationGroups, INVESTIGATION_GROUPS_BY_NAME);
+    }
+    // endregion Constructors
+
+    // region Getters
+    public CISUCSortedIndex<Publication> getPublicationsByYear() {
+        return publicationsByYear;
+    }
+
+    public CISUCSortedIndex<Publication> getPublicationsByTitle() {
+        return publicationsByTitle;
+    }
+
+    public CISUCSortedIndex<Investigator> getInvestigatorsById() {
+        return investigatorsById;
+    }
+
+    public CISUCSortedIndex<Investigator> getInvestigatorsByName() {
+        return investigatorsByName;
+    }
+
+    public CISUCSortedIndex<InvestigationGroup> getInvestigationGroupsByName() {
+        return investigationGroupsByName;
+    }
+    // endregion Getters
+}
@@ -0,0 +1,26 @@
+package cisucmanager;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Exception that holds an error found whilst loading the entities, whose
+ * report is deferred until the errors of the preceding loader stages are
+ * known.
+ */
+public class CISUCLoadException extends RuntimeException {
+
+    // region Constants
+    private static final long serialVersionUID = 1L;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param message the error message to be displayed.
+     */
+    public CISUCLoadException(String message) {
+        super(message);
+    }
+    // endregion Constructors
+}
@@ -0,0 +1,176 @@
+package cisucmanager;
+
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that loads the entities in stages, each one being run as soon as the
+ * stages it depends on are finished, so that independent stages (such as
+ * reading the publications and the investigation groups, which both only
+ * depend on the investigators) run concurrently.
+ *
+ * The errors found by a stage are deferred, and reported by await in the order
+ * the stages were added, so that the reported error is the same as in a
+ * sequential load.
+ */
+public class CISUCLoader {
+
+    // region Constants
+    private final CISUCManagerConfig conf;
+    private final CISUCFileHandler fileManager;
+    private final ExecutorService executor;
+    private final ArrayList<String> stageNames;
+    private final ArrayList<CompletableFuture<?>> stages;
+    private final long start;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param conf the configuration of CISUCManager.
+     * @param fileManager the object that handles and validates CISUCManager
+     * related files.
+     */
+    public CISUCLoader(CISUCManagerConfig conf, CISUCFileHandler fileManager) {
+        this.conf = conf;
+        this.fileManager = fileManager;
+
+        executor = Executors.newCachedThreadPool();
+        stageNames = new ArrayList<>();
+        stages = new ArrayList<>();
+        start = System.nanoTime();
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that adds a stage without dependencies, which starts right
+     * away.
+     *
+     * @param <T> the type of the stage result.
+     * @param name the stage name, as displayed in the log.
+     * @param task the stage task.
+     * @return the future holding the stage result.
+     */
+    public <T> CompletableFuture<T> addStage(String name, Supplier<T> task) {
+        return register(name, CompletableFuture.supplyAsync(() -> run(name, task), executor));
+    }
+
+    /**
+     * Function that adds a stage that depends on the result of another stage.
+     *
+     * @param <T> the type of the dependency result.
+     * @param <U> the type of the stage result.
+     * @param name the stage name, as displayed in the log.
+     * @param dependency the stage it depends on.
+     * @param task the stage task.
+     * @return the future holding the stage result.
+     */
+    public <T, U> CompletableFuture<U> addStage(String name, CompletableFuture<T> dependency, Function<T, U> task) {
+        return register(name, dependency.thenApplyAsync(result -> run(name, () -> task.apply(result)), executor));
+    }
+
+    /**
+     * Function that adds a stage that depends on the results of two other
+     * stages.
+     *
+     * @param <T> the type of the first dependency result.
+     * @param <U> the type of the second dependency result.
+     * @param <V> the type of the stage result.
+     * @param name the stage name, as displayed in the log.
+     * @param first the first stage it depends on.
+     * @param second the second stage it depends on.
+     * @param task the stage task.
+     * @return the future holding the stage result.
+     */
+    public <T, U, V> CompletableFuture<V> addStage(String name, CompletableFuture<T> first, CompletableFuture<U> second, BiFunction<T, U, V> task) {
+        return register(name, first.thenCombineAsync(second, (firstResult, secondResult) -> run(name, () -> task.apply(firstResult, secondResult)), executor));
+    }
+
+    /**
+     * Function that waits for all the stages to finish.
+     *
+     * @throws CISUCLoadException the error of the first stage, in the order
+     * they were added, that failed.
+     */
+    public void await() {
+        try {
+            for (int i = 0; i < stages.size(); i++) {
+                try {
+                    stages.get(i).join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof CISUCLoadException) {
+                        throw (CISUCLoadException) ex.getCause();
+                    }
+                    throw new CISUCLoadException("ERROR! " + stageNames.get(i) + " STAGE FAILED: " + ex.getCause());
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        log("ALL STAGES FINISHED IN " + (System.nanoTime() - start) / 1000000 + " MS.\n---------------------------------------------------------------");
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that keeps track of a stage, so that it is awaited.
+     *
+     * @param <T> the type of the stage result.
+     * @param name the stage name.
+     * @param stage the future holding the stage result.
+     * @return the future holding the stage result.
+     */
+    private <T> CompletableFuture<T> register(String name, CompletableFuture<T> stage) {
+        stageNames.add(name);
+        stages.add(stage);
+        return stage;
+    }
+
+    /**
+     * Function that runs a stage task, deferring its errors and logging the
+     * time it took.
+     *
+     * @param <T> the type of the stage result.
+     * @param name the stage name.
+     * @param task the stage task.
+     * @return the stage result.
+     */
+    private <T> T run(String name, Supplier<T> task) {
+        long stageStart = System.nanoTime();
+
+        fileManager.setDeferringErrors(true);
+        try {
+            T result = task.get();
+            log(name + " STAGE FINISHED IN " + (System.nanoTime() - stageStart) / 1000000 + " MS ("
+                    + (System.nanoTime() - start) / 1000000 + " MS SINCE THE LOAD STARTED).");
+            return result;
+        } finally {
+            fileManager.setDeferringErrors(false);
+        }
+    }
+
+    // region Aliases Methods
+    /**
+     * Alias function that logs a certain message if verbose mode is activated
+     * in the conf object.
+     *
+     * @param message the message to be logged.
+     */
+    private void log(String message) {
+        if (conf.isVerbose()) {
+            System.out.println(message);
+        }
+    }
+    // endregion Aliases Methods
+    // endregion Private Methods
+}
@@ -7,17 +7,23 @@ import cisucmanager.enums.ImpactFactor;
 import cisucmanager.enums.InvestigatorType;
 import cisucmanager.enums.PublicationType;
 import java.io.BufferedReader;
+import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590 Universidade de Coimbra,
@@ -29,20 +35,25 @@ import java.util.stream.Collectors;
 public class CISUCManager {
 
     // region Constants
-    private final int CURRENT_YEAR = Calendar.getInstance().get(Calendar.YEAR);
     private final String EMPTY_LIST_STRING = "<NONE>";
     private final int LAST_YEARS = 5;
+    private final int SEARCH_RESULTS = 10;
+    private final int NAME_MATCHES = 5;
+    private final long RESULT_CACHE_WEIGHT = 1 << 24, RESULT_CACHE_ENTRY_WEIGHT = 1 << 21;
 
     private final CISUCManagerConfig conf;
     private final CISUCFileHandler fileManager;
-    private final String generalInfo;
     private final BufferedReader consoleReader;
+    private final Writer consoleWriter;
+    private final CISUCResultCache resultCache;
     // endregion Constants
 
     // region Instance Variables
-    private HashMap<Integer, Investigator> investigators;
-    private HashMap<String, InvestigationGroup> investigationGroups;
-    private HashMap<String, Publication> publications;
+    private CISUCQueryService queryService;
+    private CompletableFuture<Void> snapshotWrite;
+    private Map<Integer, Investigator> investigators;
+    private Map<String, InvestigationGroup> investigationGroups;
+    private Map<String, Publication> publications;
     // endregion Instance Variables
 
     // region Constructors
@@ -61,33 +72,36 @@ public class CISUCManager {
         investigationGroups = new HashMap<>();
         publications = new HashMap<>();
         consoleReader = new BufferedReader(new InputStreamReader(System.in));
+        consoleWriter = new BufferedWriter(new OutputStreamWriter(System.out));
+        resultCache = new CISUCResultCache(RESULT_CACHE_WEIGHT, RESULT_CACHE_ENTRY_WEIGHT);
 
         readFilesToMemory();
-
-        generalInfo = "\n---CISUC GENERAL INFORMATION---"
-                + "\nTOTAL NUMBER OF INVESTIGATORS: " + investigators.size()
-                + "\n---EFFECTIVE INVESTIGATORS: " + getInvestigatorsByType(investigators.values(), InvestigatorType.EFFECTIVE).size()
-                + "\n---STUDENT INVESTIGATORS: " + getInvestigatorsByType(investigators.values(), InvestigatorType.STUDENT).size()
-                + "\nTOTAL NUMBER OF INVESTIGATION GROUPS: " + investigationGroups.size()
-                + "\nTOTAL NUMBER OF PUBLICATIONS: " + publications.size()
-                + "\n---PUBLICATIONS FROM THE LAST " + LAST_YEARS + " YEARS: " + getPublicationFromLastYears(publications.values(), LAST_YEARS).size()
-                + "\n---CONFERENCE ARTICLE PUBLICATIONS: " + getPublicationsByType(publications.values(), PublicationType.CONFERENCE_ARTICLE).size()
-                + "\n---MAGAZINE ARTICLE PUBLICATIONS: " + getPublicationsByType(publications.values(), PublicationType.MAGAZINE_ARTICLE).size()
-                + "\n---BOOK PUBLICATIONS: " + getPublicationsByType(publications.values(), PublicationType.BOOK).size();
-
+        queryService = new CISUCQueryService(investigators, investigationGroups, publications, conf.isParallel() ? conf.getParallelThreads() : 1, this::log);
+        if (!conf.isLazy()) {
+            queryService.buildAll();
+        }
         writeFilesFromMemory();
-        execute();
     }
     // endregion Constructors
 
+    /**
+     * Function that gets the service the queries are answered by, which can
+     * be called from any thread, along with or instead of the console menu.
+     *
+     * @return the query service.
+     */
+    public CISUCQueryService getQueryService() {
+        return queryService;
+    }
+
     /**
      * Function that displays to the user all the available operations and asks
-     * him for an operation id.
+     * him for an operation id, until he exits.
      *
      * @throws IOException if something went wrong whilst reading the console
      * input.
      */
-    private void execute() throws IOException {
+    public void execute() throws IOException {
         String operationId;
 
         while (true) {
@@ -98,7 +112,7 @@ public class CISUCManager {
 
             switch (operationId) {
                 case "0":
-                    println(generalInfo);
+                    println(getGeneralInfo());
                     break;
                 case "1":
                     displayInvestigationGroupPublications();
@@ -121,6 +135,33 @@ public class CISUCManager {
                 case "7":
                     exit();
                     break;
+                case "8":
+                    displaySearchResults();
+                    break;
+                case "9":
+                    displayNameMatches();
+                    break;
+                case "10":
+                    displayQueryResult();
+                    break;
+                case "11":
+                    displayRanking();
+                    break;
+                case "12":
+                    displayCollaborationDistance();
+                    break;
+                case "13":
+                    displayCollaborationComponents();
+                    break;
+                case "14":
+                    displayMostCentralInvestigators();
+                    break;
+                case "15":
+                    displayAdvisorHierarchyPublications();
+                    break;
+                case "16":
+                    browsePages();
+                    break;
                 default:
                     println("INVALID OPERATION ID: " + operationId + "!");
             }
@@ -128,84 +169,173 @@ public class CISUCManager {
     }
 
     /**
-     * Function that reads the correspondent entities object files in case of
-     * their existence. Otherwise, the correspondent text files will be
-     * processed.
+     * Function that reads the snapshot file in case of its existence.
+     * Otherwise, the correspondent entities object files or, in case of their
+     * absence, text files will be processed, concurrently whenever their
+     * dependencies allow it (see CISUCLoader).
      */
     private void readFilesToMemory() {
         log("-----CISUC MANAGER STARTUP LOG-----\n"
-                + "ATTEMPTING TO READ INVESTIGATION GROUPS, INVESTIGATORS AND PUBLICATIONS OBJECT FILES...\n---------------------------------------------------------------");
+                + "ATTEMPTING TO READ SNAPSHOT FILE...\n---------------------------------------------------------------");
+
+        File snapshotFile = new File(conf.getSnapshotFilePath());
+
+        if (snapshotFile.exists()) {
+            log("READING SNAPSHOT FILE...");
+
+            CISUCSnapshot snapshot = fileManager.readSnapshotFile(snapshotFile, conf.isLazy());
+
+            if (snapshot != null) {
+                setEntities(snapshot.getInvestigators(), snapshot.getInvestigationGroups(), snapshot.getPublications());
+
+                log("FINISHED READING SNAPSHOT FILE.\n---------------------------------------------------------------");
+                return;
+            }
+
+            log("DISCARDING SNAPSHOT FILE WITH PATH " + conf.getSnapshotFilePath() + ". IT WILL BE REBUILT.");
+            snapshotFile.delete();
+        }
+
+        log("NO VALID SNAPSHOT FILE WITH PATH " + conf.getSnapshotFilePath() + " FOUND!\n"
+                + "ATTEMPTING TO READ INVESTIGATION GROUPS, INVESTIGATORS AND PUBLICATIONS OBJECT FILES INSTEAD...\n---------------------------------------------------------------");
 
         File investigationGroupsObjFile, investigatorsObjFile, publicationsObjFile;
 
         investigatorsObjFile = new File(conf.getInvestigatorsObjFilePath());
         investigationGroupsObjFile = new File(conf.getInvestigationGroupsObjFilePath());
         publicationsObjFile = new File(conf.getPublicationsObjFilePath());
+
+        CISUCLoader loader = new CISUCLoader(conf, fileManager);
+        CompletableFuture<Map<Integer, Investigator>> investigatorsStage, resolvedInvestigatorsStage;
+        CompletableFuture<Map<String, InvestigationGroup>> investigationGroupsStage;
+        CompletableFuture<Map<String, Publication>> publicationsStage;
         boolean readInvestigatorsFromTxt = false;
 
         if (!investigatorsObjFile.exists()) {
             log("INVESTIGATORS OBJECT FILE WITH PATH " + conf.getInvestigatorsObjFilePath() + " NOT FOUND!\n"
                     + "READING INVESTIGATORS TEXT FILE INSTEAD...");
 
-            investigators = fileManager.readInvestigatorsTextFile();
+            investigatorsStage = loader.addStage("INVESTIGATORS", fileManager::readInvestigatorsTextFile);
             readInvestigatorsFromTxt = true;
 
         } else {
             log("READING INVESTIGATORS OBJECT FILE...");
 
-            investigators = fileManager.readEntityObjectFile(investigatorsObjFile);
-
-            log("FINISHED READING INVESTIGATORS OBJECT FILE...\n---------------------------------------------------------------");
+            investigatorsStage = loader.addStage("INVESTIGATORS", () -> {
+                Map<Integer, Investigator> read = fileManager.readEntityObjectFile(investigatorsObjFile);
+                log("FINISHED READING INVESTIGATORS OBJECT FILE...\n---------------------------------------------------------------");
+                return read;
+            });
         }
 
         if (!investigationGroupsObjFile.exists()) {
             log("INVESTIGATION GROUPS OBJECT FILE WITH PATH " + conf.getInvestigationGroupsObjFilePath() + " NOT FOUND!\n"
                     + "READING INVESTIGATION GROUPS TEXT FILE INSTEAD...");
 
-            investigationGroups = fileManager.readInvestigationGroupsTextFile(investigators);
+            investigationGroupsStage = loader.addStage("INVESTIGATION GROUPS", investigatorsStage, fileManager::readInvestigationGroupsTextFile);
         } else {
             log("READING INVESTIGATION GROUPS OBJECT FILE...");
 
-            investigationGroups = fileManager.readEntityObjectFile(investigationGroupsObjFile);
-
-            log("FINISHED READING INVESTIGATION GROUPS OBJECT FILE.\n---------------------------------------------------------------");
+            investigationGroupsStage = loader.addStage("INVESTIGATION GROUPS", () -> {
+                Map<String, InvestigationGroup> read = fileManager.readEntityObjectFile(investigationGroupsObjFile);
+                log("FINISHED READING INVESTIGATION GROUPS OBJECT FILE.\n---------------------------------------------------------------");
+                return read;
+            });
         }
 
         if (readInvestigatorsFromTxt) {
-            investigators = fileManager.resolveInvestigators(investigators);
+            resolvedInvestigatorsStage = loader.addStage("INVESTIGATORS RESOLUTION", investigatorsStage, investigationGroupsStage, (read, groups) -> fileManager.resolveInvestigators(read));
+        } else {
+            resolvedInvestigatorsStage = investigatorsStage;
         }
 
         if (!publicationsObjFile.exists()) {
             log("PUBLICATIONS OBJECT FILE WITH PATH " + conf.getPublicationsObjFilePath() + " NOT FOUND!\n"
                     + "READING PUBLICATIONS TEXT FILE INSTEAD...");
 
-            publications = fileManager.readPublicationsTextFile(investigators);
+            if (conf.isParallel()) {
+                publicationsStage = loader.addStage("PUBLICATIONS", investigatorsStage, read -> fileManager.readPublicationsTextFileParallel(read, conf.getParallelThreads()));
+            } else {
+                publicationsStage = loader.addStage("PUBLICATIONS", investigatorsStage, fileManager::readPublicationsTextFile);
+            }
         } else {
             log("READING PUBLICATIONS OBJECT FILE...");
 
-            publications = fileManager.readEntityObjectFile(publicationsObjFile);
+            publicationsStage = loader.addStage("PUBLICATIONS", () -> {
+                Map<String, Publication> read = fileManager.readEntityObjectFile(publicationsObjFile);
+                log("FINISHED READING PUBLICATIONS OBJECT FILE...\n---------------------------------------------------------------");
+                return read;
+            });
+        }
 
-            log("FINISHED READING PUBLICATIONS OBJECT FILE...\n---------------------------------------------------------------");
+        try {
+            loader.await();
+        } catch (CISUCLoadException ex) {
+            println(ex.getMessage());
+            exit();
         }
+
+        setEntities(resolvedInvestigatorsStage.join(), investigationGroupsStage.join(), publicationsStage.join());
+    }
+
+    /**
+     * Function that replaces the entities in memory, discarding the cached
+     * results, which were computed from the former ones.
+     *
+     * @param investigators the investigators, by id.
+     * @param investigationGroups the investigation groups, by name.
+     * @param publications the publications, by title.
+     */
+    private void setEntities(Map<Integer, Investigator> investigators, Map<String, InvestigationGroup> investigationGroups, Map<String, Publication> publications) {
+        this.investigators = investigators;
+        this.investigationGroups = investigationGroups;
+        this.publications = publications;
+        resultCache.invalidateAll();
     }
 
     /**
-     * Function that writes all entities correspondent HashMap to the object
-     * file with path specified in the configuration.
+     * Function that writes all entities correspondent HashMap, as a single
+     * snapshot, to the snapshot file with path specified in the configuration.
+     * The snapshot is written in the background over copies of the maps, so
+     * that the menu is available right away, and its completion is logged.
      */
     private void writeFilesFromMemory() {
-        log("ATTEMPTING TO WRITE TEXT FILES INFORMATION TO MISSING OBJECT FILES...");
-        int counter = 0;
+        log("ATTEMPTING TO WRITE ENTITIES TO MISSING SNAPSHOT FILE...");
 
-        counter += fileManager.writeEntityObjectFile(investigators, new File(conf.getInvestigatorsObjFilePath()));
-        counter += fileManager.writeEntityObjectFile(investigationGroups, new File(conf.getInvestigationGroupsObjFilePath()));
-        counter += fileManager.writeEntityObjectFile(publications, new File(conf.getPublicationsObjFilePath()));
+        File snapshotFile = new File(conf.getSnapshotFilePath());
 
-        if (counter == 0) {
-            log("NO MISSING OBJECT FILES.\n---------------------------------------------------------------");
-        } else {
-            log("SUCCESSFULLY WRITTEN TEXT FILES INFORMATION INTO " + counter + " OBJECT FILES.\n---------------------------------------------------------------");
+        if (snapshotFile.exists()) {
+            log("NO MISSING SNAPSHOT FILE.\n---------------------------------------------------------------");
+            return;
+        }
+
+        CISUCSnapshot snapshot = new CISUCSnapshot(new HashMap<>(investigators), new HashMap<>(investigationGroups), new HashMap<>(publications), fileManager.getSourceStamps());
+        long start = System.nanoTime();
+
+        snapshotWrite = fileManager.writeSnapshotFileInBackground(snapshot, snapshotFile).handle((counter, ex) -> {
+            if (ex != null || counter < 0) {
+                println("ERROR: COULDN'T WRITE IN SNAPSHOT FILE WITH PATH " + snapshotFile.getPath() + "!");
+            } else if (counter == 0) {
+                log("SNAPSHOT FILE WITH PATH " + snapshotFile.getPath() + " WAS ALREADY WRITTEN.");
+            } else {
+                log("SUCCESSFULLY WRITTEN ENTITIES INTO SNAPSHOT FILE IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            }
+            return null;
+        });
+
+        log("WRITING SNAPSHOT FILE IN THE BACKGROUND...\n---------------------------------------------------------------");
+    }
+
+    /**
+     * Function that waits for the snapshot file to be written, in case it's
+     * still being written in the background.
+     */
+    private void waitForSnapshotFile() {
+        if (snapshotWrite == null || snapshotWrite.isDone()) {
+            return;
         }
+        log("WAITING FOR THE SNAPSHOT FILE TO BE WRITTEN...");
+        snapshotWrite.join();
     }
 
     // region Aliases Methods
@@ -218,10 +348,57 @@ public class CISUCManager {
         System.out.println(message);
     }
 
+    /**
+     * Function that prints the publications grouped by year, type and impact
+     * factor, streaming the report to the console as it is written (see
+     * CISUCPublicationReport).
+     *
+     * @param publications the publications.
+     * @throws IOException if something went wrong whilst writing to the
+     * console.
+     */
+    private void printGroupedPublications(Collection<Publication> publications) throws IOException {
+        CISUCPublicationReport.writeGrouped(publications, LAST_YEARS, consoleWriter);
+        consoleWriter.write(System.lineSeparator());
+        consoleWriter.flush();
+    }
+
+    /**
+     * Function that prints the publications grouped by year, type and impact
+     * factor, out of the result cache if the same report was printed before
+     * in the current year. Otherwise, the report is recorded into the cache
+     * as it is streamed to the console.
+     *
+     * @param key the key of the report in the result cache.
+     * @param publications the function that gets the publications, only
+     * called if the report isn't cached.
+     * @throws IOException if something went wrong whilst writing to the
+     * console.
+     */
+    private void printGroupedPublications(CISUCResultCache.Key key, Supplier<Collection<Publication>> publications) throws IOException {
+        int currentYear = queryService.getCurrentYear();
+        String cached = resultCache.get(key, currentYear);
+
+        if (cached != null) {
+            consoleWriter.write(cached);
+        } else {
+            CISUCResultCache.Recorder recorder = new CISUCResultCache.Recorder(consoleWriter, resultCache.getMaxEntryWeight());
+
+            CISUCPublicationReport.writeGrouped(publications.get(), LAST_YEARS, recorder);
+            if (recorder.getRecorded() != null) {
+                resultCache.put(key, currentYear, recorder.getRecorded());
+            }
+        }
+        consoleWriter.write(System.lineSeparator());
+        consoleWriter.flush();
+        log("RESULT CACHE " + (cached != null ? "HIT" : "MISS") + ": " + resultCache.getStatistics() + ".");
+    }
+
     /**
      * Alias function that ends the program execution.
      */
     private void exit() {
+        waitForSnapshotFile();
         println("EXITING PROGRAM...");
         System.exit(1);
     }
@@ -241,187 +418,298 @@ public class CISUCManager {
 
     // region Utility Methods
     /**
-     * Function that gets the existent publications of a certain type.
+     * Function that gets the CISUC general information.
      *
-     * @param publicationType the publications type.
-     * @return the publications of the specified type.
+     * @return the general information.
      */
-    private ArrayList<Publication> getPublicationsByType(Collection<Publication> publications, PublicationType publicationType) {
-        ArrayList<Publication> publicationsByType = new ArrayList<>();
-
-        for (Publication publication : publications) {
-            if (publication.getPublicationType() == publicationType) {
-                publicationsByType.add(publication);
-            }
-        }
-        return publicationsByType;
+    private String getGeneralInfo() {
+        CISUCQueryService.Statistics statistics = queryService.getStatistics(LAST_YEARS);
+
+        return "\n---CISUC GENERAL INFORMATION---"
+                + "\nTOTAL NUMBER OF INVESTIGATORS: " + statistics.getInvestigatorCount()
+                + "\n---EFFECTIVE INVESTIGATORS: " + statistics.getEffectiveInvestigatorCount()
+                + "\n---STUDENT INVESTIGATORS: " + statistics.getStudentInvestigatorCount()
+                + "\nTOTAL NUMBER OF INVESTIGATION GROUPS: " + statistics.getInvestigationGroupCount()
+                + "\nTOTAL NUMBER OF PUBLICATIONS: " + statistics.getPublicationCount()
+                + "\n---PUBLICATIONS FROM THE LAST " + statistics.getLastYears() + " YEARS: " + statistics.getRecentPublicationCount()
+                + "\n---CONFERENCE ARTICLE PUBLICATIONS: " + statistics.getPublicationCount(PublicationType.CONFERENCE_ARTICLE)
+                + "\n---MAGAZINE ARTICLE PUBLICATIONS: " + statistics.getPublicationCount(PublicationType.MAGAZINE_ARTICLE)
+                + "\n---BOOK PUBLICATIONS: " + statistics.getPublicationCount(PublicationType.BOOK);
     }
 
     /**
-     * Function that filters, from a collection of publications, another list of
-     * the publications from the last <lastYears> years.
+     * Function that finds an investigator by its id or, if it isn't a number,
+     * by its name, ignoring case and accents. If there isn't exactly one
+     * investigator with that name, the error message is displayed, along with
+     * the investigators with the most similar names.
      *
-     * @param publications the target collection of publications.
-     * @param lastYears the number of years to go back to retrieve publications.
-     * @return the list of the publications from the last <lastYears> years.
-     */
-    private ArrayList<Publication> getPublicationFromLastYears(Collection<Publication> publications, int lastYears) {
-        ArrayList<Publication> publicationsFromLastYears = new ArrayList<>();
-        for (Publication publication : publications) {
-            if (CURRENT_YEAR - publication.getPublicationYear() <= lastYears) {
-                publicationsFromLastYears.add(publication);
+     * @param idOrName the investigator id or name.
+     * @return the investigator or null if it wasn't found.
+     */
+    private Investigator findInvestigator(String idOrName) {
+        try {
+            int investigatorId = Integer.parseInt(idOrName.trim());
+
+            Investigator investigator = queryService.getInvestigator(investigatorId);
+
+            if (investigator == null) {
+                println("ERROR: INVESTIGATOR NAMED " + investigatorId + " DOESN'T EXIST!");
+            }
+            return investigator;
+        } catch (NumberFormatException ex) {
+            List<CISUCNameIndex.Match<Investigator>> matches = queryService.findInvestigators(idOrName, NAME_MATCHES);
+
+            if (isSingleExactMatch(matches)) {
+                return matches.get(0).getValue();
+            }
+            println("ERROR: INVESTIGATOR NAMED " + idOrName + " DOESN'T EXIST!");
+            if (!matches.isEmpty()) {
+                println("DID YOU MEAN:");
+                for (CISUCNameIndex.Match<Investigator> match : matches) {
+                    println("    " + match.getValue().getInvestigatorId() + " - " + match.getValue().getName());
+                }
             }
+            return null;
         }
-        return publicationsFromLastYears;
     }
 
     /**
-     * Function that gets the existent investigators of a certain type.
+     * Function that finds an investigation group by its name or, if there is
+     * no investigation group with that exact name, by its name or acronym,
+     * ignoring case and accents. If there isn't exactly one such investigation
+     * group, the error message is displayed, along with the investigation
+     * groups with the most similar names.
      *
-     * @param investigatorType the type of the investigators.
-     * @return the investigators of the specified type.
+     * @param nameOrAcronym the investigation group name or acronym.
+     * @param errorMessage the message to be displayed if it isn't found.
+     * @return the investigation group or null if it wasn't found.
      */
-    private ArrayList<Investigator> getInvestigatorsByType(Collection<Investigator> investigators, InvestigatorType investigatorType) {
-        ArrayList<Investigator> investigatorsByType = new ArrayList<>();
+    private InvestigationGroup findInvestigationGroup(String nameOrAcronym, String errorMessage) {
+        InvestigationGroup group = queryService.getInvestigationGroup(nameOrAcronym);
+
+        if (group != null) {
+            return group;
+        }
 
-        for (Investigator investigator : investigators) {
-            if (investigator.getInvestigatorType() == investigatorType) {
-                investigatorsByType.add(investigator);
+        List<CISUCNameIndex.Match<InvestigationGroup>> matches = queryService.findInvestigationGroups(nameOrAcronym, NAME_MATCHES);
+
+        if (isSingleExactMatch(matches)) {
+            return matches.get(0).getValue();
+        }
+        println(errorMessage);
+        if (!matches.isEmpty()) {
+            println("DID YOU MEAN:");
+            for (CISUCNameIndex.Match<InvestigationGroup> match : matches) {
+                println("    " + match.getValue().getName() + " (" + match.getValue().getAcronym() + ")");
             }
         }
-        return investigatorsByType;
+        return null;
     }
 
     /**
-     * Function that retrieves all the publications in the last <lastYears>
-     * years which have, at least, one member investigator of a given
-     * investigation group.
+     * Function that checks if only one of the matches of a name index lookup
+     * is exact.
      *
-     * @param investigationGroupName the name of the investigation group.
-     * publications of the research group in question.
-     * @return the investigation group publications.
+     * @param matches the matches.
+     * @return true if the first match is the only exact one. False otherwise.
      */
-    private ArrayList<Publication> getInvestigationGroupPublications(String investigationGroupName) {
-        if (!investigationGroups.containsKey(investigationGroupName)) {
-            return null;
+    private boolean isSingleExactMatch(List<? extends CISUCNameIndex.Match<?>> matches) {
+        return !matches.isEmpty() && matches.get(0).isExact() && (matches.size() == 1 || !matches.get(1).isExact());
+    }
+
+    /**
+     * Function that formats the number of publications, in the last
+     * <lastYears> years, of each year, publication type and impact factor into
+     * a string, straight from the publication counters.
+     *
+     * @param cube the publication counters.
+     * @param lastYears the number of years to go back.
+     * @return the formatted publication counts string.
+     */
+    private String getPublicationCountsAsString(CISUCPublicationCube cube, int lastYears) {
+        int firstYear = Math.max(queryService.getFirstYear(lastYears), cube.getFirstYear()),
+                totalCounter = cube.getCount(firstYear, cube.getLastYear());
+
+        if (totalCounter == 0) {
+            return EMPTY_LIST_STRING;
         }
-        HashSet<Investigator> groupMembers = new HashSet(investigationGroups.get(investigationGroupName).getMemberList());
-        HashSet<Publication> investigationGroupPublications = new HashSet<>();
+        StringBuilder output = new StringBuilder("TOTAL NUMBER OF PUBLICATIONS, FROM LAST " + LAST_YEARS + " YEARS: " + totalCounter + " PUBLICATION(S)\n"
+                + "NUMBER OF PUBLICATIONS, FROM LAST " + LAST_YEARS + " YEARS, GROUPED BY YEAR, TYPE AND IMPACT FACTOR: \n\n");
+
+        for (int year = firstYear; year <= cube.getLastYear(); year++) {
+            int yearCounter = cube.getCount(year);
+
+            if (yearCounter == 0) {
+                continue;
+            }
+            output.append("YEAR: ").append(year).append(" - ").append(yearCounter).append(" PUBLICATION(S)\n");
+
+            for (PublicationType pubType : PublicationType.values()) {
+                int typeCounter = cube.getCount(year, pubType);
+
+                if (typeCounter == 0) {
+                    continue;
+                }
+                output.append("   TYPE: ").append(pubType.getValue()).append(" - ").append(typeCounter).append(" PUBLICATION(S)\n");
+
+                for (ImpactFactor impactFactor : ImpactFactor.values()) {
+                    int impFctCounter = cube.getCount(year, pubType, impactFactor);
 
-        for (String publicationTitle : publications.keySet()) {
-            Publication current = publications.get(publicationTitle);
-            for (Investigator author : current.getAuthors()) {
-                if (groupMembers.contains(author)) {
-                    investigationGroupPublications.add(current);
+                    if (impFctCounter != 0) {
+                        output.append("      IMPACT FACTOR: ").append(impactFactor.getValue()).append(" - ").append(impFctCounter).append(" PUBLICATION(S)\n");
+                    }
                 }
             }
         }
-        return new ArrayList<>(investigationGroupPublications);
+        return output.toString();
     }
 
     /**
-     * Function that retrieves all the publications in the last <lastYears>
-     * years authored by a certain investigator.
+     * Function that writes the publications matching a query, grouped by the
+     * fields of the query, in increasing order of their values, and either
+     * counted or listed.
      *
-     * @param investigatorId the author's id. publications of the research group
-     * in question.
-     * @return the investigator's publications.
+     * @param query the query.
+     * @param publications the matching publications, sorted by year.
+     * @param out where the query result is written to.
+     * @throws IOException if something went wrong whilst writing the query
+     * result.
      */
-    private ArrayList<Publication> getInvestigatorPublications(int investigatorId) {
-        if (!investigators.containsKey(investigatorId)) {
-            return null;
+    private void writeQueryResult(CISUCQuery query, List<Publication> publications, Appendable out) throws IOException {
+        if (publications.isEmpty()) {
+            out.append(EMPTY_LIST_STRING);
+            return;
         }
-        ArrayList<Publication> investigatorPublications = new ArrayList<>();
-        for (String publicationTitle : publications.keySet()) {
-            Publication current = publications.get(publicationTitle);
-            for (Investigator author : current.getAuthors()) {
-                if (author.getInvestigatorId() == investigatorId) {
-                    investigatorPublications.add(current);
-                    break;
+        out.append(query.isCount() ? "NUMBER OF " : "").append("PUBLICATIONS: ").append(String.valueOf(publications.size())).append(" PUBLICATION(S)\n");
+
+        if (query.getGroupBy().isEmpty()) {
+            if (!query.isCount()) {
+                for (Publication publication : publications) {
+                    CISUCPublicationReport.writeIndented(publication.toString(), "\t", out);
+                    out.append("\n");
                 }
             }
+            return;
+        }
+        if (query.isCount()) {
+            writeGroupCounts(query.getGroupBy(), CISUCPublicationCube.count(publications), out);
+            return;
         }
-        return investigatorPublications;
-    }
 
-    /**
-     * Function that groups a given ArrayList of publications according to their
-     * publication year, publication type and impact factor.
-     *
-     * @param publications the publications list to be grouped.
-     * @param lastYears the number of years to go back to retrieve the
-     * publications.
-     * @return the grouped publications.
-     */
-    private Map<Integer, Map<PublicationType, Map<ImpactFactor, List<Publication>>>> groupPublications(Collection<Publication> publications, int lastYears) {
-        return publications
-                .stream()
-                .filter(p -> CURRENT_YEAR - p.getPublicationYear() <= lastYears)
-                .collect(Collectors.groupingBy(Publication::getPublicationYear,
-                                Collectors.groupingBy(Publication::getPublicationType,
-                                        Collectors.groupingBy(Publication::getImpactFactor))));
+        Comparator<Publication> byGroup = null;
+        for (CISUCQuery.Field field : query.getGroupBy()) {
+            Comparator<Publication> byField = Comparator.comparingInt(publication -> getGroupValue(publication, field));
+            byGroup = byGroup == null ? byField : byGroup.thenComparing(byField);
+        }
+        ArrayList<Publication> sorted = new ArrayList<>(publications);
+        sorted.sort(byGroup);
+
+        for (int begin = 0, end; begin < sorted.size(); begin = end) {
+            ArrayList<String> labels = new ArrayList<>();
+
+            end = begin + 1;
+            while (end < sorted.size() && byGroup.compare(sorted.get(begin), sorted.get(end)) == 0) {
+                end++;
+            }
+            for (CISUCQuery.Field field : query.getGroupBy()) {
+                Publication first = sorted.get(begin);
+                labels.add(field.getLabel() + ": " + (field == CISUCQuery.Field.YEAR ? String.valueOf(first.getPublicationYear())
+                        : field == CISUCQuery.Field.TYPE ? first.getPublicationType().getValue() : first.getImpactFactor().getValue()));
+            }
+            out.append(String.join(", ", labels)).append(" - ").append(String.valueOf(end - begin)).append(" PUBLICATION(S)\n");
+
+            for (Publication publication : sorted.subList(begin, end)) {
+                out.append("\t");
+                CISUCPublicationReport.writeIndented(publication.toString(), "\t", out);
+                out.append("\n");
+            }
+        }
     }
 
     /**
-     * Function that formats the publication grouping previously mentioned into
-     * a string.
+     * Function that writes the number of publications of each group of a
+     * query, in the same format and order as writeQueryResult, out of the
+     * cube of the query result, so that the publications don't need to be
+     * sorted.
      *
-     * @param grouped the grouped publications.
-     * @param count flag that toggles the display of publication counters
-     * instead of a list.
-     * @return the formatted publication grouping string.
+     * @param groupBy the fields the publications are grouped by.
+     * @param cube the cube of the query result.
+     * @param out where the number of publications of each non-empty group is
+     * written to.
+     * @throws IOException if something went wrong whilst writing the numbers
+     * of publications.
      */
-    private String getGroupedPublicationsAsString(Map<Integer, Map<PublicationType, Map<ImpactFactor, List<Publication>>>> grouped, boolean count) {
-        int totalCounter = 0;
-        String outputString = "";
-        for (Integer year : grouped.keySet()) {
-
-            String yearStr = "";
-            int yearCounter = 0;
-
-            for (PublicationType pubType : grouped.get(year).keySet()) {
-
-                String typeStr = "";
-                int typeCounter = 0;
-
-                for (ImpactFactor impactFactor : grouped.get(year).get(pubType).keySet()) {
+    private void writeGroupCounts(List<CISUCQuery.Field> groupBy, CISUCPublicationCube cube, Appendable out) throws IOException {
+        PublicationType[] pubTypes = PublicationType.values();
+        ImpactFactor[] impactFactors = ImpactFactor.values();
+        // the value of each grouped field, years counted from the first one and the others by ordinal
+        int[] values = new int[groupBy.size()], sizes = new int[groupBy.size()];
+
+        for (int i = 0; i < sizes.length; i++) {
+            CISUCQuery.Field field = groupBy.get(i);
+            sizes[i] = field == CISUCQuery.Field.YEAR ? cube.getLastYear() - cube.getFirstYear() + 1
+                    : field == CISUCQuery.Field.TYPE ? pubTypes.length : impactFactors.length;
+        }
 
-                    String impFctStr = "";
-                    int impFctCounter = 0;
+        while (values[0] < sizes[0]) {
+            // a field that isn't grouped spans all its values
+            int fromYear = cube.getFirstYear(), toYear = cube.getLastYear(),
+                    fromType = 0, toType = pubTypes.length - 1, fromImpact = 0, toImpact = impactFactors.length - 1;
+            ArrayList<String> labels = new ArrayList<>();
+
+            for (int i = 0; i < values.length; i++) {
+                switch (groupBy.get(i)) {
+                    case YEAR:
+                        fromYear = toYear = cube.getFirstYear() + values[i];
+                        labels.add(groupBy.get(i).getLabel() + ": " + fromYear);
+                        break;
+                    case TYPE:
+                        fromType = toType = values[i];
+                        labels.add(groupBy.get(i).getLabel() + ": " + pubTypes[values[i]].getValue());
+                        break;
+                    default:
+                        fromImpact = toImpact = values[i];
+                        labels.add(groupBy.get(i).getLabel() + ": " + impactFactors[values[i]].getValue());
+                }
+            }
 
-                    for (Publication publication : grouped.get(year).get(pubType).get(impactFactor)) {
-                        impFctStr += publication.toString().replace("\n", "\n\t") + "\n";
-                        totalCounter++;
-                        impFctCounter++;
-                        typeCounter++;
-                        yearCounter++;
-                    }
-                    if (!count) {
-                        typeStr += "------IMPACT FACTOR: " + impactFactor.getValue() + "\n" + impFctStr;
-                    } else {
-                        typeStr += "      IMPACT FACTOR: " + impactFactor.getValue() + " - " + impFctCounter + " PUBLICATION(S)\n";
+            int counter = 0;
+            for (int year = fromYear; year <= toYear; year++) {
+                for (int type = fromType; type <= toType; type++) {
+                    for (int impact = fromImpact; impact <= toImpact; impact++) {
+                        counter += cube.getCount(year, pubTypes[type], impactFactors[impact]);
                     }
                 }
-                if (!count) {
-                    yearStr += "---TYPE: " + pubType.getValue() + "\n" + typeStr;
-                } else {
-                    yearStr += "   TYPE: " + pubType.getValue() + " - " + typeCounter + " PUBLICATION(S)\n" + typeStr;
-                }
             }
-            if (!count) {
-                outputString += "YEAR: " + year + "\n" + yearStr;
-            } else {
-                outputString += "YEAR: " + year + " - " + yearCounter + " PUBLICATION(S)\n" + yearStr;
+            if (counter != 0) {
+                out.append(String.join(", ", labels)).append(" - ").append(String.valueOf(counter)).append(" PUBLICATION(S)\n");
             }
-        }
 
-        if (outputString.length()
-                == 0) {
-            return EMPTY_LIST_STRING;
+            // next combination, the last field changing fastest
+            int i = values.length - 1;
+            while (++values[i] == sizes[i] && i > 0) {
+                values[i--] = 0;
+            }
         }
-        return "TOTAL NUMBER OF PUBLICATIONS, FROM LAST " + LAST_YEARS + " YEARS: " + totalCounter + " PUBLICATION(S)\n"
-                + (count ? "NUMBER OF " : "") + "PUBLICATIONS, FROM LAST " + LAST_YEARS + " YEARS, GROUPED BY YEAR, TYPE AND IMPACT FACTOR: \n\n" + outputString;
+    }
 
+    /**
+     * Function that gets the value of a groupable query field of a
+     * publication, as an integer ordered like the field values.
+     *
+     * @param publication the publication.
+     * @param field the field, which is the year, type or impact.
+     * @return the field value.
+     */
+    private int getGroupValue(Publication publication, CISUCQuery.Field field) {
+        switch (field) {
+            case YEAR:
+                return publication.getPublicationYear();
+            case TYPE:
+                return publication.getPublicationType().ordinal();
+            default:
+                return publication.getImpactFactor().ordinal();
+        }
     }
     // endregion Utility Methods
 
@@ -441,6 +729,15 @@ public class CISUCManager {
                 + "5 - LIST INVESTIGATION GROUPS\n"
                 + "6 - LIST PUBLICATIONS\n"
                 + "7 - EXIT\n"
+                + "8 - SEARCH PUBLICATIONS\n"
+                + "9 - FIND INVESTIGATORS AND INVESTIGATION GROUPS BY NAME\n"
+                + "10 - RUN QUERY\n"
+                + "11 - LIST TOP RANKINGS\n"
+                + "12 - DISPLAY COLLABORATION DISTANCE BETWEEN INVESTIGATORS\n"
+                + "13 - LIST COLLABORATION COMPONENTS\n"
+                + "14 - LIST MOST CENTRAL INVESTIGATORS\n"
+                + "15 - DISPLAY ADVISOR AND STUDENTS PUBLICATIONS\n"
+                + "16 - BROWSE PUBLICATIONS, INVESTIGATORS OR INVESTIGATION GROUPS IN PAGES\n"
                 + "INSERT THE ID OF THE WISHED OPERATION: ");
     }
 
@@ -456,21 +753,21 @@ public class CISUCManager {
         String groupName;
 
         println("\n-------INVESTIGATION GROUP MEMBERS-------");
-        println("INVESTIGATION GROUP NAME: ");
+        println("INVESTIGATION GROUP NAME OR ACRONYM: ");
 
         groupName = consoleReader.readLine();
 
-        if (!investigationGroups.containsKey(groupName)) {
-            println("ERROR: INVESTIGATION NAMED " + groupName + " DOESN'T EXIST!");
+        InvestigationGroup group = findInvestigationGroup(groupName, "ERROR: INVESTIGATION NAMED " + groupName + " DOESN'T EXIST!");
+
+        if (group == null) {
             return;
         }
-
-        ArrayList<Investigator> members = investigationGroups.get(groupName).getMemberList();
+        groupName = group.getName();
 
         println("\n----" + groupName + " INVESTIGATION GROUP MEMBERS----\n"
                 + "---EFFECTIVE INVESTIGATORS---");
 
-        ArrayList<Investigator> investigatorsByType = getInvestigatorsByType(members, InvestigatorType.EFFECTIVE);
+        List<Investigator> investigatorsByType = queryService.getInvestigationGroupMembers(groupName, InvestigatorType.EFFECTIVE);
 
         if (investigatorsByType.isEmpty()) {
             println(EMPTY_LIST_STRING);
@@ -482,7 +779,7 @@ public class CISUCManager {
 
         println("---STUDENT INVESTIGATORS---");
 
-        investigatorsByType = getInvestigatorsByType(members, InvestigatorType.STUDENT);
+        investigatorsByType = queryService.getInvestigationGroupMembers(groupName, InvestigatorType.STUDENT);
 
         if (investigatorsByType.isEmpty()) {
             println(EMPTY_LIST_STRING);
@@ -506,21 +803,24 @@ public class CISUCManager {
 
         println("-------INVESTIGATION GROUP PUBLICATIONS-------\n"
                 + "(GROUPED BY YEAR, TYPE AND IMPACT FACTOR)\n"
-                + "INVESTIGATION GROUP NAME: ");
+                + "INVESTIGATION GROUP NAME OR ACRONYM: ");
 
         groupName = consoleReader.readLine();
 
-        if (!investigationGroups.containsKey(groupName)) {
-            println("ERROR: INVESTIGATION GROUP NAMED " + groupName + " DOESN'T EXIST!");
+        InvestigationGroup group = findInvestigationGroup(groupName, "ERROR: INVESTIGATION GROUP NAMED " + groupName + " DOESN'T EXIST!");
+
+        if (group == null) {
             return;
         }
+        groupName = group.getName();
 
         println("LAST YEARS: ");
 
         lastYears = Integer.parseInt(consoleReader.readLine());
 
         println("\n----" + groupName + " INVESTIGATION GROUP PUBLICATIONS FROM " + lastYears + " LAST YEARS----\n");
-        println(getGroupedPublicationsAsString(groupPublications(getInvestigationGroupPublications(groupName), lastYears), false));
+        printGroupedPublications(new CISUCResultCache.Key("INVESTIGATION GROUP PUBLICATIONS", group.getName(), lastYears, false),
+                () -> queryService.getInvestigationGroupPublications(group.getName(), lastYears));
     }
 
     /**
@@ -535,28 +835,23 @@ public class CISUCManager {
 
         println("-------INVESTIGATOR PUBLICATIONS-------\n"
                 + "(GROUPED BY YEAR, TYPE AND IMPACT FACTOR)\n"
-                + "INVESTIGATOR ID: ");
+                + "INVESTIGATOR ID OR NAME: ");
 
-        try {
-            investigatorId = Integer.parseInt(consoleReader.readLine());
-        } catch (NumberFormatException ex) {
-            println("ERROR: INVESTIGATOR ID MUST BE AN INTEGER!");
-            return;
-        }
+        Investigator investigator = findInvestigator(consoleReader.readLine());
 
-        if (!investigators.containsKey(investigatorId)) {
-            println("ERROR: INVESTIGATOR NAMED " + investigatorId + " DOESN'T EXIST!");
+        if (investigator == null) {
             return;
         }
+        investigatorId = investigator.getInvestigatorId();
 
         println("LAST YEARS: ");
 
         lastYears = Integer.parseInt(consoleReader.readLine());
-        Investigator investigator = investigators.get(investigatorId);
 
         println("INVESTIGATOR: " + investigator + "\n"
-                + "\n----INVESTIGATOR" + investigator.getName() + " PUBLICATIONS FROM " + lastYears + " LAST YEARS----\n"
-                + getGroupedPublicationsAsString(groupPublications(getInvestigatorPublications(investigatorId), lastYears), false));
+                + "\n----INVESTIGATOR" + investigator.getName() + " PUBLICATIONS FROM " + lastYears + " LAST YEARS----");
+        printGroupedPublications(new CISUCResultCache.Key("INVESTIGATOR PUBLICATIONS", String.valueOf(investigatorId), lastYears, false),
+                () -> queryService.getInvestigatorPublications(investigatorId, lastYears));
     }
 
     /**
@@ -564,19 +859,17 @@ public class CISUCManager {
      */
     private void displayInvestigationGroupList() {
         println("-------INVESTIGATION GROUP LIST-------\n");
-        if (investigationGroups.isEmpty()) {
+        if (queryService.getInvestigationGroups().isEmpty()) {
             println(EMPTY_LIST_STRING);
         } else {
-            for (String investigationGroupName : investigationGroups.keySet()) {
-                InvestigationGroup current = investigationGroups.get(investigationGroupName);
-                ArrayList<Publication> groupPublications = getInvestigationGroupPublications(investigationGroupName);
-                ArrayList<Investigator> members = current.getMemberList();
+            for (InvestigationGroup current : queryService.getListingIndexes().getInvestigationGroupsByName().getAll()) {
+                String investigationGroupName = current.getName();
                 println("INVESTIGATION GROUP: " + investigationGroupName + "\n\n"
                         + current + "-----------------------------\n"
                         + "NUMBER OF MEMBERS: " + current.getMemberList().size() + "\n"
-                        + "NUMBER OF EFFECTIVE MEMBERS: " + getInvestigatorsByType(members, InvestigatorType.EFFECTIVE).size() + "\n"
-                        + "NUMBER OF STUDENT MEMBERS: " + getInvestigatorsByType(members, InvestigatorType.STUDENT).size() + "\n"
-                        + getGroupedPublicationsAsString(groupPublications(groupPublications, LAST_YEARS), true));
+                        + "NUMBER OF EFFECTIVE MEMBERS: " + queryService.getInvestigationGroupMembers(investigationGroupName, InvestigatorType.EFFECTIVE).size() + "\n"
+                        + "NUMBER OF STUDENT MEMBERS: " + queryService.getInvestigationGroupMembers(investigationGroupName, InvestigatorType.STUDENT).size() + "\n"
+                        + getPublicationCountsAsString(queryService.getInvestigationGroupPublicationCounts(investigationGroupName), LAST_YEARS));
             }
         }
     }
@@ -586,11 +879,11 @@ public class CISUCManager {
      */
     private void displayInvestigatorList() {
         println("-------INVESTIGATOR LIST-------\n");
-        if (investigators.isEmpty()) {
+        if (queryService.getInvestigators().isEmpty()) {
             println(EMPTY_LIST_STRING);
         } else {
-            ArrayList<Investigator> effectives = getInvestigatorsByType(investigators.values(), InvestigatorType.EFFECTIVE),
-                    students = getInvestigatorsByType(investigators.values(), InvestigatorType.STUDENT);
+            List<Investigator> effectives = queryService.getInvestigators(InvestigatorType.EFFECTIVE),
+                    students = queryService.getInvestigators(InvestigatorType.STUDENT);
             println("---EFFECTIVE INVESTIGATORS");
             if (effectives.isEmpty()) {
                 println(EMPTY_LIST_STRING);
@@ -618,22 +911,410 @@ public class CISUCManager {
     private void displayPublicationList() throws IOException {
         println("-------PUBLICATION LIST-------\n"
                 + "COUNT? (Y/N)");
-        String answer, str;
-
-        answer = consoleReader.readLine();
+        String answer = consoleReader.readLine();
 
         if (answer.equalsIgnoreCase("Y")) {
-            str = getGroupedPublicationsAsString(groupPublications(publications.values(), Integer.MAX_VALUE), true);
+            println(getPublicationCountsAsString(queryService.getPublicationCounts(), Integer.MAX_VALUE));
         } else if (answer.equalsIgnoreCase("N")) {
-            str = getGroupedPublicationsAsString(groupPublications(publications.values(), Integer.MAX_VALUE), false);
+            printGroupedPublications(queryService.getPublications(Integer.MAX_VALUE));
         } else {
             println("ERROR: INVALID ANSWER!");
-            return;
         }
-        if ("".equals(str)) {
+    }
+
+    /**
+     * Function that displays the investigators and investigation groups whose
+     * names (or acronyms) best match a given text, ignoring case, accents and
+     * typos.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayNameMatches() throws IOException {
+        println("-------FIND INVESTIGATORS AND INVESTIGATION GROUPS-------\n"
+                + "NAME: ");
+
+        String name = consoleReader.readLine();
+        long start = System.nanoTime();
+        List<CISUCNameIndex.Match<Investigator>> investigatorMatches = queryService.findInvestigators(name, NAME_MATCHES);
+        List<CISUCNameIndex.Match<InvestigationGroup>> groupMatches = queryService.findInvestigationGroups(name, NAME_MATCHES);
+
+        log("NAME LOOKUP ANSWERED IN " + (System.nanoTime() - start) / 1000 + " MICROSECONDS.");
+
+        println("\n---INVESTIGATORS---");
+        if (investigatorMatches.isEmpty()) {
+            println(EMPTY_LIST_STRING);
+        }
+        for (CISUCNameIndex.Match<Investigator> match : investigatorMatches) {
+            println(match.getValue().getInvestigatorId() + " - " + match.getValue().getName());
+        }
+
+        println("---INVESTIGATION GROUPS---");
+        if (groupMatches.isEmpty()) {
             println(EMPTY_LIST_STRING);
+        }
+        for (CISUCNameIndex.Match<InvestigationGroup> match : groupMatches) {
+            println(match.getValue().getName() + " (" + match.getValue().getAcronym() + ")");
+        }
+    }
+
+    /**
+     * Function that displays the publications that best match a query on
+     * their titles, summaries and keywords.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displaySearchResults() throws IOException {
+        println("-------SEARCH PUBLICATIONS-------\n"
+                + "(BY TITLE, SUMMARY AND KEYWORDS)\n"
+                + "QUERY: ");
+
+        String query = consoleReader.readLine();
+        long start = System.nanoTime();
+        List<CISUCSearchIndex.Result> results = queryService.search(query, SEARCH_RESULTS);
+
+        log("QUERY ANSWERED IN " + (System.nanoTime() - start) / 1000 + " MICROSECONDS.");
+
+        println("\n----BEST " + SEARCH_RESULTS + " PUBLICATIONS MATCHING " + query + "----\n");
+        if (results.isEmpty()) {
+            println(EMPTY_LIST_STRING);
+            return;
+        }
+        for (CISUCSearchIndex.Result result : results) {
+            consoleWriter.write("TITLE: " + result.getPublication().getTitle() + "\n"
+                    + String.format("SCORE: %.3f", result.getScore()));
+            CISUCPublicationReport.writeIndented(result.getPublication().toString(), "\t", consoleWriter);
+            consoleWriter.write(System.lineSeparator());
+        }
+        consoleWriter.flush();
+    }
+
+    /**
+     * Function that runs a query over the publications (see CISUCQuery) and
+     * displays its result or, for explain queries, how it was run.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayQueryResult() throws IOException {
+        println("-------RUN QUERY-------\n"
+                + "(E.G. type=BOOK and year>=2018 and group=\"Software and Systems Engineering\" group by year,impact count)\n"
+                + "QUERY: ");
+
+        String text = consoleReader.readLine();
+        CISUCQueryPlanner.Result result;
+
+        try {
+            result = queryService.runQuery(text);
+        } catch (CISUCQueryException ex) {
+            println(ex.getMessage());
+            return;
+        }
+        log("QUERY ANSWERED IN " + result.getNanos() / 1000 + " MICROSECONDS THROUGH THE " + result.getPlan().getAccessPath().getValue() + ".");
+
+        if (result.getQuery().isExplain()) {
+            println("\n----EXPLAIN " + text.trim().substring("explain".length()).trim() + "----\n" + result.getExplanation());
         } else {
-            println(str);
+            println("\n----PUBLICATIONS MATCHING " + text + "----");
+            writeQueryResult(result.getQuery(), result.getPublications(), consoleWriter);
+            consoleWriter.write(System.lineSeparator());
+            consoleWriter.flush();
+        }
+    }
+
+    /**
+     * Function that displays the best investigators, investigation groups,
+     * venues or advisors (by the publications of their students) of the last
+     * years, ranked by a metric chosen by the user (see CISUCRanking).
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayRanking() throws IOException {
+        println("-------TOP RANKINGS-------\n"
+                + "RANK (1 - INVESTIGATORS, 2 - INVESTIGATION GROUPS, 3 - VENUES, 4 - ADVISORS BY STUDENT OUTPUT): ");
+
+        String subjects = consoleReader.readLine();
+
+        if (!subjects.matches("[1234]")) {
+            println("ERROR: INVALID ANSWER!");
+            return;
+        }
+
+        println("BY (1 - NUMBER OF PUBLICATIONS, 2 - TOTAL AUDIENCE, 3 - IMPACT-WEIGHTED SCORE): ");
+
+        String metricId = consoleReader.readLine();
+
+        if (!metricId.matches("[123]")) {
+            println("ERROR: INVALID ANSWER!");
+            return;
+        }
+        CISUCRanking.Metric metric = CISUCRanking.Metric.values()[Integer.parseInt(metricId) - 1];
+
+        println("LAST YEARS: ");
+
+        int lastYears = Integer.parseInt(consoleReader.readLine());
+
+        println("TOP: ");
+
+        int maxResults = Integer.parseInt(consoleReader.readLine());
+        long start = System.nanoTime();
+        List<? extends CISUCRanking.Entry<?>> entries;
+
+        switch (subjects) {
+            case "1":
+                entries = queryService.getTopInvestigators(metric, lastYears, maxResults);
+                break;
+            case "2":
+                entries = queryService.getTopInvestigationGroups(metric, lastYears, maxResults);
+                break;
+            case "4":
+                entries = queryService.getTopAdvisors(metric, lastYears, maxResults);
+                break;
+            default:
+                entries = queryService.getTopVenues(metric, lastYears, maxResults);
+        }
+        log("RANKING COMPUTED IN " + (System.nanoTime() - start) / 1000 + " MICROSECONDS.");
+
+        println("\n----TOP " + maxResults + " BY " + metric.getValue() + " FROM " + lastYears + " LAST YEARS----\n");
+        if (entries.isEmpty()) {
+            println(EMPTY_LIST_STRING);
+            return;
+        }
+        for (int i = 0; i < entries.size(); i++) {
+            println((i + 1) + ". " + entries.get(i).getName() + " - " + entries.get(i).getScore() + " " + metric.getUnit());
+        }
+    }
+
+    /**
+     * Function that displays the shortest chain of co-authorships between two
+     * investigators.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayCollaborationDistance() throws IOException {
+        println("-------COLLABORATION DISTANCE-------\n"
+                + "FIRST INVESTIGATOR ID OR NAME: ");
+
+        Investigator first = findInvestigator(consoleReader.readLine());
+
+        if (first == null) {
+            return;
+        }
+
+        println("SECOND INVESTIGATOR ID OR NAME: ");
+
+        Investigator second = findInvestigator(consoleReader.readLine());
+
+        if (second == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        List<Investigator> path = queryService.getCollaborationPath(first, second);
+
+        log("COLLABORATION DISTANCE FOUND IN " + (System.nanoTime() - start) / 1000 + " MICROSECONDS.");
+
+        if (path == null) {
+            println("INVESTIGATORS " + first.getName() + " AND " + second.getName() + " AREN'T CONNECTED BY CO-AUTHORSHIPS!");
+            return;
+        }
+        StringBuilder chain = new StringBuilder(path.get(0).getName());
+        for (int i = 1; i < path.size(); i++) {
+            chain.append(" -(").append(queryService.getSharedPublicationCount(path.get(i - 1), path.get(i))).append(" PUBLICATION(S))-> ").append(path.get(i).getName());
+        }
+        println("COLLABORATION DISTANCE: " + (path.size() - 1) + "\n"
+                + "CHAIN: " + chain);
+    }
+
+    /**
+     * Function that displays the groups of investigators connected by chains
+     * of co-authorships, from the largest to the smallest.
+     */
+    private void displayCollaborationComponents() {
+        List<List<Investigator>> components = queryService.getCollaborationComponents();
+
+        println("-------COLLABORATION COMPONENTS-------\n"
+                + "NUMBER OF COMPONENTS: " + components.size() + "\n");
+        if (components.isEmpty()) {
+            println(EMPTY_LIST_STRING);
+            return;
+        }
+        for (int i = 0; i < components.size(); i++) {
+            ArrayList<String> names = new ArrayList<>();
+
+            for (Investigator investigator : components.get(i)) {
+                names.add(investigator.getName());
+            }
+            println("COMPONENT " + (i + 1) + " - " + names.size() + " INVESTIGATOR(S): " + String.join(", ", names));
+        }
+    }
+
+    /**
+     * Function that displays the investigators with the highest harmonic
+     * centrality in the co-authorship graph.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayMostCentralInvestigators() throws IOException {
+        println("-------MOST CENTRAL INVESTIGATORS-------\n"
+                + "TOP: ");
+
+        int maxResults = Integer.parseInt(consoleReader.readLine());
+        long start = System.nanoTime();
+        List<CISUCCoauthorshipGraph.Centrality> centralities = queryService.getMostCentralInvestigators(maxResults);
+
+        log("CENTRALITIES COMPUTED IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+
+        println("\n----TOP " + maxResults + " BY HARMONIC CENTRALITY----\n");
+        if (centralities.isEmpty()) {
+            println(EMPTY_LIST_STRING);
+            return;
+        }
+        for (int i = 0; i < centralities.size(); i++) {
+            CISUCCoauthorshipGraph.Centrality centrality = centralities.get(i);
+
+            println(String.format("%d. %s - %.4f (%d COLLABORATOR(S))", i + 1, centrality.getInvestigator().getName(),
+                    centrality.getValue(), centrality.getCollaboratorCount()));
+        }
+    }
+
+    /**
+     * Function that displays the students an investigator advises, directly
+     * or through his own students, and the grouping of all their
+     * publications, along with the advisor's, according to their year, type
+     * and impact factor.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void displayAdvisorHierarchyPublications() throws IOException {
+        println("-------ADVISOR AND STUDENTS PUBLICATIONS-------\n"
+                + "(GROUPED BY YEAR, TYPE AND IMPACT FACTOR)\n"
+                + "ADVISOR ID OR NAME: ");
+
+        Investigator advisor = findInvestigator(consoleReader.readLine());
+
+        if (advisor == null) {
+            return;
+        }
+
+        println("LAST YEARS: ");
+
+        int lastYears = Integer.parseInt(consoleReader.readLine());
+        CISUCAdvisorHierarchy hierarchy = queryService.getAdvisorHierarchy();
+        StringBuilder students = new StringBuilder();
+
+        for (Investigator student : hierarchy.getAllStudents(advisor)) {
+            students.append("\n").append(String.join("", Collections.nCopies(hierarchy.getDepth(student) - hierarchy.getDepth(advisor), "--"))).append(" ").append(student.getName());
+        }
+
+        println("ADVISOR: " + advisor.getName() + "\n"
+                + "STUDENTS:" + (students.length() == 0 ? " " + EMPTY_LIST_STRING : students) + "\n"
+                + "\n----" + advisor.getName() + " AND STUDENTS PUBLICATIONS FROM " + lastYears + " LAST YEARS----");
+        printGroupedPublications(new CISUCResultCache.Key("ADVISOR AND STUDENTS PUBLICATIONS", String.valueOf(advisor.getInvestigatorId()), lastYears, false),
+                () -> queryService.getAdvisorAndStudentsPublications(advisor, lastYears));
+    }
+
+    /**
+     * Function that lets the user browse the publications, investigators or
+     * investigation groups a page at a time, in the order of one of the
+     * listing indexes, going to the next page or jumping to a key.
+     *
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private void browsePages() throws IOException {
+        println("-------BROWSE IN PAGES-------\n"
+                + "BROWSE (1 - PUBLICATIONS BY YEAR, 2 - PUBLICATIONS BY TITLE, 3 - INVESTIGATORS BY ID, 4 - INVESTIGATORS BY NAME, 5 - INVESTIGATION GROUPS BY NAME): ");
+
+        String order = consoleReader.readLine();
+
+        if (!order.matches("[1-5]")) {
+            println("ERROR: INVALID ANSWER!");
+            return;
+        }
+
+        println("PAGE SIZE: ");
+
+        int pageSize = Integer.parseInt(consoleReader.readLine());
+
+        if (pageSize <= 0) {
+            println("ERROR: THE PAGE SIZE MUST BE POSITIVE!");
+            return;
+        }
+
+        CISUCListingIndexes indexes = queryService.getListingIndexes();
+        switch (order) {
+            case "1":
+                displayPages(indexes.getPublicationsByYear(), pageSize, "YEAR", key -> {
+                    int year = Integer.parseInt(key.trim());
+                    return publication -> Integer.compare(publication.getPublicationYear(), year);
+                });
+                break;
+            case "2":
+                displayPages(indexes.getPublicationsByTitle(), pageSize, "TITLE", key -> publication -> publication.getTitle().compareToIgnoreCase(key));
+                break;
+            case "3":
+                displayPages(indexes.getInvestigatorsById(), pageSize, "ID", key -> {
+                    int investigatorId = Integer.parseInt(key.trim());
+                    return investigator -> Integer.compare(investigator.getInvestigatorId(), investigatorId);
+                });
+                break;
+            case "4":
+                displayPages(indexes.getInvestigatorsByName(), pageSize, "NAME", key -> investigator -> investigator.getName().compareToIgnoreCase(key));
+                break;
+            default:
+                displayPages(indexes.getInvestigationGroupsByName(), pageSize, "NAME", key -> group -> group.getName().compareToIgnoreCase(key));
+        }
+    }
+
+    /**
+     * Function that displays the pages of a listing index until the user
+     * quits. Only the items of the displayed page are fetched.
+     *
+     * @param <T> the type of the items.
+     * @param index the listing index.
+     * @param pageSize the maximum number of items per page.
+     * @param keyName the name of the key the user jumps to.
+     * @param parseKey the function that turns the key typed by the user into
+     * a comparison with the items (see CISUCSortedIndex.getPageFrom).
+     * @throws IOException if something went wrong whilst reading the console
+     * input.
+     */
+    private <T> void displayPages(CISUCSortedIndex<T> index, int pageSize, String keyName, Function<String, ToIntFunction<T>> parseKey) throws IOException {
+        CISUCSortedIndex.Page<T> page = index.getFirstPage(pageSize);
+
+        while (true) {
+            if (page.isEmpty()) {
+                println("\n----NO MORE ITEMS (" + page.getTotal() + " IN TOTAL)----\n");
+            } else {
+                println("\n----ITEMS " + (page.getPosition() + 1) + " TO " + (page.getPosition() + page.getItems().size()) + " OF " + page.getTotal() + "----");
+                for (T item : page.getItems()) {
+                    println(item);
+                }
+            }
+
+            println((page.hasNext() ? "N - NEXT PAGE, " : "") + "J - JUMP TO " + keyName + ", Q - QUIT: ");
+
+            String command = consoleReader.readLine();
+
+            if (command == null || command.equalsIgnoreCase("Q")) {
+                return;
+            } else if (command.equalsIgnoreCase("N") && page.hasNext()) {
+                page = index.getPageAfter(page.getCursor(), pageSize);
+            } else if (command.equalsIgnoreCase("J")) {
+                println(keyName + ": ");
+                try {
+                    page = index.getPageFrom(parseKey.apply(consoleReader.readLine()), pageSize);
+                } catch (NumberFormatException ex) {
+                    println("ERROR: INVALID " + keyName + "!");
+                }
+            } else {
+                println("ERROR: INVALID ANSWER!");
+            }
         }
     }
     // endregion Endpoints
@@ -652,6 +1333,8 @@ public class CISUCManager {
         CISUCFileHandler fileManager = new CISUCFileHandler(conf);
 
         CISUCManager mng = new CISUCManager(conf, fileManager);
+
+        mng.execute();
     }
 
 }
@@ -21,23 +21,29 @@ public class CISUCManagerConfig {
             DEFAULT_INVESTIGATION_GROUPS_OBJ_FILE_PATH = WORKING_DIRECTORY + "investigationGroups.obj",
             DEFAULT_INVESTIGATORS_OBJ_FILE_PATH = WORKING_DIRECTORY + "investigators.obj",
             DEFAULT_PUBLICATIONS_OBJ_FILE_PATH = WORKING_DIRECTORY + "publications.obj",
+            DEFAULT_SNAPSHOT_FILE_PATH = WORKING_DIRECTORY + "cisuc.snapshot",
             DEFAULT_VERBOSE_VALUE = "false",
             TEXT_INPUT_FLAG = "-txt",
             OBJECT_INPUT_FLAG = "-obj",
+            SNAPSHOT_FLAG = "-snap",
             VERBOSE_FLAG = "-v",
+            PARALLEL_FLAG = "-p",
+            LAZY_FLAG = "-lazy",
             HELP_FLAG = "-help";
 
     private final HashMap<String, ArrayList<String>> config;
     // endregion Constants
 
     // region Instance Variables
-    private boolean verbose;
+    private boolean verbose, lazy;
+    private int parallelThreads;
     private String investigationGroupsTxtFilePath,
             investigationGroupsObjFilePath,
             investigatorsTxtFilePath,
             investigatorsObjFilePath,
             publicationsTxtFilePath,
-            publicationsObjFilePath;
+            publicationsObjFilePath,
+            snapshotFilePath;
     // endregion Instance Variables
 
     // region Constructors
@@ -53,6 +59,18 @@ public class CISUCManagerConfig {
         return verbose;
     }
 
+    public boolean isLazy() {
+        return lazy;
+    }
+
+    public boolean isParallel() {
+        return parallelThreads > 1;
+    }
+
+    public int getParallelThreads() {
+        return parallelThreads;
+    }
+
     public String getInvestigationGroupsTxtFilePath() {
         return investigationGroupsTxtFilePath;
     }
@@ -77,6 +95,10 @@ public class CISUCManagerConfig {
         return publicationsObjFilePath;
     }
 
+    public String getSnapshotFilePath() {
+        return snapshotFilePath;
+    }
+
     public HashMap<String, ArrayList<String>> getConfig() {
         return config;
     }
@@ -120,9 +142,30 @@ public class CISUCManagerConfig {
                 }
                 config.put(OBJECT_INPUT_FLAG, values);
                 i += 4;
+            } else if (arg.equals(SNAPSHOT_FLAG) || arg.equals("-snapshot")) {
+                if (i + 1 >= args.length) {
+                    System.out.println("ERROR: NUMBER OF FLAG PARAMS MUST BE 1!");
+                    System.exit(0);
+                }
+                if (!args[i + 1].endsWith(".snapshot")) {
+                    System.out.println("ERROR: INVALID EXTENSION " + args[i + 1] + "! IT MUST BE .snapshot ");
+                    System.exit(0);
+                }
+                values.add(args[++i]);
+                config.put(SNAPSHOT_FLAG, values);
             } else if (arg.equals(VERBOSE_FLAG) || arg.equals("-verbose") || arg.equals("-verb")) {
                 values.add("true");
                 config.put(VERBOSE_FLAG, values);
+            } else if (arg.equals(PARALLEL_FLAG) || arg.equals("-parallel")) {
+                String threads = String.valueOf(Runtime.getRuntime().availableProcessors());
+                if (i + 1 < args.length && args[i + 1].matches("^\\d+$")) {
+                    threads = args[++i];
+                }
+                values.add(threads);
+                config.put(PARALLEL_FLAG, values);
+            } else if (arg.equals(LAZY_FLAG) || arg.equals("-l")) {
+                values.add("true");
+                config.put(LAZY_FLAG, values);
             } else if (arg.equals(HELP_FLAG) || arg.equals("--help")) {
                 System.out.println(getHelpString());
                 System.exit(0);
@@ -144,6 +187,12 @@ public class CISUCManagerConfig {
                         verbose = true;
                     }
                     break;
+                case LAZY_FLAG:
+                    lazy = true;
+                    break;
+                case PARALLEL_FLAG:
+                    parallelThreads = Integer.parseInt(config.get(key).get(0));
+                    break;
                 case TEXT_INPUT_FLAG:
                     investigatorsTxtFilePath = config.get(key).get(0);
                     investigationGroupsTxtFilePath = config.get(key).get(1);
@@ -153,6 +202,9 @@ public class CISUCManagerConfig {
                     investigatorsObjFilePath = config.get(key).get(0);
                     investigationGroupsObjFilePath = config.get(key).get(1);
                     publicationsObjFilePath = config.get(key).get(2);
+                    break;
+                case SNAPSHOT_FLAG:
+                    snapshotFilePath = config.get(key).get(0);
 
             }
         }
@@ -176,8 +228,11 @@ public class CISUCManagerConfig {
         return "Available flags:\n"
                 + "-help    displays this message\n"
                 + "-v       activates CISUCManager startup logging\n"
+                + "-p       [$threads]    parses the publications text file in parallel, using $threads worker threads (defaults to the number of available processors)\n"
+                + "-lazy    maps the snapshot file and only reads each entity from it when a query first needs it\n"
                 + "-txt     $investigatorsTxtFile $investigationTxtGroupFile $publicationsTxtFile    sets the path for the correspondent input text files\n"
-                + "-obj     $investigatorsObjFile $investigationGroupObjFile $publicationsObjFile   sets the path for the correspondent input/output object files\n";
+                + "-obj     $investigatorsObjFile $investigationGroupObjFile $publicationsObjFile   sets the path for the correspondent (legacy) input object files\n"
+                + "-snap    $snapshotFile    sets the path for the input/output snapshot file, which holds all the entities\n";
     }
 
     /**
@@ -186,6 +241,7 @@ public class CISUCManagerConfig {
     private void setDefaultConfig() {
         ArrayList<String> txtFilePaths = new ArrayList<>();
         ArrayList<String> objFilePaths = new ArrayList<>();
+        ArrayList<String> snapshotFilePathValue = new ArrayList<>();
         ArrayList<String> verboseValue = new ArrayList<>();
         txtFilePaths.add(DEFAULT_INVESTIGATORS_TXT_FILE_PATH);
         txtFilePaths.add(DEFAULT_INVESTIGATION_GROUPS_TXT_FILE_PATH);
@@ -193,9 +249,11 @@ public class CISUCManagerConfig {
         objFilePaths.add(DEFAULT_INVESTIGATORS_OBJ_FILE_PATH);
         objFilePaths.add(DEFAULT_INVESTIGATION_GROUPS_OBJ_FILE_PATH);
         objFilePaths.add(DEFAULT_PUBLICATIONS_OBJ_FILE_PATH);
+        snapshotFilePathValue.add(DEFAULT_SNAPSHOT_FILE_PATH);
         verboseValue.add(DEFAULT_VERBOSE_VALUE);
         config.put(TEXT_INPUT_FLAG, txtFilePaths);
         config.put(OBJECT_INPUT_FLAG, objFilePaths);
+        config.put(SNAPSHOT_FLAG, snapshotFilePathValue);
         config.put(VERBOSE_FLAG, verboseValue);
     }
     // endregion Private Methods
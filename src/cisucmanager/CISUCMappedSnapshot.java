@@ -0,0 +1,592 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Book;
+import cisucmanager.datamodels.BookChapter;
+import cisucmanager.datamodels.ConferenceArticle;
+import cisucmanager.datamodels.ConferenceArticleBook;
+import cisucmanager.datamodels.EffectiveInvestigator;
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.MagazineArticle;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.datamodels.StudentInvestigator;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+import static cisucmanager.CISUCSnapshotFormat.*;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that maps a snapshot file into memory and exposes its entities through
+ * read-only maps, which only materialize an investigator, investigation group
+ * or publication when a query first touches it. Only the header is read when
+ * the snapshot is opened, so opening it takes the same time no matter how many
+ * entities it holds. The summary and keywords of a publication are decoded
+ * last, when they are first needed.
+ */
+public class CISUCMappedSnapshot {
+
+    // region Constants
+    private static final int SEGMENT_SIZE = 1 << 30,
+            // bytes mapped past the end of each segment, so that any primitive
+            // value starting in a segment can be read from it
+            SEGMENT_OVERLAP = Long.BYTES;
+
+    private final MappedByteBuffer[] segments;
+    private final long[] columnOffsets;
+    private final int investigatorCount, groupCount, publicationCount;
+
+    private final Investigator[] investigatorCache;
+    private final InvestigationGroup[] groupCache;
+    private final Publication[] publicationCache;
+
+    private final Map<Integer, Investigator> investigators;
+    private final Map<String, InvestigationGroup> investigationGroups;
+    private final Map<String, Publication> publications;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param snapshotFile the snapshot file to be mapped.
+     * @throws IOException if the file couldn't be mapped or if it isn't a
+     * snapshot file of the current format version.
+     */
+    public CISUCMappedSnapshot(File snapshotFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "r")) {
+            FileChannel channel = file.getChannel();
+            long size = channel.size();
+
+            if (size < HEADER_SIZE) {
+                throw new IOException("UNEXPECTED END OF SNAPSHOT FILE");
+            }
+            segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+            for (int i = 0; i < segments.length; i++) {
+                long start = (long) i * SEGMENT_SIZE;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE + SEGMENT_OVERLAP, size - start));
+            }
+        }
+
+        if (getInt(0) != MAGIC) {
+            throw new IOException("NOT A SNAPSHOT FILE");
+        }
+        int version = getInt(Integer.BYTES);
+        if (version != VERSION) {
+            throw new IOException("UNSUPPORTED SNAPSHOT VERSION " + version);
+        }
+        investigatorCount = getInt(2 * Integer.BYTES);
+        groupCount = getInt(3 * Integer.BYTES);
+        publicationCount = getInt(4 * Integer.BYTES);
+        if (getInt(6 * Integer.BYTES) != COLUMN_COUNT) {
+            throw new IOException("UNEXPECTED NUMBER OF COLUMNS");
+        }
+        columnOffsets = new long[COLUMN_COUNT];
+        for (int i = 0; i < COLUMN_COUNT; i++) {
+            columnOffsets[i] = getLong(COLUMN_DIRECTORY_OFFSET + (long) i * Long.BYTES);
+        }
+
+        investigatorCache = new Investigator[investigatorCount];
+        groupCache = new InvestigationGroup[groupCount];
+        publicationCache = new Publication[publicationCount];
+
+        investigators = new OrdinalMap<Integer, Investigator>(investigatorCount) {
+            @Override
+            int find(Object key) {
+                return key instanceof Integer ? findInvestigator((Integer) key) : -1;
+            }
+
+            @Override
+            Integer key(int ordinal) {
+                return intAt(INVESTIGATOR_ID, ordinal);
+            }
+
+            @Override
+            Investigator value(int ordinal) {
+                return getInvestigator(ordinal);
+            }
+        };
+        investigationGroups = new OrdinalMap<String, InvestigationGroup>(groupCount) {
+            @Override
+            int find(Object key) {
+                return key instanceof String ? findInvestigationGroup((String) key) : -1;
+            }
+
+            @Override
+            String key(int ordinal) {
+                return string(intAt(GROUP_NAME, ordinal));
+            }
+
+            @Override
+            InvestigationGroup value(int ordinal) {
+                return getInvestigationGroup(ordinal);
+            }
+        };
+        publications = new OrdinalMap<String, Publication>(publicationCount) {
+            @Override
+            int find(Object key) {
+                return key instanceof String ? findPublication((String) key) : -1;
+            }
+
+            @Override
+            String key(int ordinal) {
+                return string(intAt(PUBLICATION_TITLE, ordinal));
+            }
+
+            @Override
+            Publication value(int ordinal) {
+                return getPublication(ordinal);
+            }
+        };
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    // region Getters
+    public Map<Integer, Investigator> getInvestigators() {
+        return investigators;
+    }
+
+    public Map<String, InvestigationGroup> getInvestigationGroups() {
+        return investigationGroups;
+    }
+
+    public Map<String, Publication> getPublications() {
+        return publications;
+    }
+    // endregion Getters
+
+    // region Lookups
+    /**
+     * Function that finds the ordinal of an investigator, by binary search on
+     * the investigator id column.
+     *
+     * @param investigatorId the investigator id.
+     * @return the investigator ordinal or -1 if there's no such investigator.
+     */
+    public int findInvestigator(int investigatorId) {
+        int low = 0, high = investigatorCount - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1, id = intAt(INVESTIGATOR_ID, middle);
+            if (id < investigatorId) {
+                low = middle + 1;
+            } else if (id > investigatorId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Function that finds the ordinal of an investigation group, by binary
+     * search on the investigation group name column.
+     *
+     * @param name the investigation group name.
+     * @return the investigation group ordinal or -1 if there's no such group.
+     */
+    public int findInvestigationGroup(String name) {
+        return findString(GROUP_NAME, groupCount, name);
+    }
+
+    /**
+     * Function that finds the ordinal of a publication, by binary search on the
+     * publication title column.
+     *
+     * @param title the publication title.
+     * @return the publication ordinal or -1 if there's no such publication.
+     */
+    public int findPublication(String title) {
+        return findString(PUBLICATION_TITLE, publicationCount, title);
+    }
+    // endregion Lookups
+
+    // region Materialization
+    /**
+     * Function that returns the investigator with a given ordinal, reading it
+     * from the snapshot if it wasn't read yet.
+     *
+     * @param ordinal the investigator ordinal.
+     * @return the investigator.
+     */
+    public synchronized Investigator getInvestigator(int ordinal) {
+        Investigator investigator = investigatorCache[ordinal];
+
+        if (investigator != null) {
+            return investigator;
+        }
+
+        int id = intAt(INVESTIGATOR_ID, ordinal);
+        String name = string(intAt(INVESTIGATOR_NAME, ordinal)),
+                email = string(intAt(INVESTIGATOR_EMAIL, ordinal));
+
+        if (byteAt(INVESTIGATOR_TYPE, ordinal) == EFFECTIVE_INVESTIGATOR) {
+            EffectiveInvestigator effective = new EffectiveInvestigator(id, name, email, null,
+                    string(intAt(INVESTIGATOR_PHONE_NUMBER, ordinal)), string(intAt(INVESTIGATOR_OFFICE_ID, ordinal)));
+            effective.setEffectiveInvestigatorId(intAt(INVESTIGATOR_TYPE_ID, ordinal));
+            investigator = effective;
+        } else {
+            StudentInvestigator student = new StudentInvestigator(id, name, email, null,
+                    string(intAt(INVESTIGATOR_THESIS_TITLE, ordinal)), null, date(longAt(INVESTIGATOR_PHD_COMPLETION_DATE, ordinal)));
+            student.setStudentInvestigatorId(intAt(INVESTIGATOR_TYPE_ID, ordinal));
+            investigator = student;
+        }
+        // cached before its references are resolved, since they may lead back to it
+        investigatorCache[ordinal] = investigator;
+
+        int group = intAt(INVESTIGATOR_GROUP, ordinal), advisorId = intAt(INVESTIGATOR_ADVISOR_ID, ordinal);
+
+        if (group != NULL_REFERENCE) {
+            investigator.setInvestigationGroup(getInvestigationGroup(group));
+        }
+        if (advisorId != NULL_REFERENCE) {
+            ((StudentInvestigator) investigator).setAdvisorInvestigator(getInvestigatorById(advisorId));
+        }
+        return investigator;
+    }
+
+    /**
+     * Function that returns the investigation group with a given ordinal,
+     * reading it from the snapshot if it wasn't read yet.
+     *
+     * @param ordinal the investigation group ordinal.
+     * @return the investigation group.
+     */
+    public synchronized InvestigationGroup getInvestigationGroup(int ordinal) {
+        InvestigationGroup group = groupCache[ordinal];
+
+        if (group != null) {
+            return group;
+        }
+
+        int firstMember = intAt(GROUP_MEMBER_OFFSETS, ordinal), lastMember = intAt(GROUP_MEMBER_OFFSETS, ordinal + 1);
+        ArrayList<Investigator> members = new ArrayList<>(lastMember - firstMember);
+
+        group = new InvestigationGroup(string(intAt(GROUP_NAME, ordinal)), string(intAt(GROUP_ACRONYM, ordinal)), null, members);
+        group.setInvestigationGroupId(intAt(GROUP_ID, ordinal));
+        groupCache[ordinal] = group;
+
+        for (int i = firstMember; i < lastMember; i++) {
+            members.add(getInvestigatorById(intAt(GROUP_MEMBER_IDS, i)));
+        }
+        group.setResponsibleInvestigator(getInvestigatorById(intAt(GROUP_RESPONSIBLE_ID, ordinal)));
+        return group;
+    }
+
+    /**
+     * Function that returns the publication with a given ordinal, reading it
+     * from the snapshot if it wasn't read yet. Its summary and keywords are
+     * only decoded when they're first needed.
+     *
+     * @param ordinal the publication ordinal.
+     * @return the publication.
+     */
+    public synchronized Publication getPublication(int ordinal) {
+        Publication publication = publicationCache[ordinal];
+
+        if (publication != null) {
+            return publication;
+        }
+
+        byte type = byteAt(PUBLICATION_TYPE, ordinal);
+        int typeId = intAt(PUBLICATION_TYPE_ID, ordinal), subtypeId = intAt(PUBLICATION_SUBTYPE_ID, ordinal);
+
+        switch (type) {
+            case CONFERENCE_ARTICLE:
+                ConferenceArticle conferenceArticle = new ConferenceArticle();
+                conferenceArticle.setConferenceArticleId(typeId);
+                conferenceArticle.setConferenceName(string(intAt(PUBLICATION_DETAIL_1, ordinal)));
+                conferenceArticle.setConferencePlace(string(intAt(PUBLICATION_DETAIL_2, ordinal)));
+                conferenceArticle.setConferenceDate(date(longAt(PUBLICATION_DATE, ordinal)));
+                publication = conferenceArticle;
+                break;
+            case MAGAZINE_ARTICLE:
+                MagazineArticle magazineArticle = new MagazineArticle();
+                magazineArticle.setMagazineArticleId(typeId);
+                magazineArticle.setMagazineName(string(intAt(PUBLICATION_DETAIL_1, ordinal)));
+                magazineArticle.setMagazineId(string(intAt(PUBLICATION_DETAIL_2, ordinal)));
+                magazineArticle.setMagazineDate(date(longAt(PUBLICATION_DATE, ordinal)));
+                publication = magazineArticle;
+                break;
+            case BOOK_CHAPTER:
+                BookChapter bookChapter = new BookChapter();
+                bookChapter.setBookChapterId(subtypeId);
+                bookChapter.setChapterName(string(intAt(PUBLICATION_DETAIL_3, ordinal)));
+                bookChapter.setBeginPage(intAt(PUBLICATION_NUMBER_1, ordinal));
+                bookChapter.setEndPage(intAt(PUBLICATION_NUMBER_2, ordinal));
+                publication = bookChapter;
+                break;
+            case CONFERENCE_ARTICLE_BOOK:
+                ConferenceArticleBook conferenceArticleBook = new ConferenceArticleBook();
+                conferenceArticleBook.setConferenceArticleBookId(subtypeId);
+                conferenceArticleBook.setConferenceName(string(intAt(PUBLICATION_DETAIL_3, ordinal)));
+                conferenceArticleBook.setArticleNumber(intAt(PUBLICATION_NUMBER_1, ordinal));
+                publication = conferenceArticleBook;
+                break;
+            default:
+                publication = new Book();
+        }
+
+        if (publication instanceof Book) {
+            ((Book) publication).setBookId(typeId);
+            ((Book) publication).setIsbn(string(intAt(PUBLICATION_DETAIL_1, ordinal)));
+            ((Book) publication).setPublishingCompany(string(intAt(PUBLICATION_DETAIL_2, ordinal)));
+        }
+
+        int firstAuthor = intAt(PUBLICATION_AUTHOR_OFFSETS, ordinal), lastAuthor = intAt(PUBLICATION_AUTHOR_OFFSETS, ordinal + 1);
+        ArrayList<Investigator> authors = new ArrayList<>(lastAuthor - firstAuthor);
+
+        for (int i = firstAuthor; i < lastAuthor; i++) {
+            authors.add(getInvestigatorById(intAt(PUBLICATION_AUTHOR_IDS, i)));
+        }
+
+        publication.setPublicationId(intAt(PUBLICATION_ID, ordinal));
+        publication.setTitle(string(intAt(PUBLICATION_TITLE, ordinal)));
+        publication.setPublicationYear(intAt(PUBLICATION_YEAR, ordinal));
+        publication.setAudienceSize(intAt(PUBLICATION_AUDIENCE_SIZE, ordinal));
+        publication.setAuthors(authors);
+        publication.setImpactFactor();
+
+        Publication deferred = publication;
+        publication.setDeferredDetailsLoader(() -> loadSummaryAndKeywords(deferred, ordinal));
+
+        publicationCache[ordinal] = publication;
+        return publication;
+    }
+    // endregion Materialization
+    // endregion Public Methods
+
+    // region Private Methods
+    private Investigator getInvestigatorById(int investigatorId) {
+        int ordinal = investigatorId == NULL_REFERENCE ? -1 : findInvestigator(investigatorId);
+        return ordinal < 0 ? null : getInvestigator(ordinal);
+    }
+
+    private void loadSummaryAndKeywords(Publication publication, int ordinal) {
+        int firstKeyword = intAt(PUBLICATION_KEYWORD_OFFSETS, ordinal), lastKeyword = intAt(PUBLICATION_KEYWORD_OFFSETS, ordinal + 1);
+        ArrayList<String> keywords = new ArrayList<>(lastKeyword - firstKeyword);
+
+        for (int i = firstKeyword; i < lastKeyword; i++) {
+            keywords.add(string(intAt(PUBLICATION_KEYWORDS, i)));
+        }
+        publication.setSummary(string(intAt(PUBLICATION_SUMMARY, ordinal)));
+        publication.setKeywords(keywords);
+    }
+
+    /**
+     * Function that binary searches a string column sorted by the natural
+     * order of its strings.
+     *
+     * @param column the string column.
+     * @param count the number of elements of the column.
+     * @param value the string to search for.
+     * @return the ordinal of the string or -1 if it isn't in the column.
+     */
+    private int findString(int column, int count, String value) {
+        int low = 0, high = count - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1, comparison = string(intAt(column, middle)).compareTo(value);
+            if (comparison < 0) {
+                low = middle + 1;
+            } else if (comparison > 0) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    // region Columns
+    private byte byteAt(int column, int index) {
+        return getByte(columnOffsets[column] + index);
+    }
+
+    private int intAt(int column, int index) {
+        return getInt(columnOffsets[column] + (long) index * Integer.BYTES);
+    }
+
+    private long longAt(int column, int index) {
+        return getLong(columnOffsets[column] + (long) index * Long.BYTES);
+    }
+
+    private String string(int id) {
+        if (id == NULL_REFERENCE) {
+            return null;
+        }
+        long start = longAt(STRING_OFFSETS, id);
+        byte[] bytes = new byte[(int) (longAt(STRING_OFFSETS, id + 1) - start)];
+
+        getBytes(columnOffsets[STRING_BYTES] + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private Date date(long value) {
+        return value == NULL_DATE ? null : new Date(value);
+    }
+    // endregion Columns
+
+    // region Mapped Memory
+    private byte getByte(long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].get((int) (position % SEGMENT_SIZE));
+    }
+
+    private int getInt(long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].getInt((int) (position % SEGMENT_SIZE));
+    }
+
+    private long getLong(long position) {
+        return segments[(int) (position / SEGMENT_SIZE)].getLong((int) (position % SEGMENT_SIZE));
+    }
+
+    /**
+     * Function that copies bytes from the mapped file, through duplicates of
+     * the segments, so that concurrent readers don't share buffer positions.
+     *
+     * @param position the file position.
+     * @param target the array to fill.
+     */
+    private void getBytes(long position, byte[] target) {
+        int copied = 0;
+
+        while (copied < target.length) {
+            ByteBuffer segment = segments[(int) (position / SEGMENT_SIZE)].duplicate();
+            int offset = (int) (position % SEGMENT_SIZE),
+                    length = Math.min(target.length - copied, SEGMENT_SIZE - offset);
+
+            segment.position(offset);
+            segment.get(target, copied, length);
+            copied += length;
+            position += length;
+        }
+    }
+    // endregion Mapped Memory
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Read-only map over the entities of the snapshot, identified by their
+     * ordinals. Keys are decoded from the snapshot without materializing the
+     * entity, which is only done when the value is asked for.
+     *
+     * @param <K> the key type.
+     * @param <V> the entity type.
+     */
+    private abstract static class OrdinalMap<K, V> extends AbstractMap<K, V> {
+
+        private final int size;
+
+        OrdinalMap(int size) {
+            this.size = size;
+        }
+
+        abstract int find(Object key);
+
+        abstract K key(int ordinal);
+
+        abstract V value(int ordinal);
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return find(key) >= 0;
+        }
+
+        @Override
+        public V get(Object key) {
+            int ordinal = find(key);
+            return ordinal < 0 ? null : value(ordinal);
+        }
+
+        @Override
+        public Set<Entry<K, V>> entrySet() {
+            return new AbstractSet<Entry<K, V>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<K, V>> iterator() {
+                    return new Iterator<Entry<K, V>>() {
+                        private int ordinal;
+
+                        @Override
+                        public boolean hasNext() {
+                            return ordinal < size;
+                        }
+
+                        @Override
+                        public Entry<K, V> next() {
+                            if (ordinal >= size) {
+                                throw new NoSuchElementException();
+                            }
+                            return new OrdinalEntry(ordinal++);
+                        }
+                    };
+                }
+            };
+        }
+
+        private class OrdinalEntry implements Entry<K, V> {
+
+            private final int ordinal;
+
+            OrdinalEntry(int ordinal) {
+                this.ordinal = ordinal;
+            }
+
+            @Override
+            public K getKey() {
+                return key(ordinal);
+            }
+
+            @Override
+            public V getValue() {
+                return value(ordinal);
+            }
+
+            @Override
+            public V setValue(V value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+            }
+
+            @Override
+            public boolean equals(Object obj) {
+                if (!(obj instanceof Entry)) {
+                    return false;
+                }
+                Entry<?, ?> other = (Entry<?, ?>) obj;
+                return Objects.equals(getKey(), other.getKey()) && Objects.equals(getValue(), other.getValue());
+            }
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,310 @@
+package cisucmanager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that finds entities by their names, ignoring case and accents, so that
+ * they can be looked up without knowing their exact name.
+ *
+ * Names are split into words (see CISUCSearchIndex.tokenize). Every name is
+ * kept, from each of its words to its end, in a sorted array, so that names
+ * (or their last words) starting with a given text are found by binary
+ * search. Names with typos are found through an index of the trigrams of
+ * their words.
+ *
+ * @param <T> the type of the indexed entities.
+ */
+public class CISUCNameIndex<T> {
+
+    // region Constants
+    private static final int GRAM_SIZE = 3,
+            MAX_KEY_FIELD = 0xFFFF;
+    private static final double MIN_SIMILARITY = 0.5;
+    private static final String WORD_SEPARATOR = " ";
+
+    private final ArrayList<T> values;
+    private final int[] entryValues;
+    private final String[] entryNames, normalizedNames;
+    private final int[] entryGramCounts;
+    private final String[] prefixKeys;
+    private final int[] prefixEntries;
+    private final HashMap<String, int[]> gramEntries;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param entities the entities to be indexed.
+     * @param namesOf the function that gets the names an entity can be found
+     * by.
+     */
+    public CISUCNameIndex(Collection<T> entities, Function<T, List<String>> namesOf) {
+        ArrayList<Integer> entryValueList = new ArrayList<>();
+        ArrayList<String> entryNameList = new ArrayList<>(), normalizedNameList = new ArrayList<>(), prefixKeyList = new ArrayList<>();
+        ArrayList<Integer> prefixEntryList = new ArrayList<>();
+        HashMap<String, ArrayList<Integer>> gramEntryLists = new HashMap<>();
+        ArrayList<Integer> gramCountList = new ArrayList<>();
+
+        values = new ArrayList<>(entities);
+
+        for (int value = 0; value < values.size(); value++) {
+            for (String name : namesOf.apply(values.get(value))) {
+                ArrayList<String> words = new ArrayList<>();
+                int entry = entryNameList.size();
+
+                CISUCSearchIndex.tokenize(name, words::add);
+                if (words.isEmpty()) {
+                    continue;
+                }
+
+                entryValueList.add(value);
+                entryNameList.add(name);
+                normalizedNameList.add(String.join(WORD_SEPARATOR, words));
+
+                for (int word = 0; word < words.size(); word++) {
+                    prefixKeyList.add(String.join(WORD_SEPARATOR, words.subList(word, words.size())));
+                    prefixEntryList.add(entry);
+                }
+
+                HashSet<String> grams = getGrams(words);
+                for (String gram : grams) {
+                    gramEntryLists.computeIfAbsent(gram, g -> new ArrayList<>()).add(entry);
+                }
+                gramCountList.add(grams.size());
+            }
+        }
+
+        entryValues = entryValueList.stream().mapToInt(Integer::intValue).toArray();
+        entryNames = entryNameList.toArray(new String[0]);
+        normalizedNames = normalizedNameList.toArray(new String[0]);
+        entryGramCounts = gramCountList.stream().mapToInt(Integer::intValue).toArray();
+
+        Integer[] order = new Integer[prefixKeyList.size()];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(prefixKeyList::get));
+
+        prefixKeys = new String[order.length];
+        prefixEntries = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            prefixKeys[i] = prefixKeyList.get(order[i]);
+            prefixEntries[i] = prefixEntryList.get(order[i]);
+        }
+
+        gramEntries = new HashMap<>(gramEntryLists.size() * 2);
+        for (String gram : gramEntryLists.keySet()) {
+            gramEntries.put(gram, gramEntryLists.get(gram).stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that finds the entities whose names best match a given text.
+     * The entities whose name is the text come first, then the ones with a
+     * name, or a word of it, starting with the text, by alphabetical order,
+     * and then the ones with similar names, from the most to the least
+     * similar.
+     *
+     * @param text the text to be matched.
+     * @param maxResults the maximum number of matches.
+     * @return the matches, each entity appearing only once.
+     */
+    public List<Match<T>> find(String text, int maxResults) {
+        ArrayList<String> words = new ArrayList<>();
+        CISUCSearchIndex.tokenize(text, words::add);
+
+        ArrayList<Match<T>> matches = new ArrayList<>();
+        if (words.isEmpty() || maxResults <= 0) {
+            return matches;
+        }
+
+        String normalized = String.join(WORD_SEPARATOR, words);
+        IdentityHashMap<T, Boolean> found = new IdentityHashMap<>();
+
+        // exact matches sort before any other name starting with the text
+        int first = lowerBound(normalized);
+        for (int i = first; i < prefixKeys.length && prefixKeys[i].equals(normalized); i++) {
+            int entry = prefixEntries[i];
+            if (normalizedNames[entry].equals(normalized)) {
+                addMatch(matches, found, entry, true, maxResults);
+            }
+        }
+        for (int i = first; i < prefixKeys.length && prefixKeys[i].startsWith(normalized) && matches.size() < maxResults; i++) {
+            addMatch(matches, found, prefixEntries[i], false, maxResults);
+        }
+
+        if (matches.size() < maxResults) {
+            addSimilarMatches(matches, found, words, maxResults);
+        }
+        return matches;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that adds the entities with names similar to the text, by the
+     * fraction of the text trigrams their names share.
+     *
+     * @param matches the matches found so far.
+     * @param found the entities found so far.
+     * @param words the words of the text.
+     * @param maxResults the maximum number of matches.
+     */
+    private void addSimilarMatches(ArrayList<Match<T>> matches, IdentityHashMap<T, Boolean> found, ArrayList<String> words, int maxResults) {
+        HashSet<String> grams = getGrams(words);
+        int[] sharedGrams = new int[entryNames.length], touched = new int[entryNames.length];
+        int touchedCount = 0, minSharedGrams = (int) Math.ceil(MIN_SIMILARITY * grams.size());
+
+        for (String gram : grams) {
+            int[] entries = gramEntries.get(gram);
+            if (entries != null) {
+                for (int entry : entries) {
+                    if (sharedGrams[entry]++ == 0) {
+                        touched[touchedCount++] = entry;
+                    }
+                }
+            }
+        }
+
+        // the best candidates, kept sorted by a key ordering them by the most
+        // trigrams shared and, among those, by the shortest name (which misses
+        // the fewest of its trigrams) and by the order they were indexed. The
+        // entities already found may take some of the places, hence the margin
+        long[] best = new long[maxResults - matches.size() + found.size()];
+        int bestCount = 0;
+
+        for (int i = 0; i < touchedCount; i++) {
+            int entry = touched[i];
+
+            if (sharedGrams[entry] >= minSharedGrams) {
+                long key = (long) (MAX_KEY_FIELD - sharedGrams[entry]) << 48
+                        | (long) Math.min(entryGramCounts[entry], MAX_KEY_FIELD) << 32
+                        | entry;
+
+                if (bestCount < best.length || key < best[bestCount - 1]) {
+                    int position = bestCount < best.length ? bestCount++ : bestCount - 1;
+
+                    for (; position > 0 && best[position - 1] > key; position--) {
+                        best[position] = best[position - 1];
+                    }
+                    best[position] = key;
+                }
+            }
+        }
+
+        for (int i = 0; i < bestCount && matches.size() < maxResults; i++) {
+            addMatch(matches, found, (int) best[i], false, maxResults);
+        }
+    }
+
+    /**
+     * Function that adds the entity of an entry to the matches, unless it was
+     * already found or there are enough matches.
+     *
+     * @param matches the matches found so far.
+     * @param found the entities found so far.
+     * @param entry the entry.
+     * @param exact flag that tells if the entry name is the text.
+     * @param maxResults the maximum number of matches.
+     */
+    private void addMatch(ArrayList<Match<T>> matches, IdentityHashMap<T, Boolean> found, int entry, boolean exact, int maxResults) {
+        T value = values.get(entryValues[entry]);
+
+        if (matches.size() < maxResults && found.put(value, Boolean.TRUE) == null) {
+            matches.add(new Match<>(value, entryNames[entry], exact));
+        }
+    }
+
+    /**
+     * Function that finds, by binary search, the first prefix key not lower
+     * than a given text.
+     *
+     * @param text the text.
+     * @return the index of the first key not lower than the text.
+     */
+    private int lowerBound(String text) {
+        int low = 0, high = prefixKeys.length;
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (prefixKeys[middle].compareTo(text) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Function that gets the trigrams of some words, each one padded with
+     * spaces, so that their beginnings and ends count as well.
+     *
+     * @param words the words.
+     * @return the trigrams.
+     */
+    private static HashSet<String> getGrams(List<String> words) {
+        HashSet<String> grams = new HashSet<>();
+
+        for (String word : words) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + GRAM_SIZE <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + GRAM_SIZE));
+            }
+        }
+        return grams;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds an entity matching a text and the name it matched by.
+     *
+     * @param <T> the type of the entity.
+     */
+    public static class Match<T> {
+
+        private final T value;
+        private final String name;
+        private final boolean exact;
+
+        /**
+         * @param value the matching entity.
+         * @param name the name it matched by.
+         * @param exact flag that tells if the name is the text, ignoring case
+         * and accents.
+         */
+        private Match(T value, String name, boolean exact) {
+            this.value = value;
+            this.name = name;
+            this.exact = exact;
+        }
+
+        public T getValue() {
+            return value;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isExact() {
+            return exact;
+        }
+    }
+    // endregion Nested Classes
+}
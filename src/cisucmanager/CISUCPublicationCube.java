@@ -0,0 +1,253 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.ImpactFactor;
+import cisucmanager.enums.PublicationType;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that counts publications by year, publication type and impact factor,
+ * so that the number of publications of any of those groups is known without
+ * going through the publications themselves.
+ *
+ * The counters are kept in a single array, with a cell per year, type and
+ * impact factor, the types and impact factors being indexed by their ordinal.
+ * The array grows, as publications are added, to cover every year from the
+ * earliest to the latest publication. A cube of a collection known up front
+ * (see count) is sized once instead, so counting it allocates nothing else.
+ */
+public class CISUCPublicationCube {
+
+    // region Constants
+    private static final PublicationType[] PUBLICATION_TYPES = PublicationType.values();
+    private static final ImpactFactor[] IMPACT_FACTORS = ImpactFactor.values();
+    private static final int CELLS_PER_YEAR = PUBLICATION_TYPES.length * IMPACT_FACTORS.length;
+    // endregion Constants
+
+    // region Private Properties
+    private int firstYear;
+    private int[] counters;
+    private int total;
+    // endregion Private Properties
+
+    // region Constructors
+    public CISUCPublicationCube() {
+        counters = new int[0];
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that counts some publications, in a pass that finds their
+     * range of years, so that the counters array is allocated once, and a
+     * pass that counts them.
+     *
+     * @param publications the publications to be counted.
+     * @return the cube of the publications.
+     */
+    public static CISUCPublicationCube count(Collection<Publication> publications) {
+        CISUCPublicationCube cube = new CISUCPublicationCube();
+
+        if (publications.isEmpty()) {
+            return cube;
+        }
+        int firstYear = Integer.MAX_VALUE, lastYear = Integer.MIN_VALUE;
+
+        for (Publication publication : publications) {
+            firstYear = Math.min(firstYear, publication.getPublicationYear());
+            lastYear = Math.max(lastYear, publication.getPublicationYear());
+        }
+        cube.firstYear = firstYear;
+        cube.counters = new int[(lastYear - firstYear + 1) * CELLS_PER_YEAR];
+
+        for (Publication publication : publications) {
+            cube.counters[cube.getCell(publication.getPublicationYear(), publication.getPublicationType().ordinal(), publication.getImpactFactor().ordinal())]++;
+        }
+        cube.total = publications.size();
+        return cube;
+    }
+
+    /**
+     * Function that counts a publication in the cell of its year, type and
+     * impact factor. It is only called within this package, so the cubes
+     * handed out by CISUCQueryService can't be changed by its clients.
+     *
+     * @param publication the publication to be counted.
+     */
+    void add(Publication publication) {
+        int year = publication.getPublicationYear();
+
+        cover(year);
+        counters[getCell(year, publication.getPublicationType().ordinal(), publication.getImpactFactor().ordinal())]++;
+        total++;
+    }
+
+    /**
+     * Function that gets the number of publications of a certain year, type
+     * and impact factor.
+     *
+     * @param year the publication year.
+     * @param publicationType the publication type.
+     * @param impactFactor the impact factor.
+     * @return the number of publications.
+     */
+    public int getCount(int year, PublicationType publicationType, ImpactFactor impactFactor) {
+        if (!covers(year)) {
+            return 0;
+        }
+        return counters[getCell(year, publicationType.ordinal(), impactFactor.ordinal())];
+    }
+
+    /**
+     * Function that gets the number of publications of a certain year and
+     * type.
+     *
+     * @param year the publication year.
+     * @param publicationType the publication type.
+     * @return the number of publications.
+     */
+    public int getCount(int year, PublicationType publicationType) {
+        if (!covers(year)) {
+            return 0;
+        }
+        int begin = getCell(year, publicationType.ordinal(), 0);
+
+        return sum(begin, begin + IMPACT_FACTORS.length);
+    }
+
+    /**
+     * Function that gets the number of publications of a certain year.
+     *
+     * @param year the publication year.
+     * @return the number of publications.
+     */
+    public int getCount(int year) {
+        return getCount(year, year);
+    }
+
+    /**
+     * Function that gets the number of publications from a range of years.
+     *
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the number of publications.
+     */
+    public int getCount(int fromYear, int toYear) {
+        if (isEmpty() || fromYear > toYear) {
+            return 0;
+        }
+        if (fromYear <= firstYear && toYear >= getLastYear()) {
+            return total;
+        }
+        int from = Math.max(fromYear, firstYear), to = Math.min(toYear, getLastYear());
+
+        if (from > to) {
+            return 0;
+        }
+        return sum(getCell(from, 0, 0), getCell(to, 0, 0) + CELLS_PER_YEAR);
+    }
+
+    /**
+     * Function that gets the total number of publications.
+     *
+     * @return the number of publications.
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Function that checks if no publication was counted.
+     *
+     * @return true if there are no publications. False otherwise.
+     */
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    // region Getters
+    /**
+     * @return the earliest year covered, which is only meaningful if there
+     * are publications.
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * @return the latest year covered, which is lower than the first one if
+     * there are no publications.
+     */
+    public int getLastYear() {
+        return firstYear + counters.length / CELLS_PER_YEAR - 1;
+    }
+    // endregion Getters
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that grows the counters array, if needed, so that it covers a
+     * given year.
+     *
+     * @param year the year to be covered.
+     */
+    private void cover(int year) {
+        if (counters.length == 0) {
+            firstYear = year;
+            counters = new int[CELLS_PER_YEAR];
+        } else if (year < firstYear) {
+            int[] grown = new int[counters.length + (firstYear - year) * CELLS_PER_YEAR];
+
+            System.arraycopy(counters, 0, grown, grown.length - counters.length, counters.length);
+            counters = grown;
+            firstYear = year;
+        } else if (year > getLastYear()) {
+            counters = Arrays.copyOf(counters, (year - firstYear + 1) * CELLS_PER_YEAR);
+        }
+    }
+
+    /**
+     * Function that checks if a year is covered by the counters array.
+     *
+     * @param year the year.
+     * @return true if the year is covered. False otherwise.
+     */
+    private boolean covers(int year) {
+        return counters.length != 0 && year >= firstYear && year <= getLastYear();
+    }
+
+    /**
+     * Function that gets the position of the counter of a certain year, type
+     * and impact factor.
+     *
+     * @param year the publication year, which must be covered.
+     * @param type the publication type ordinal.
+     * @param impactFactor the impact factor ordinal.
+     * @return the counter position.
+     */
+    private int getCell(int year, int type, int impactFactor) {
+        return (year - firstYear) * CELLS_PER_YEAR + type * IMPACT_FACTORS.length + impactFactor;
+    }
+
+    /**
+     * Function that sums a range of counters.
+     *
+     * @param begin the position of the first counter.
+     * @param end the position after the last counter.
+     * @return the sum.
+     */
+    private int sum(int begin, int end) {
+        int sum = 0;
+
+        for (int i = begin; i < end; i++) {
+            sum += counters[i];
+        }
+        return sum;
+    }
+    // endregion Private Methods
+}
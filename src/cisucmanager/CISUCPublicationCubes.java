@@ -0,0 +1,121 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the publication counters (see CISUCPublicationCube) of all
+ * the publications, of each investigator and of each investigation group, so
+ * that the grouped publication counts are displayed without going through the
+ * publications.
+ *
+ * The cubes aren't filled while the text, object or snapshot files are read:
+ * they are built in one pass over the loaded publications, the first time the
+ * counts are needed or up front along with the other indexes (see
+ * CISUCQueryService). Each publication is counted through add, which would
+ * also keep the cubes up to date with publications added afterwards.
+ */
+public class CISUCPublicationCubes {
+
+    // region Constants
+    private final CISUCPublicationCube publicationsCube;
+    private final HashMap<Integer, CISUCPublicationCube> investigatorCubes;
+    private final HashMap<String, CISUCPublicationCube> investigationGroupCubes;
+    private final ArrayList<CISUCPublicationCube> updated;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publications the publications already loaded.
+     */
+    public CISUCPublicationCubes(Collection<Publication> publications) {
+        publicationsCube = new CISUCPublicationCube();
+        investigatorCubes = new HashMap<>();
+        investigationGroupCubes = new HashMap<>();
+        updated = new ArrayList<>();
+
+        for (Publication publication : publications) {
+            add(publication);
+        }
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that counts a publication in the cube of all publications and
+     * in the ones of its authors and of their investigation groups. An author
+     * listed more than once, or an investigation group with more than one
+     * author, only counts the publication once.
+     *
+     * @param publication the publication to be counted.
+     */
+    void add(Publication publication) {
+        publicationsCube.add(publication);
+
+        for (Investigator author : publication.getAuthors()) {
+            addOnce(investigatorCubes.computeIfAbsent(author.getInvestigatorId(), id -> new CISUCPublicationCube()), publication);
+
+            InvestigationGroup investigationGroup = author.getInvestigationGroup();
+            if (investigationGroup != null) {
+                addOnce(investigationGroupCubes.computeIfAbsent(investigationGroup.getName(), name -> new CISUCPublicationCube()), publication);
+            }
+        }
+        updated.clear();
+    }
+
+    // region Getters
+    public CISUCPublicationCube getPublicationsCube() {
+        return publicationsCube;
+    }
+
+    /**
+     * @param investigatorId the investigator id.
+     * @return the cube of the investigator publications, which is empty if it
+     * has none.
+     */
+    public CISUCPublicationCube getInvestigatorCube(int investigatorId) {
+        CISUCPublicationCube cube = investigatorCubes.get(investigatorId);
+
+        return cube == null ? new CISUCPublicationCube() : cube;
+    }
+
+    /**
+     * @param investigationGroupName the investigation group name.
+     * @return the cube of the investigation group publications, which is
+     * empty if it has none.
+     */
+    public CISUCPublicationCube getInvestigationGroupCube(String investigationGroupName) {
+        CISUCPublicationCube cube = investigationGroupCubes.get(investigationGroupName);
+
+        return cube == null ? new CISUCPublicationCube() : cube;
+    }
+    // endregion Getters
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that counts a publication in a cube, unless it was already
+     * counted there while adding the same publication.
+     *
+     * @param cube the cube.
+     * @param publication the publication being added.
+     */
+    private void addOnce(CISUCPublicationCube cube, Publication publication) {
+        for (CISUCPublicationCube other : updated) {
+            if (other == cube) {
+                return;
+            }
+        }
+        cube.add(publication);
+        updated.add(cube);
+    }
+    // endregion Private Methods
+}
@@ -0,0 +1,246 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.PublicationType;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that indexes the publications by some of their fields, so that the
+ * publications matching a given value are found without going through the
+ * whole catalogue. It is built once, after the entities are loaded, and isn't
+ * changed afterwards.
+ *
+ * Every index entry is sorted by publication year, so the publications of each
+ * year form a contiguous bucket and the ones from a range of years are found
+ * by binary search, in time proportional to their number.
+ */
+public class CISUCPublicationIndex {
+
+    // region Constants
+    private static final Comparator<Publication> BY_YEAR = Comparator.comparingInt(Publication::getPublicationYear);
+
+    private final ArrayList<Publication> publicationsByYear;
+    private final EnumMap<PublicationType, List<Publication>> publicationsByType;
+    private final HashMap<Integer, List<Publication>> publicationsByInvestigator;
+    private final HashMap<String, List<Publication>> publicationsByInvestigationGroup;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publications the publications to be indexed. The publications of
+     * the same year keep, in each index entry, the order they have in this
+     * collection.
+     */
+    public CISUCPublicationIndex(Collection<Publication> publications) {
+        publicationsByYear = new ArrayList<>(publications);
+        publicationsByType = new EnumMap<>(PublicationType.class);
+        publicationsByInvestigator = new HashMap<>();
+        publicationsByInvestigationGroup = new HashMap<>();
+
+        for (PublicationType publicationType : PublicationType.values()) {
+            publicationsByType.put(publicationType, new ArrayList<>());
+        }
+
+        for (Publication publication : publications) {
+            publicationsByType.get(publication.getPublicationType()).add(publication);
+            indexByInvestigator(publication);
+            indexByInvestigationGroup(publication);
+        }
+
+        sortByYear(Collections.singletonList(publicationsByYear));
+        sortByYear(publicationsByType.values());
+        sortByYear(publicationsByInvestigator.values());
+        sortByYear(publicationsByInvestigationGroup.values());
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the publications from a range of years.
+     *
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the publications, sorted by year, which can't be changed.
+     */
+    public List<Publication> getPublications(int fromYear, int toYear) {
+        return getRange(publicationsByYear, fromYear, toYear);
+    }
+
+    /**
+     * Function that gets the publications of a certain type from a range of
+     * years.
+     *
+     * @param publicationType the publications type.
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the publications, sorted by year, which can't be changed.
+     */
+    public List<Publication> getPublications(PublicationType publicationType, int fromYear, int toYear) {
+        return getRange(publicationsByType.get(publicationType), fromYear, toYear);
+    }
+
+    /**
+     * Function that gets the publications authored by a certain investigator.
+     *
+     * @param investigatorId the author's id.
+     * @return the investigator's publications, sorted by year, which can't be
+     * changed, or an empty list if the investigator has none.
+     */
+    public List<Publication> getInvestigatorPublications(int investigatorId) {
+        return getInvestigatorPublications(investigatorId, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Function that gets the publications authored by a certain investigator
+     * in a range of years.
+     *
+     * @param investigatorId the author's id.
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the investigator's publications, sorted by year, which can't be
+     * changed, or an empty list if the investigator has none.
+     */
+    public List<Publication> getInvestigatorPublications(int investigatorId, int fromYear, int toYear) {
+        return getRange(publicationsByInvestigator.get(investigatorId), fromYear, toYear);
+    }
+
+    /**
+     * Function that gets the publications which have, at least, one author
+     * that is a member of a certain investigation group.
+     *
+     * @param investigationGroupName the name of the investigation group.
+     * @return the investigation group publications, sorted by year, which
+     * can't be changed, or an empty list if the investigation group has none.
+     */
+    public List<Publication> getInvestigationGroupPublications(String investigationGroupName) {
+        return getInvestigationGroupPublications(investigationGroupName, Integer.MIN_VALUE, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Function that gets the publications, in a range of years, which have,
+     * at least, one author that is a member of a certain investigation group.
+     *
+     * @param investigationGroupName the name of the investigation group.
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the investigation group publications, sorted by year, which
+     * can't be changed, or an empty list if the investigation group has none.
+     */
+    public List<Publication> getInvestigationGroupPublications(String investigationGroupName, int fromYear, int toYear) {
+        return getRange(publicationsByInvestigationGroup.get(investigationGroupName), fromYear, toYear);
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that adds a publication to the entry of each of its authors.
+     * An author listed more than once only gets the publication once.
+     *
+     * @param publication the publication to be indexed.
+     */
+    private void indexByInvestigator(Publication publication) {
+        for (Investigator author : publication.getAuthors()) {
+            addToEntry(publicationsByInvestigator.computeIfAbsent(author.getInvestigatorId(), id -> new ArrayList<>()), publication);
+        }
+    }
+
+    /**
+     * Function that adds a publication to the entry of the investigation group
+     * of each of its authors. An investigation group with more than one
+     * author only gets the publication once.
+     *
+     * @param publication the publication to be indexed.
+     */
+    private void indexByInvestigationGroup(Publication publication) {
+        for (Investigator author : publication.getAuthors()) {
+            InvestigationGroup investigationGroup = author.getInvestigationGroup();
+
+            if (investigationGroup != null) {
+                addToEntry(publicationsByInvestigationGroup.computeIfAbsent(investigationGroup.getName(), name -> new ArrayList<>()), publication);
+            }
+        }
+    }
+
+    /**
+     * Function that sorts some index entries by publication year. The sort is
+     * stable, so the publications of the same year keep their order.
+     *
+     * @param entries the index entries.
+     */
+    private void sortByYear(Collection<? extends List<Publication>> entries) {
+        for (List<Publication> entry : entries) {
+            entry.sort(BY_YEAR);
+        }
+    }
+
+    /**
+     * Function that gets the publications of an index entry from a range of
+     * years.
+     *
+     * @param entry the index entry, sorted by year, or null if it's empty.
+     * @param fromYear the first year of the range.
+     * @param toYear the last year of the range.
+     * @return the publications from the range of years, which can't be
+     * changed.
+     */
+    private List<Publication> getRange(List<Publication> entry, int fromYear, int toYear) {
+        if (entry == null || fromYear > toYear) {
+            return Collections.emptyList();
+        }
+        int begin = firstAfter(entry, (long) fromYear - 1), end = firstAfter(entry, toYear);
+
+        return Collections.unmodifiableList(entry.subList(begin, end));
+    }
+
+    /**
+     * Function that finds, by binary search, the first publication of an
+     * index entry published after a certain year.
+     *
+     * @param entry the index entry, sorted by year.
+     * @param year the year.
+     * @return the index of the first publication published after the year,
+     * or the entry size if there is none.
+     */
+    private int firstAfter(List<Publication> entry, long year) {
+        int low = 0, high = entry.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (entry.get(middle).getPublicationYear() <= year) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Function that adds a publication to an index entry, unless it was the
+     * last one added to it. Since the entries of a publication are all filled
+     * before the next publication is indexed, this is enough to keep them
+     * free of duplicates.
+     *
+     * @param entry the index entry.
+     * @param publication the publication to be added.
+     */
+    private void addToEntry(List<Publication> entry, Publication publication) {
+        if (entry.isEmpty() || entry.get(entry.size() - 1) != publication) {
+            entry.add(publication);
+        }
+    }
+    // endregion Private Methods
+}
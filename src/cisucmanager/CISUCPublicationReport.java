@@ -0,0 +1,98 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Publication;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that writes the reports of publications grouped by year, publication
+ * type and impact factor straight to an Appendable (the console or a file),
+ * so that the report is never held in memory as a whole, however many
+ * publications it lists.
+ *
+ * The publications are sorted by year, type and impact factor, so that each
+ * group is a run of consecutive publications and the report is written in a
+ * single pass over them.
+ */
+public class CISUCPublicationReport {
+
+    // region Constants
+    private static final Comparator<Publication> BY_GROUP = Comparator.comparingInt(Publication::getPublicationYear)
+            .thenComparing(Publication::getPublicationType)
+            .thenComparing(Publication::getImpactFactor);
+    private static final String EMPTY_LIST_STRING = "<NONE>";
+    // endregion Constants
+
+    // region Constructors
+    private CISUCPublicationReport() {
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that writes the publications grouped by year, type and impact
+     * factor. The publications of the same group keep their order.
+     *
+     * @param publications the publications.
+     * @param lastYears the number of years the publications go back, which is
+     * displayed in the report header.
+     * @param out where the report is written to.
+     * @throws IOException if something went wrong whilst writing the report.
+     */
+    public static void writeGrouped(Collection<Publication> publications, int lastYears, Appendable out) throws IOException {
+        if (publications.isEmpty()) {
+            out.append(EMPTY_LIST_STRING);
+            return;
+        }
+        ArrayList<Publication> sorted = new ArrayList<>(publications);
+        sorted.sort(BY_GROUP);
+
+        out.append("TOTAL NUMBER OF PUBLICATIONS, FROM LAST ").append(String.valueOf(lastYears)).append(" YEARS: ").append(String.valueOf(sorted.size())).append(" PUBLICATION(S)\n")
+                .append("PUBLICATIONS, FROM LAST ").append(String.valueOf(lastYears)).append(" YEARS, GROUPED BY YEAR, TYPE AND IMPACT FACTOR: \n\n");
+
+        Publication previous = null;
+        for (Publication publication : sorted) {
+            boolean newYear = previous == null || previous.getPublicationYear() != publication.getPublicationYear(),
+                    newType = newYear || previous.getPublicationType() != publication.getPublicationType();
+
+            if (newYear) {
+                out.append("YEAR: ").append(String.valueOf(publication.getPublicationYear())).append('\n');
+            }
+            if (newType) {
+                out.append("---TYPE: ").append(publication.getPublicationType().getValue()).append('\n');
+            }
+            if (newType || previous.getImpactFactor() != publication.getImpactFactor()) {
+                out.append("------IMPACT FACTOR: ").append(publication.getImpactFactor().getValue()).append('\n');
+            }
+            writeIndented(publication.toString(), "\t", out);
+            out.append('\n');
+            previous = publication;
+        }
+    }
+
+    /**
+     * Function that writes a text with an indentation after each of its line
+     * breaks, without copying it.
+     *
+     * @param text the text.
+     * @param indentation the indentation.
+     * @param out where the text is written to.
+     * @throws IOException if something went wrong whilst writing the text.
+     */
+    public static void writeIndented(String text, String indentation, Appendable out) throws IOException {
+        int begin = 0;
+
+        for (int end = text.indexOf('\n'); end != -1; end = text.indexOf('\n', begin)) {
+            out.append(text, begin, end + 1).append(indentation);
+            begin = end + 1;
+        }
+        out.append(text, begin, text.length());
+    }
+    // endregion Public Methods
+}
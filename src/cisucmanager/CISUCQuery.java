@@ -0,0 +1,659 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.ImpactFactor;
+import cisucmanager.enums.PublicationType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds a parsed publications query, such as:
+ *
+ * explain type=BOOK and year>=2018 and group="Software and Systems
+ * Engineering" group by year,impact count
+ *
+ * A query has an optional filter, made of comparisons of the publication
+ * fields (year, type, impact, group, author and title) with values, combined
+ * with and, or, not and parentheses, followed by the optional fields to group
+ * the publications by (year, type and impact) and the optional count keyword,
+ * which only counts the publications. A query starting with explain displays
+ * how it was run (see CISUCQueryPlanner) instead of its result.
+ */
+public class CISUCQuery {
+
+    // region Constants
+    private final String text;
+    private final boolean explain, count;
+    private final Predicate predicate;
+    private final List<Field> groupBy;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param text the query text.
+     * @param explain flag that tells if the query execution is to be
+     * explained.
+     * @param predicate the filter, or null if every publication matches.
+     * @param groupBy the fields to group the publications by.
+     * @param count flag that tells if the publications are only counted.
+     */
+    private CISUCQuery(String text, boolean explain, Predicate predicate, List<Field> groupBy, boolean count) {
+        this.text = text;
+        this.explain = explain;
+        this.predicate = predicate;
+        this.groupBy = Collections.unmodifiableList(groupBy);
+        this.count = count;
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that parses a query.
+     *
+     * @param text the query text.
+     * @return the parsed query.
+     * @throws CISUCQueryException if the query is malformed.
+     */
+    public static CISUCQuery parse(String text) {
+        return new Parser(text).parseQuery();
+    }
+
+    // region Getters
+    public String getText() {
+        return text;
+    }
+
+    public boolean isExplain() {
+        return explain;
+    }
+
+    public boolean isCount() {
+        return count;
+    }
+
+    /**
+     * @return the filter, or null if every publication matches.
+     */
+    public Predicate getPredicate() {
+        return predicate;
+    }
+
+    public List<Field> getGroupBy() {
+        return groupBy;
+    }
+    // endregion Getters
+    // endregion Public Methods
+
+    // region Nested Classes
+    /**
+     * Enum that holds the publication fields a query refers to.
+     */
+    public enum Field {
+        YEAR("YEAR", true), TYPE("TYPE", true), IMPACT("IMPACT FACTOR", true),
+        GROUP("INVESTIGATION GROUP", false), AUTHOR("AUTHOR", false), TITLE("TITLE", false);
+
+        private final String label;
+        private final boolean groupable;
+
+        private Field(String label, boolean groupable) {
+            this.label = label;
+            this.groupable = groupable;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+
+        @Override
+        public String toString() {
+            return name().toLowerCase();
+        }
+    }
+
+    /**
+     * Enum that holds the comparison operators.
+     */
+    public enum Operator {
+        EQUAL("="), NOT_EQUAL("!="), LOWER("<"), LOWER_OR_EQUAL("<="), GREATER(">"), GREATER_OR_EQUAL(">="), CONTAINS("~");
+
+        private final String symbol;
+
+        private Operator(String symbol) {
+            this.symbol = symbol;
+        }
+
+        @Override
+        public String toString() {
+            return symbol;
+        }
+    }
+
+    /**
+     * Class that holds a condition on the publications.
+     */
+    public abstract static class Predicate {
+
+        /**
+         * Function that checks if a publication satisfies the condition.
+         *
+         * @param publication the publication.
+         * @return true if the publication satisfies the condition. False
+         * otherwise.
+         */
+        public abstract boolean test(Publication publication);
+    }
+
+    /**
+     * Class that holds the conjunction of some conditions.
+     */
+    public static class And extends Predicate {
+
+        private final List<Predicate> operands;
+
+        private And(List<Predicate> operands) {
+            this.operands = Collections.unmodifiableList(operands);
+        }
+
+        public List<Predicate> getOperands() {
+            return operands;
+        }
+
+        @Override
+        public boolean test(Publication publication) {
+            for (Predicate operand : operands) {
+                if (!operand.test(publication)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            ArrayList<String> strings = new ArrayList<>();
+
+            for (Predicate operand : operands) {
+                strings.add(operand instanceof Or ? "(" + operand + ")" : operand.toString());
+            }
+            return String.join(" and ", strings);
+        }
+    }
+
+    /**
+     * Class that holds the disjunction of some conditions.
+     */
+    public static class Or extends Predicate {
+
+        private final List<Predicate> operands;
+
+        private Or(List<Predicate> operands) {
+            this.operands = Collections.unmodifiableList(operands);
+        }
+
+        public List<Predicate> getOperands() {
+            return operands;
+        }
+
+        @Override
+        public boolean test(Publication publication) {
+            for (Predicate operand : operands) {
+                if (operand.test(publication)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            ArrayList<String> strings = new ArrayList<>();
+
+            for (Predicate operand : operands) {
+                strings.add(operand.toString());
+            }
+            return String.join(" or ", strings);
+        }
+    }
+
+    /**
+     * Class that holds the negation of a condition.
+     */
+    public static class Not extends Predicate {
+
+        private final Predicate operand;
+
+        private Not(Predicate operand) {
+            this.operand = operand;
+        }
+
+        public Predicate getOperand() {
+            return operand;
+        }
+
+        @Override
+        public boolean test(Publication publication) {
+            return !operand.test(publication);
+        }
+
+        @Override
+        public String toString() {
+            return "not " + (operand instanceof Comparison ? operand.toString() : "(" + operand + ")");
+        }
+    }
+
+    /**
+     * Class that holds the comparison of a publication field with a value.
+     * The investigation group value is either the name or the acronym of the
+     * group and a publication is in a group (or by an author) if, at least,
+     * one of its authors is a member of the group (or is the author).
+     */
+    public static class Comparison extends Predicate {
+
+        private final Field field;
+        private final Operator operator;
+        private final Object value;
+
+        private Comparison(Field field, Operator operator, Object value) {
+            this.field = field;
+            this.operator = operator;
+            this.value = value;
+        }
+
+        public Field getField() {
+            return field;
+        }
+
+        public Operator getOperator() {
+            return operator;
+        }
+
+        /**
+         * @return the value, which is an Integer for the year and the
+         * author, a PublicationType for the type, an ImpactFactor for the
+         * impact and a String otherwise.
+         */
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public boolean test(Publication publication) {
+            switch (field) {
+                case YEAR:
+                    int comparison = Integer.compare(publication.getPublicationYear(), (Integer) value);
+
+                    switch (operator) {
+                        case LOWER:
+                            return comparison < 0;
+                        case LOWER_OR_EQUAL:
+                            return comparison <= 0;
+                        case GREATER:
+                            return comparison > 0;
+                        case GREATER_OR_EQUAL:
+                            return comparison >= 0;
+                        default:
+                            return (comparison == 0) == (operator == Operator.EQUAL);
+                    }
+                case TYPE:
+                    return (publication.getPublicationType() == value) == (operator == Operator.EQUAL);
+                case IMPACT:
+                    return (publication.getImpactFactor() == value) == (operator == Operator.EQUAL);
+                case GROUP:
+                    return isInInvestigationGroup(publication) == (operator == Operator.EQUAL);
+                case AUTHOR:
+                    return isAuthor(publication) == (operator == Operator.EQUAL);
+                default:
+                    String title = publication.getTitle() == null ? "" : publication.getTitle();
+
+                    if (operator == Operator.CONTAINS) {
+                        return title.toLowerCase().contains(((String) value).toLowerCase());
+                    }
+                    return title.equalsIgnoreCase((String) value) == (operator == Operator.EQUAL);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return field + " " + operator + " " + (value instanceof String ? "\"" + value + "\"" : value instanceof ImpactFactor ? ((ImpactFactor) value).getValue() : value);
+        }
+
+        /**
+         * Function that checks if any of the authors of a publication is a
+         * member of the investigation group named (or acronymed) by the value.
+         *
+         * @param publication the publication.
+         * @return true if so. False otherwise.
+         */
+        private boolean isInInvestigationGroup(Publication publication) {
+            for (Investigator author : publication.getAuthors()) {
+                InvestigationGroup investigationGroup = author.getInvestigationGroup();
+
+                if (investigationGroup != null && (((String) value).equalsIgnoreCase(investigationGroup.getName())
+                        || ((String) value).equalsIgnoreCase(investigationGroup.getAcronym()))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Function that checks if the investigator whose id is the value is
+         * one of the authors of a publication.
+         *
+         * @param publication the publication.
+         * @return true if so. False otherwise.
+         */
+        private boolean isAuthor(Publication publication) {
+            for (Investigator author : publication.getAuthors()) {
+                if (author.getInvestigatorId() == (Integer) value) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Class that parses a query text, by recursive descent, into a
+     * CISUCQuery.
+     */
+    private static class Parser {
+
+        private final String text;
+        private final ArrayList<String> tokens;
+        private final ArrayList<Boolean> quoted;
+        private int position;
+
+        /**
+         * @param text the query text.
+         * @throws CISUCQueryException if the text has an unexpected
+         * character or an unterminated string.
+         */
+        private Parser(String text) {
+            this.text = text == null ? "" : text;
+            tokens = new ArrayList<>();
+            quoted = new ArrayList<>();
+            tokenize();
+        }
+
+        /**
+         * Function that parses the query:
+         * [explain] [or-expression] [group by field {, field}] [count]
+         *
+         * @return the parsed query.
+         */
+        private CISUCQuery parseQuery() {
+            boolean explain = accept("explain");
+            Predicate predicate = null;
+            ArrayList<Field> groupBy = new ArrayList<>();
+
+            // group is only the group by keyword when followed by by, since it is also a field
+            if (position < tokens.size() && !isGroupBy() && !isNext("count")) {
+                predicate = parseOr();
+            }
+            if (isGroupBy()) {
+                position += 2;
+                do {
+                    Field field = parseField();
+
+                    if (!field.groupable) {
+                        throw new CISUCQueryException("ERROR: PUBLICATIONS CAN'T BE GROUPED BY " + field.getLabel() + "! THEY CAN ONLY BE GROUPED BY YEAR, TYPE AND IMPACT!");
+                    }
+                    if (!groupBy.contains(field)) {
+                        groupBy.add(field);
+                    }
+                } while (accept(","));
+            }
+            boolean count = accept("count");
+
+            if (position < tokens.size()) {
+                throw unexpected();
+            }
+            return new CISUCQuery(text, explain, predicate, groupBy, count);
+        }
+
+        /**
+         * Function that parses: and-expression {or and-expression}
+         *
+         * @return the parsed condition.
+         */
+        private Predicate parseOr() {
+            ArrayList<Predicate> operands = new ArrayList<>();
+
+            do {
+                operands.add(parseAnd());
+            } while (accept("or"));
+            return operands.size() == 1 ? operands.get(0) : new Or(operands);
+        }
+
+        /**
+         * Function that parses: unary-expression {and unary-expression}
+         *
+         * @return the parsed condition.
+         */
+        private Predicate parseAnd() {
+            ArrayList<Predicate> operands = new ArrayList<>();
+
+            do {
+                Predicate operand = parseUnary();
+
+                // nested conjunctions are flattened, so that the planner sees all of them
+                if (operand instanceof And) {
+                    operands.addAll(((And) operand).getOperands());
+                } else {
+                    operands.add(operand);
+                }
+            } while (accept("and"));
+            return operands.size() == 1 ? operands.get(0) : new And(operands);
+        }
+
+        /**
+         * Function that parses: not unary-expression | ( or-expression ) |
+         * field operator value
+         *
+         * @return the parsed condition.
+         */
+        private Predicate parseUnary() {
+            if (accept("not")) {
+                return new Not(parseUnary());
+            }
+            if (accept("(")) {
+                Predicate predicate = parseOr();
+
+                if (!accept(")")) {
+                    throw unexpected();
+                }
+                return predicate;
+            }
+            return parseComparison();
+        }
+
+        /**
+         * Function that parses: field operator value
+         *
+         * @return the parsed comparison.
+         */
+        private Predicate parseComparison() {
+            Field field = parseField();
+            Operator operator = null;
+
+            if (position < tokens.size() && !quoted.get(position)) {
+                for (Operator candidate : Operator.values()) {
+                    if (candidate.symbol.equals(tokens.get(position))) {
+                        operator = candidate;
+                    }
+                }
+            }
+            if (operator == null) {
+                throw unexpected();
+            }
+            position++;
+
+            // only years are ordered and only titles are searched for a text
+            boolean ordered = operator != Operator.EQUAL && operator != Operator.NOT_EQUAL && operator != Operator.CONTAINS;
+            if (ordered && field != Field.YEAR || operator == Operator.CONTAINS && field != Field.TITLE) {
+                throw new CISUCQueryException("ERROR: OPERATOR " + operator + " CAN'T BE APPLIED TO " + field.getLabel() + "!");
+            }
+            if (position == tokens.size()) {
+                throw new CISUCQueryException("ERROR: MISSING VALUE FOR " + field + " IN QUERY!");
+            }
+            String value = tokens.get(position++);
+
+            switch (field) {
+                case YEAR:
+                case AUTHOR:
+                    try {
+                        return new Comparison(field, operator, Integer.parseInt(value));
+                    } catch (NumberFormatException ex) {
+                        throw new CISUCQueryException("ERROR: INVALID " + field.getLabel() + " " + value + "! IT MUST BE AN INTEGER!");
+                    }
+                case TYPE:
+                    for (PublicationType publicationType : PublicationType.values()) {
+                        if (publicationType.name().equalsIgnoreCase(value.replace(' ', '_')) || publicationType.getValue().equalsIgnoreCase(value)) {
+                            return new Comparison(field, operator, publicationType);
+                        }
+                    }
+                    throw new CISUCQueryException("ERROR: INVALID PUBLICATION TYPE " + value + "!");
+                case IMPACT:
+                    for (ImpactFactor impactFactor : ImpactFactor.values()) {
+                        if (impactFactor.getValue().equalsIgnoreCase(value)) {
+                            return new Comparison(field, operator, impactFactor);
+                        }
+                    }
+                    throw new CISUCQueryException("ERROR: INVALID IMPACT FACTOR " + value + "!");
+                default:
+                    return new Comparison(field, operator, value);
+            }
+        }
+
+        /**
+         * Function that parses a field name.
+         *
+         * @return the field.
+         */
+        private Field parseField() {
+            if (position < tokens.size() && !quoted.get(position)) {
+                for (Field field : Field.values()) {
+                    if (field.toString().equalsIgnoreCase(tokens.get(position))) {
+                        position++;
+                        return field;
+                    }
+                }
+            }
+            if (position < tokens.size()) {
+                throw new CISUCQueryException("ERROR: UNKNOWN FIELD " + tokens.get(position) + "! THE FIELDS ARE YEAR, TYPE, IMPACT, GROUP, AUTHOR AND TITLE!");
+            }
+            throw new CISUCQueryException("ERROR: MISSING FIELD AT THE END OF THE QUERY!");
+        }
+
+        /**
+         * Function that checks if the current token is a given keyword or
+         * symbol, ignoring case and quoted strings.
+         *
+         * @param keyword the keyword or symbol.
+         * @return true if so. False otherwise.
+         */
+        private boolean isNext(String keyword) {
+            return position < tokens.size() && !quoted.get(position) && tokens.get(position).equalsIgnoreCase(keyword);
+        }
+
+        /**
+         * Function that checks if the current tokens are the group by
+         * keywords.
+         *
+         * @return true if the current tokens are group by. False otherwise.
+         */
+        private boolean isGroupBy() {
+            if (!isNext("group") || position + 1 >= tokens.size()) {
+                return false;
+            }
+            return !quoted.get(position + 1) && tokens.get(position + 1).equalsIgnoreCase("by");
+        }
+
+        /**
+         * Function that skips the current token if it is a given keyword or
+         * symbol.
+         *
+         * @param keyword the keyword or symbol.
+         * @return true if the token was skipped. False otherwise.
+         */
+        private boolean accept(String keyword) {
+            if (isNext(keyword)) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Function that creates the error of an unexpected token at the
+         * current position.
+         *
+         * @return the error.
+         */
+        private CISUCQueryException unexpected() {
+            if (position == tokens.size()) {
+                return new CISUCQueryException("ERROR: UNEXPECTED END OF QUERY!");
+            }
+            return new CISUCQueryException("ERROR: UNEXPECTED " + tokens.get(position) + " IN QUERY!");
+        }
+
+        /**
+         * Function that splits the query text into words, numbers, quoted
+         * strings and symbols.
+         */
+        private void tokenize() {
+            int i = 0;
+
+            while (i < text.length()) {
+                char current = text.charAt(i);
+
+                if (Character.isWhitespace(current)) {
+                    i++;
+                } else if (current == '"') {
+                    StringBuilder string = new StringBuilder();
+
+                    for (i++; i < text.length() && text.charAt(i) != '"'; i++) {
+                        if (text.charAt(i) == '\\' && i + 1 < text.length()) {
+                            i++;
+                        }
+                        string.append(text.charAt(i));
+                    }
+                    if (i == text.length()) {
+                        throw new CISUCQueryException("ERROR: UNTERMINATED STRING IN QUERY!");
+                    }
+                    i++;
+                    add(string.toString(), true);
+                } else if (Character.isLetterOrDigit(current) || current == '_' || current == '-' && i + 1 < text.length() && Character.isDigit(text.charAt(i + 1))) {
+                    int start = i++;
+
+                    while (i < text.length() && (Character.isLetterOrDigit(text.charAt(i)) || text.charAt(i) == '_')) {
+                        i++;
+                    }
+                    add(text.substring(start, i), false);
+                } else if ("!<>".indexOf(current) >= 0 && i + 1 < text.length() && text.charAt(i + 1) == '=') {
+                    add(text.substring(i, i + 2), false);
+                    i += 2;
+                } else if ("=<>~(),".indexOf(current) >= 0) {
+                    add(String.valueOf(current), false);
+                    i++;
+                } else {
+                    throw new CISUCQueryException("ERROR: UNEXPECTED CHARACTER " + current + " AT POSITION " + (i + 1) + " OF THE QUERY!");
+                }
+            }
+        }
+
+        private void add(String token, boolean isQuoted) {
+            tokens.add(token);
+            quoted.add(isQuoted);
+        }
+    }
+    // endregion Nested Classes
+}
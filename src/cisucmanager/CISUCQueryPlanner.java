@@ -0,0 +1,516 @@
+package cisucmanager;
+
+import cisucmanager.CISUCQuery.Comparison;
+import cisucmanager.CISUCQuery.Field;
+import cisucmanager.CISUCQuery.Operator;
+import cisucmanager.CISUCQuery.Predicate;
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.ImpactFactor;
+import cisucmanager.enums.PublicationType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that runs queries (see CISUCQuery) over the publications. The
+ * conditions joined by and at the top of a query filter are weighed against
+ * the available access paths:
+ *
+ * - the author index, for an author = id condition;
+ * - the year buckets of the publications index, for the year conditions;
+ * - the bitmap index, for the conditions on years, types, impact factors and
+ * groups, however combined;
+ * - a full scan of the publications.
+ *
+ * The path expected to read the fewest publications is chosen and the
+ * conditions it doesn't cover are checked on each publication it reads. The
+ * number of publications of the bitmap conditions is estimated from the exact
+ * size of each single condition, assuming the conditions are independent.
+ */
+public class CISUCQueryPlanner {
+
+    // region Constants
+    private final CISUCPublicationIndex publicationIndex;
+    private final CISUCBitmapIndex bitmapIndex;
+    private final Map<String, InvestigationGroup> investigationGroups;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publicationIndex the publications index.
+     * @param bitmapIndex the publications bitmap index.
+     * @param investigationGroups the investigation groups, by name.
+     */
+    public CISUCQueryPlanner(CISUCPublicationIndex publicationIndex, CISUCBitmapIndex bitmapIndex, Map<String, InvestigationGroup> investigationGroups) {
+        this.publicationIndex = publicationIndex;
+        this.bitmapIndex = bitmapIndex;
+        this.investigationGroups = investigationGroups;
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that chooses how a query is to be run.
+     *
+     * @param query the query.
+     * @return the query plan.
+     */
+    public Plan plan(CISUCQuery query) {
+        List<Predicate> conditions = getConditions(query.getPredicate());
+        EnumMap<AccessPath, Long> estimates = new EnumMap<>(AccessPath.class);
+        Comparison authorCondition = null;
+        ArrayList<Predicate> yearConditions = new ArrayList<>(), bitmapConditions = new ArrayList<>();
+        int fromYear = Integer.MIN_VALUE, toYear = Integer.MAX_VALUE;
+        double bitmapFraction = 1;
+        int size = bitmapIndex.getSize();
+
+        for (Predicate condition : conditions) {
+            if (isComparison(condition, Field.AUTHOR, Operator.EQUAL)) {
+                long rows = publicationIndex.getInvestigatorPublications((Integer) ((Comparison) condition).getValue()).size();
+
+                if (authorCondition == null || rows < estimates.get(AccessPath.AUTHOR_INDEX)) {
+                    authorCondition = (Comparison) condition;
+                    estimates.put(AccessPath.AUTHOR_INDEX, rows);
+                }
+            }
+            if (condition instanceof Comparison && ((Comparison) condition).getField() == Field.YEAR && ((Comparison) condition).getOperator() != Operator.NOT_EQUAL) {
+                int[] range = getYearRange((Comparison) condition);
+
+                fromYear = Math.max(fromYear, range[0]);
+                toYear = Math.min(toYear, range[1]);
+                yearConditions.add(condition);
+            }
+            if (isBitmapCondition(condition)) {
+                bitmapFraction *= size == 0 ? 0 : estimate(condition) / size;
+                bitmapConditions.add(condition);
+            }
+        }
+        if (!yearConditions.isEmpty()) {
+            estimates.put(AccessPath.YEAR_BUCKETS, (long) countYears(fromYear, toYear));
+        }
+        if (!bitmapConditions.isEmpty()) {
+            estimates.put(AccessPath.BITMAP_INDEX, Math.round(bitmapFraction * size));
+        }
+        estimates.put(AccessPath.FULL_SCAN, (long) size);
+
+        AccessPath chosen = AccessPath.FULL_SCAN;
+        for (AccessPath accessPath : estimates.keySet()) {
+            if (estimates.get(accessPath) < estimates.get(chosen)) {
+                chosen = accessPath;
+            }
+        }
+
+        List<Predicate> covered;
+        switch (chosen) {
+            case AUTHOR_INDEX:
+                covered = Collections.singletonList(authorCondition);
+                break;
+            case YEAR_BUCKETS:
+                covered = yearConditions;
+                break;
+            case BITMAP_INDEX:
+                covered = bitmapConditions;
+                break;
+            default:
+                covered = Collections.emptyList();
+        }
+        ArrayList<Predicate> residual = new ArrayList<>();
+        for (Predicate condition : conditions) {
+            if (!covered.contains(condition)) {
+                residual.add(condition);
+            }
+        }
+        return new Plan(chosen, estimates, covered, residual, authorCondition, fromYear, toYear);
+    }
+
+    /**
+     * Function that runs a query.
+     *
+     * @param query the query.
+     * @return the query result.
+     */
+    public Result execute(CISUCQuery query) {
+        long start = System.nanoTime();
+        Plan plan = plan(query);
+        List<Publication> rows;
+
+        switch (plan.accessPath) {
+            case AUTHOR_INDEX:
+                rows = publicationIndex.getInvestigatorPublications((Integer) plan.authorCondition.getValue());
+                break;
+            case YEAR_BUCKETS:
+                rows = publicationIndex.getPublications(plan.fromYear, plan.toYear);
+                break;
+            case BITMAP_INDEX:
+                CISUCBitmap bitmap = null;
+
+                for (Predicate condition : plan.covered) {
+                    bitmap = bitmap == null ? getBitmap(condition) : bitmap.and(getBitmap(condition));
+                }
+                rows = bitmapIndex.getPublications(bitmap);
+                break;
+            default:
+                rows = publicationIndex.getPublications(Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+
+        ArrayList<Publication> matches = new ArrayList<>();
+        for (Publication publication : rows) {
+            if (matchesAll(plan.residual, publication)) {
+                matches.add(publication);
+            }
+        }
+        return new Result(query, plan, rows.size(), matches, System.nanoTime() - start);
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that splits a filter into the conditions joined by and at its
+     * top.
+     *
+     * @param predicate the filter, or null if there is none.
+     * @return the conditions.
+     */
+    private List<Predicate> getConditions(Predicate predicate) {
+        if (predicate == null) {
+            return Collections.emptyList();
+        }
+        if (predicate instanceof CISUCQuery.And) {
+            return ((CISUCQuery.And) predicate).getOperands();
+        }
+        return Collections.singletonList(predicate);
+    }
+
+    private boolean isComparison(Predicate predicate, Field field, Operator operator) {
+        return predicate instanceof Comparison && ((Comparison) predicate).getField() == field && ((Comparison) predicate).getOperator() == operator;
+    }
+
+    /**
+     * Function that checks if a condition can be evaluated with the bitmap
+     * index, that is, if it only refers to years, types, impact factors and
+     * investigation groups.
+     *
+     * @param predicate the condition.
+     * @return true if so. False otherwise.
+     */
+    private boolean isBitmapCondition(Predicate predicate) {
+        if (predicate instanceof Comparison) {
+            Field field = ((Comparison) predicate).getField();
+            return field == Field.YEAR || field == Field.TYPE || field == Field.IMPACT || field == Field.GROUP;
+        }
+        for (Predicate operand : getOperands(predicate)) {
+            if (!isBitmapCondition(operand)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Function that estimates the number of publications satisfying a
+     * bitmap condition out of the index statistics alone, that is, the
+     * number of publications of each year in the year index and the
+     * cardinality of each type, impact factor and investigation group bitmap,
+     * without combining any bitmap. The estimate is exact for a single
+     * comparison.
+     *
+     * @param predicate the condition.
+     * @return the estimated number of publications.
+     */
+    private double estimate(Predicate predicate) {
+        double size = bitmapIndex.getSize();
+
+        if (predicate instanceof CISUCQuery.Not) {
+            return size - estimate(((CISUCQuery.Not) predicate).getOperand());
+        }
+        if (predicate instanceof CISUCQuery.And || predicate instanceof CISUCQuery.Or) {
+            boolean and = predicate instanceof CISUCQuery.And;
+            double fraction = 1;
+
+            for (Predicate operand : getOperands(predicate)) {
+                double operandFraction = size == 0 ? 0 : estimate(operand) / size;
+                fraction *= and ? operandFraction : 1 - operandFraction;
+            }
+            return size * (and ? fraction : 1 - fraction);
+        }
+        Comparison comparison = (Comparison) predicate;
+        int count;
+
+        if (comparison.getField() == Field.YEAR) {
+            if (comparison.getOperator() != Operator.NOT_EQUAL) {
+                int[] range = getYearRange(comparison);
+                return countYears(range[0], range[1]);
+            }
+            int year = (Integer) comparison.getValue();
+            count = countYears(year, year);
+        } else {
+            count = getIndexedBitmap(comparison).getCardinality();
+        }
+        return comparison.getOperator() == Operator.EQUAL ? count : size - count;
+    }
+
+    /**
+     * Function that evaluates a bitmap condition with the bitmap index.
+     *
+     * @param predicate the condition.
+     * @return the set of the publication numbers satisfying the condition.
+     */
+    private CISUCBitmap getBitmap(Predicate predicate) {
+        if (predicate instanceof CISUCQuery.Not) {
+            return getBitmap(((CISUCQuery.Not) predicate).getOperand()).not(bitmapIndex.getSize());
+        }
+        if (predicate instanceof CISUCQuery.And || predicate instanceof CISUCQuery.Or) {
+            CISUCBitmap result = null;
+
+            for (Predicate operand : getOperands(predicate)) {
+                CISUCBitmap bitmap = getBitmap(operand);
+                result = result == null ? bitmap : predicate instanceof CISUCQuery.And ? result.and(bitmap) : result.or(bitmap);
+            }
+            return result;
+        }
+        Comparison comparison = (Comparison) predicate;
+
+        if (comparison.getField() == Field.YEAR) {
+            if (comparison.getOperator() == Operator.NOT_EQUAL) {
+                int year = (Integer) comparison.getValue();
+                return bitmapIndex.getYears(year, year).not(bitmapIndex.getSize());
+            }
+            int[] range = getYearRange(comparison);
+            return bitmapIndex.getYears(range[0], range[1]);
+        }
+        CISUCBitmap bitmap = getIndexedBitmap(comparison);
+
+        return comparison.getOperator() == Operator.EQUAL ? bitmap : bitmap.not(bitmapIndex.getSize());
+    }
+
+    /**
+     * Function that gets the bitmap the bitmap index holds for the value of a
+     * type, impact factor or investigation group comparison, regardless of
+     * its operator.
+     *
+     * @param comparison the comparison.
+     * @return the set of the publication numbers with the compared value.
+     */
+    private CISUCBitmap getIndexedBitmap(Comparison comparison) {
+        switch (comparison.getField()) {
+            case TYPE:
+                return bitmapIndex.getType((PublicationType) comparison.getValue());
+            case IMPACT:
+                return bitmapIndex.getImpactFactor((ImpactFactor) comparison.getValue());
+            default:
+                return bitmapIndex.getInvestigationGroup(getInvestigationGroupName((String) comparison.getValue()));
+        }
+    }
+
+    private List<Predicate> getOperands(Predicate predicate) {
+        if (predicate instanceof CISUCQuery.And) {
+            return ((CISUCQuery.And) predicate).getOperands();
+        }
+        if (predicate instanceof CISUCQuery.Or) {
+            return ((CISUCQuery.Or) predicate).getOperands();
+        }
+        return Collections.singletonList(((CISUCQuery.Not) predicate).getOperand());
+    }
+
+    /**
+     * Function that gets the range of years satisfying a year comparison,
+     * other than !=.
+     *
+     * @param comparison the year comparison.
+     * @return the first and last years of the range, which is empty if the
+     * first is greater than the last. A range past the int years, like
+     * year > 2147483647, is empty rather than wrapped around.
+     */
+    private int[] getYearRange(Comparison comparison) {
+        int year = (Integer) comparison.getValue();
+
+        switch (comparison.getOperator()) {
+            case LOWER:
+                return year == Integer.MIN_VALUE ? new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE} : new int[]{Integer.MIN_VALUE, year - 1};
+            case LOWER_OR_EQUAL:
+                return new int[]{Integer.MIN_VALUE, year};
+            case GREATER:
+                return year == Integer.MAX_VALUE ? new int[]{Integer.MAX_VALUE, Integer.MIN_VALUE} : new int[]{year + 1, Integer.MAX_VALUE};
+            case GREATER_OR_EQUAL:
+                return new int[]{year, Integer.MAX_VALUE};
+            default:
+                return new int[]{year, year};
+        }
+    }
+
+    private int countYears(int fromYear, int toYear) {
+        return fromYear > toYear ? 0 : publicationIndex.getPublications(fromYear, toYear).size();
+    }
+
+    /**
+     * Function that gets the name of the investigation group with a given
+     * name or acronym, ignoring case.
+     *
+     * @param nameOrAcronym the name or acronym.
+     * @return the investigation group name, or the given text if there is no
+     * such group.
+     */
+    private String getInvestigationGroupName(String nameOrAcronym) {
+        for (InvestigationGroup investigationGroup : investigationGroups.values()) {
+            if (nameOrAcronym.equalsIgnoreCase(investigationGroup.getName()) || nameOrAcronym.equalsIgnoreCase(investigationGroup.getAcronym())) {
+                return investigationGroup.getName();
+            }
+        }
+        return nameOrAcronym;
+    }
+
+    private boolean matchesAll(List<Predicate> conditions, Publication publication) {
+        for (Predicate condition : conditions) {
+            if (!condition.test(publication)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Enum that holds the ways of reading the publications of a query.
+     */
+    public enum AccessPath {
+        AUTHOR_INDEX("AUTHOR INDEX"), YEAR_BUCKETS("YEAR BUCKETS"), BITMAP_INDEX("BITMAP INDEX"), FULL_SCAN("FULL SCAN");
+
+        private final String value;
+
+        private AccessPath(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+    }
+
+    /**
+     * Class that holds how a query is run: the access path, the conditions
+     * it covers and the ones left to check on each publication read.
+     */
+    public static class Plan {
+
+        private final AccessPath accessPath;
+        private final EnumMap<AccessPath, Long> estimates;
+        private final List<Predicate> covered, residual;
+        private final Comparison authorCondition;
+        private final int fromYear, toYear;
+
+        private Plan(AccessPath accessPath, EnumMap<AccessPath, Long> estimates, List<Predicate> covered, List<Predicate> residual,
+                Comparison authorCondition, int fromYear, int toYear) {
+            this.accessPath = accessPath;
+            this.estimates = estimates;
+            this.covered = covered;
+            this.residual = residual;
+            this.authorCondition = authorCondition;
+            this.fromYear = fromYear;
+            this.toYear = toYear;
+        }
+
+        public AccessPath getAccessPath() {
+            return accessPath;
+        }
+
+        /**
+         * @return the estimated number of publications read by each access
+         * path considered.
+         */
+        public Map<AccessPath, Long> getEstimates() {
+            return Collections.unmodifiableMap(estimates);
+        }
+
+        public long getEstimatedRows() {
+            return estimates.get(accessPath);
+        }
+
+        public List<Predicate> getCovered() {
+            return Collections.unmodifiableList(covered);
+        }
+
+        public List<Predicate> getResidual() {
+            return Collections.unmodifiableList(residual);
+        }
+    }
+
+    /**
+     * Class that holds the result of a query and how it was obtained.
+     */
+    public static class Result {
+
+        private final CISUCQuery query;
+        private final Plan plan;
+        private final int rowsRead;
+        private final List<Publication> publications;
+        private final long nanos;
+
+        private Result(CISUCQuery query, Plan plan, int rowsRead, List<Publication> publications, long nanos) {
+            this.query = query;
+            this.plan = plan;
+            this.rowsRead = rowsRead;
+            this.publications = Collections.unmodifiableList(publications);
+            this.nanos = nanos;
+        }
+
+        public CISUCQuery getQuery() {
+            return query;
+        }
+
+        public Plan getPlan() {
+            return plan;
+        }
+
+        public int getRowsRead() {
+            return rowsRead;
+        }
+
+        /**
+         * @return the matching publications, sorted by year.
+         */
+        public List<Publication> getPublications() {
+            return publications;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        /**
+         * Function that describes how the query was run, with the estimated
+         * and actual number of publications read.
+         *
+         * @return the description.
+         */
+        public String getExplanation() {
+            StringBuilder explanation = new StringBuilder("ACCESS PATHS CONSIDERED:\n");
+
+            for (Map.Entry<AccessPath, Long> estimate : plan.estimates.entrySet()) {
+                explanation.append("    ").append(estimate.getKey().getValue()).append(" - ").append(estimate.getValue()).append(" ESTIMATED ROW(S)\n");
+            }
+            explanation.append("CHOSEN ACCESS PATH: ").append(plan.accessPath.getValue());
+            if (!plan.covered.isEmpty()) {
+                explanation.append(" (").append(join(plan.covered)).append(")");
+            }
+            explanation.append("\nRESIDUAL FILTER: ").append(plan.residual.isEmpty() ? "<NONE>" : join(plan.residual))
+                    .append("\nESTIMATED ROWS READ: ").append(plan.getEstimatedRows())
+                    .append("\nACTUAL ROWS READ: ").append(rowsRead)
+                    .append("\nROWS MATCHED: ").append(publications.size())
+                    .append(String.format("\nEXECUTION TIME: %.3f MS", nanos / 1000000.0));
+            return explanation.toString();
+        }
+
+        private static String join(List<Predicate> conditions) {
+            return String.join(" and ", conditions.stream().map(condition -> condition instanceof CISUCQuery.Or ? "(" + condition + ")" : condition.toString()).toArray(String[]::new));
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,633 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.InvestigatorType;
+import cisucmanager.enums.PublicationType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that answers the queries over a loaded dataset of investigators,
+ * investigation groups and publications, apart from the console, so that it
+ * can be embedded, benchmarked or called from several threads at once. The
+ * console menu (see CISUCManager) is one of its clients.
+ *
+ * The queries don't lock the dataset, so it mustn't be changed once the
+ * service is created. The entity maps, lists and publication counters the
+ * service returns can't be changed, but the investigators, investigation
+ * groups and publications themselves are shared with the service, along with
+ * the lists they hold (such as the authors of a publication), and must only
+ * be read. The indexes and counters the queries run over are built the first
+ * time they're needed, unless they are all built up front (see buildAll),
+ * each one only once however many threads need it at the same time. Once
+ * built, they are only read, so concurrent queries don't contend.
+ */
+public class CISUCQueryService {
+
+    // region Constants
+    private final Map<Integer, Investigator> investigators;
+    private final Map<String, InvestigationGroup> investigationGroups;
+    private final Map<String, Publication> publications;
+    private final int partitions;
+
+    private final Lazy<CISUCPublicationIndex> publicationIndex;
+    private final Lazy<CISUCPublicationCubes> publicationCubes;
+    private final Lazy<CISUCBitmapIndex> bitmapIndex;
+    private final Lazy<CISUCCoauthorshipGraph> coauthorshipGraph;
+    private final Lazy<CISUCAdvisorHierarchy> advisorHierarchy;
+    private final Lazy<CISUCListingIndexes> listingIndexes;
+    private final Lazy<CISUCSearchIndex> searchIndex;
+    private final Lazy<CISUCNameIndex<Investigator>> investigatorNameIndex;
+    private final Lazy<CISUCNameIndex<InvestigationGroup>> investigationGroupNameIndex;
+    private final Lazy<EnumMap<InvestigatorType, List<Investigator>>> investigatorsByType;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param investigators the investigators, by id.
+     * @param investigationGroups the investigation groups, by name.
+     * @param publications the publications, by title.
+     * @param partitions the number of partitions the rankings and centralities
+     * are computed in concurrently.
+     * @param log the function that logs the time each index takes to build.
+     */
+    public CISUCQueryService(Map<Integer, Investigator> investigators, Map<String, InvestigationGroup> investigationGroups, Map<String, Publication> publications,
+            int partitions, Consumer<String> log) {
+        this.investigators = Collections.unmodifiableMap(investigators);
+        this.investigationGroups = Collections.unmodifiableMap(investigationGroups);
+        this.publications = Collections.unmodifiableMap(publications);
+        this.partitions = Math.max(1, partitions);
+
+        publicationIndex = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCPublicationIndex built = new CISUCPublicationIndex(this.publications.values());
+            log.accept("PUBLICATIONS INDEXED IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        publicationCubes = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCPublicationCubes built = new CISUCPublicationCubes(this.publications.values());
+            log.accept("PUBLICATIONS COUNTED IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        bitmapIndex = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCBitmapIndex built = new CISUCBitmapIndex(this.publications.values());
+            log.accept("PUBLICATIONS BITMAP INDEX BUILT IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        coauthorshipGraph = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCCoauthorshipGraph built = new CISUCCoauthorshipGraph(this.investigators.values(), this.publications.values());
+            log.accept("CO-AUTHORSHIP GRAPH BUILT WITH " + built.getCollaborationCount() + " COLLABORATIONS IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        advisorHierarchy = new Lazy<>(() -> {
+            CISUCPublicationIndex index = publicationIndex.get();
+            long start = System.nanoTime();
+            CISUCAdvisorHierarchy built = new CISUCAdvisorHierarchy(this.investigators.values(), index);
+            log.accept("ADVISOR HIERARCHY BUILT WITH " + built.getAdvisorCount() + " ADVISORS IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        listingIndexes = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCListingIndexes built = new CISUCListingIndexes(this.publications.values(), this.investigators.values(), this.investigationGroups.values());
+            log.accept("LISTING INDEXES BUILT IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        searchIndex = new Lazy<>(() -> {
+            long start = System.nanoTime();
+            CISUCSearchIndex built = new CISUCSearchIndex(this.publications.values());
+            log.accept("PUBLICATIONS SEARCH INDEX BUILT WITH " + built.getTermCount() + " TERMS IN " + (System.nanoTime() - start) / 1000000 + " MS.");
+            return built;
+        });
+        investigatorNameIndex = new Lazy<>(() -> new CISUCNameIndex<>(this.investigators.values(), investigator -> Collections.singletonList(investigator.getName())));
+        investigationGroupNameIndex = new Lazy<>(() -> new CISUCNameIndex<>(this.investigationGroups.values(), group -> Arrays.asList(group.getName(), group.getAcronym())));
+        investigatorsByType = new Lazy<>(() -> {
+            EnumMap<InvestigatorType, List<Investigator>> built = new EnumMap<>(InvestigatorType.class);
+
+            for (InvestigatorType investigatorType : InvestigatorType.values()) {
+                built.put(investigatorType, Collections.unmodifiableList(filterByType(listingIndexes.get().getInvestigatorsById().getAll(), investigatorType)));
+            }
+            return built;
+        });
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that builds all the indexes and counters right away, instead
+     * of the first time they're needed.
+     */
+    public void buildAll() {
+        publicationIndex.get();
+        publicationCubes.get();
+        bitmapIndex.get();
+        coauthorshipGraph.get();
+        advisorHierarchy.get();
+        listingIndexes.get();
+        searchIndex.get();
+        investigatorNameIndex.get();
+        investigationGroupNameIndex.get();
+        investigatorsByType.get();
+    }
+
+    // region Entities
+    /**
+     * @return the investigators, by id, which can't be changed.
+     */
+    public Map<Integer, Investigator> getInvestigators() {
+        return investigators;
+    }
+
+    /**
+     * @return the investigation groups, by name, which can't be changed.
+     */
+    public Map<String, InvestigationGroup> getInvestigationGroups() {
+        return investigationGroups;
+    }
+
+    /**
+     * @return the publications, by title, which can't be changed.
+     */
+    public Map<String, Publication> getPublications() {
+        return publications;
+    }
+
+    /**
+     * @param investigatorId the investigator id.
+     * @return the investigator or null if it doesn't exist.
+     */
+    public Investigator getInvestigator(int investigatorId) {
+        return investigators.get(investigatorId);
+    }
+
+    /**
+     * @param investigationGroupName the investigation group name.
+     * @return the investigation group or null if it doesn't exist.
+     */
+    public InvestigationGroup getInvestigationGroup(String investigationGroupName) {
+        return investigationGroups.get(investigationGroupName);
+    }
+
+    /**
+     * Function that finds the investigators whose names best match a text,
+     * ignoring case, accents and typos (see CISUCNameIndex).
+     *
+     * @param name the text.
+     * @param maxResults the maximum number of investigators.
+     * @return the matches, from the best to the worst.
+     */
+    public List<CISUCNameIndex.Match<Investigator>> findInvestigators(String name, int maxResults) {
+        return investigatorNameIndex.get().find(name, maxResults);
+    }
+
+    /**
+     * Function that finds the investigation groups whose names or acronyms
+     * best match a text, ignoring case, accents and typos (see
+     * CISUCNameIndex).
+     *
+     * @param nameOrAcronym the text.
+     * @param maxResults the maximum number of investigation groups.
+     * @return the matches, from the best to the worst.
+     */
+    public List<CISUCNameIndex.Match<InvestigationGroup>> findInvestigationGroups(String nameOrAcronym, int maxResults) {
+        return investigationGroupNameIndex.get().find(nameOrAcronym, maxResults);
+    }
+
+    /**
+     * Function that gets the investigators of a certain type.
+     *
+     * @param investigatorType the type of the investigators.
+     * @return the investigators, sorted by id, which can't be changed.
+     */
+    public List<Investigator> getInvestigators(InvestigatorType investigatorType) {
+        return investigatorsByType.get().get(investigatorType);
+    }
+
+    /**
+     * Function that gets the members of a certain type of an investigation
+     * group.
+     *
+     * @param investigationGroupName the investigation group name.
+     * @param investigatorType the type of the members.
+     * @return the members, in the order they joined the investigation group,
+     * which can't be changed, or null if the investigation group doesn't
+     * exist.
+     */
+    public List<Investigator> getInvestigationGroupMembers(String investigationGroupName, InvestigatorType investigatorType) {
+        InvestigationGroup group = investigationGroups.get(investigationGroupName);
+
+        return group == null ? null : Collections.unmodifiableList(filterByType(group.getMemberList(), investigatorType));
+    }
+
+    /**
+     * Function that gets the sorted indexes the entities are listed and
+     * browsed by.
+     *
+     * @return the listing indexes.
+     */
+    public CISUCListingIndexes getListingIndexes() {
+        return listingIndexes.get();
+    }
+    // endregion Entities
+
+    // region Publications
+    /**
+     * Function that retrieves all the publications in the last <lastYears>
+     * years.
+     *
+     * @param lastYears the number of years to go back to retrieve the
+     * publications.
+     * @return the publications, sorted by year, which can't be changed.
+     */
+    public List<Publication> getPublications(int lastYears) {
+        return publicationIndex.get().getPublications(getFirstYear(lastYears), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Function that retrieves all the publications in the last <lastYears>
+     * years which have, at least, one member investigator of a given
+     * investigation group.
+     *
+     * @param investigationGroupName the name of the investigation group.
+     * @param lastYears the number of years to go back to retrieve the
+     * publications.
+     * @return the investigation group publications, sorted by year, or null
+     * if the investigation group doesn't exist.
+     */
+    public List<Publication> getInvestigationGroupPublications(String investigationGroupName, int lastYears) {
+        if (!investigationGroups.containsKey(investigationGroupName)) {
+            return null;
+        }
+        return publicationIndex.get().getInvestigationGroupPublications(investigationGroupName, getFirstYear(lastYears), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Function that retrieves all the publications in the last <lastYears>
+     * years authored by a certain investigator.
+     *
+     * @param investigatorId the author's id.
+     * @param lastYears the number of years to go back to retrieve the
+     * publications.
+     * @return the investigator's publications, sorted by year, or null if the
+     * investigator doesn't exist.
+     */
+    public List<Publication> getInvestigatorPublications(int investigatorId, int lastYears) {
+        if (!investigators.containsKey(investigatorId)) {
+            return null;
+        }
+        return publicationIndex.get().getInvestigatorPublications(investigatorId, getFirstYear(lastYears), Integer.MAX_VALUE);
+    }
+
+    /**
+     * @return the counters of all the publications, by year, type and impact
+     * factor, which can't be changed.
+     */
+    public CISUCPublicationCube getPublicationCounts() {
+        return publicationCubes.get().getPublicationsCube();
+    }
+
+    /**
+     * @param investigationGroupName the investigation group name.
+     * @return the counters of the investigation group publications, which
+     * can't be changed.
+     */
+    public CISUCPublicationCube getInvestigationGroupPublicationCounts(String investigationGroupName) {
+        return publicationCubes.get().getInvestigationGroupCube(investigationGroupName);
+    }
+
+    /**
+     * @param investigatorId the investigator id.
+     * @return the counters of the investigator publications, which can't be
+     * changed.
+     */
+    public CISUCPublicationCube getInvestigatorPublicationCounts(int investigatorId) {
+        return publicationCubes.get().getInvestigatorCube(investigatorId);
+    }
+
+    /**
+     * Function that gets the publications that best match a text on their
+     * titles, summaries and keywords.
+     *
+     * @param text the text.
+     * @param maxResults the maximum number of publications.
+     * @return the results, from the best to the worst.
+     */
+    public List<CISUCSearchIndex.Result> search(String text, int maxResults) {
+        return searchIndex.get().search(text, maxResults);
+    }
+
+    /**
+     * Function that parses and runs a query over the publications (see
+     * CISUCQuery and CISUCQueryPlanner).
+     *
+     * @param text the query.
+     * @return the query result.
+     * @throws CISUCQueryException if the query is malformed.
+     */
+    public CISUCQueryPlanner.Result runQuery(String text) {
+        CISUCQuery query = CISUCQuery.parse(text);
+
+        return new CISUCQueryPlanner(publicationIndex.get(), bitmapIndex.get(), investigationGroups).execute(query);
+    }
+
+    /**
+     * Function that gets the CISUC general statistics.
+     *
+     * @param lastYears the number of years to go back to count the recent
+     * publications.
+     * @return the statistics.
+     */
+    public Statistics getStatistics(int lastYears) {
+        CISUCPublicationIndex index = publicationIndex.get();
+        EnumMap<PublicationType, Integer> publicationCounts = new EnumMap<>(PublicationType.class);
+
+        for (PublicationType publicationType : PublicationType.values()) {
+            publicationCounts.put(publicationType, index.getPublications(publicationType, Integer.MIN_VALUE, Integer.MAX_VALUE).size());
+        }
+        return new Statistics(investigators.size(), getInvestigators(InvestigatorType.EFFECTIVE).size(), getInvestigators(InvestigatorType.STUDENT).size(),
+                investigationGroups.size(), publications.size(), index.getPublications(getFirstYear(lastYears), Integer.MAX_VALUE).size(), lastYears, publicationCounts);
+    }
+    // endregion Publications
+
+    // region Rankings
+    /**
+     * Function that gets the investigators with the best publications of the
+     * last years (see CISUCRanking).
+     *
+     * @param metric the metric the investigators are scored by.
+     * @param lastYears the number of years to go back.
+     * @param maxResults the maximum number of investigators.
+     * @return the best investigators, from the highest to the lowest score.
+     */
+    public List<CISUCRanking.Entry<Investigator>> getTopInvestigators(CISUCRanking.Metric metric, int lastYears, int maxResults) {
+        CISUCPublicationIndex index = publicationIndex.get();
+        int firstYear = getFirstYear(lastYears);
+
+        return new CISUCRanking(partitions).getTop(new ArrayList<>(investigators.values()), Investigator::getName,
+                investigator -> index.getInvestigatorPublications(investigator.getInvestigatorId(), firstYear, Integer.MAX_VALUE), metric, maxResults);
+    }
+
+    /**
+     * Function that gets the investigation groups with the best publications
+     * of the last years (see CISUCRanking).
+     *
+     * @param metric the metric the investigation groups are scored by.
+     * @param lastYears the number of years to go back.
+     * @param maxResults the maximum number of investigation groups.
+     * @return the best investigation groups, from the highest to the lowest
+     * score.
+     */
+    public List<CISUCRanking.Entry<InvestigationGroup>> getTopInvestigationGroups(CISUCRanking.Metric metric, int lastYears, int maxResults) {
+        CISUCPublicationIndex index = publicationIndex.get();
+        int firstYear = getFirstYear(lastYears);
+
+        return new CISUCRanking(partitions).getTop(new ArrayList<>(investigationGroups.values()), InvestigationGroup::getName,
+                group -> index.getInvestigationGroupPublications(group.getName(), firstYear, Integer.MAX_VALUE), metric, maxResults);
+    }
+
+    /**
+     * Function that gets the venues with the best articles of the last years
+     * (see CISUCRanking).
+     *
+     * @param metric the metric the venues are scored by.
+     * @param lastYears the number of years to go back.
+     * @param maxResults the maximum number of venues.
+     * @return the best venues, from the highest to the lowest score.
+     */
+    public List<CISUCRanking.Entry<String>> getTopVenues(CISUCRanking.Metric metric, int lastYears, int maxResults) {
+        return new CISUCRanking(partitions).getTopVenues(getPublications(lastYears), metric, maxResults);
+    }
+
+    /**
+     * Function that gets the advisors whose students, directly or through
+     * their own students, have the best publications of the last years (see
+     * CISUCRanking).
+     *
+     * @param metric the metric the advisors are scored by.
+     * @param lastYears the number of years to go back.
+     * @param maxResults the maximum number of advisors.
+     * @return the best advisors, from the highest to the lowest score.
+     */
+    public List<CISUCRanking.Entry<Investigator>> getTopAdvisors(CISUCRanking.Metric metric, int lastYears, int maxResults) {
+        CISUCAdvisorHierarchy hierarchy = advisorHierarchy.get();
+        int firstYear = getFirstYear(lastYears);
+
+        return new CISUCRanking(partitions).getTop(hierarchy.getAdvisors(), Investigator::getName,
+                advisor -> hierarchy.getPublications(advisor, false, firstYear, Integer.MAX_VALUE), metric, maxResults);
+    }
+    // endregion Rankings
+
+    // region Collaborations
+    /**
+     * Function that gets the shortest chain of co-authorships between two
+     * investigators.
+     *
+     * @param first the first investigator.
+     * @param second the second investigator.
+     * @return the investigators of the chain, from the first to the second,
+     * or null if they aren't connected.
+     */
+    public List<Investigator> getCollaborationPath(Investigator first, Investigator second) {
+        return coauthorshipGraph.get().getShortestPath(first, second);
+    }
+
+    /**
+     * @param first the first investigator.
+     * @param second the second investigator.
+     * @return the number of publications co-authored by both investigators.
+     */
+    public int getSharedPublicationCount(Investigator first, Investigator second) {
+        return coauthorshipGraph.get().getSharedPublicationCount(first, second);
+    }
+
+    /**
+     * @return the groups of investigators connected by chains of
+     * co-authorships, from the largest to the smallest.
+     */
+    public List<List<Investigator>> getCollaborationComponents() {
+        return coauthorshipGraph.get().getComponents();
+    }
+
+    /**
+     * @param maxResults the maximum number of investigators.
+     * @return the investigators with the highest harmonic centrality in the
+     * co-authorship graph, from the most to the least central.
+     */
+    public List<CISUCCoauthorshipGraph.Centrality> getMostCentralInvestigators(int maxResults) {
+        return coauthorshipGraph.get().getMostCentral(maxResults, partitions);
+    }
+    // endregion Collaborations
+
+    // region Advisors
+    /**
+     * @return the advisor hierarchy, which is only read.
+     */
+    public CISUCAdvisorHierarchy getAdvisorHierarchy() {
+        return advisorHierarchy.get();
+    }
+
+    /**
+     * Function that retrieves all the publications in the last <lastYears>
+     * years of an advisor and of the students it advises, directly or through
+     * its own students.
+     *
+     * @param advisor the advisor.
+     * @param lastYears the number of years to go back to retrieve the
+     * publications.
+     * @return the publications, sorted by year.
+     */
+    public List<Publication> getAdvisorAndStudentsPublications(Investigator advisor, int lastYears) {
+        return advisorHierarchy.get().getPublications(advisor, true, getFirstYear(lastYears), Integer.MAX_VALUE);
+    }
+    // endregion Advisors
+
+    /**
+     * Function that gets the first year of a time window that goes back a
+     * certain number of years, that is, the earliest year whose publications
+     * satisfy currentYear - publicationYear <= lastYears.
+     *
+     * @param lastYears the number of years to go back.
+     * @return the first year of the time window.
+     */
+    public int getFirstYear(int lastYears) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, (long) getCurrentYear() - lastYears));
+    }
+
+    /**
+     * Function that gets the current year, which the time windows go back
+     * from. It is read on every call, so that a long running service moves
+     * the windows once the year changes.
+     *
+     * @return the current year.
+     */
+    public int getCurrentYear() {
+        return Calendar.getInstance().get(Calendar.YEAR);
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that gets the investigators of a certain type.
+     *
+     * @param investigators the investigators.
+     * @param investigatorType the type of the investigators.
+     * @return the investigators of the specified type, in the same order.
+     */
+    private static List<Investigator> filterByType(List<Investigator> investigators, InvestigatorType investigatorType) {
+        ArrayList<Investigator> investigatorsByType = new ArrayList<>();
+
+        for (Investigator investigator : investigators) {
+            if (investigator.getInvestigatorType() == investigatorType) {
+                investigatorsByType.add(investigator);
+            }
+        }
+        return investigatorsByType;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds the CISUC general statistics.
+     */
+    public static class Statistics {
+
+        private final int investigatorCount, effectiveInvestigatorCount, studentInvestigatorCount,
+                investigationGroupCount, publicationCount, recentPublicationCount, lastYears;
+        private final EnumMap<PublicationType, Integer> publicationCounts;
+
+        private Statistics(int investigatorCount, int effectiveInvestigatorCount, int studentInvestigatorCount, int investigationGroupCount,
+                int publicationCount, int recentPublicationCount, int lastYears, EnumMap<PublicationType, Integer> publicationCounts) {
+            this.investigatorCount = investigatorCount;
+            this.effectiveInvestigatorCount = effectiveInvestigatorCount;
+            this.studentInvestigatorCount = studentInvestigatorCount;
+            this.investigationGroupCount = investigationGroupCount;
+            this.publicationCount = publicationCount;
+            this.recentPublicationCount = recentPublicationCount;
+            this.lastYears = lastYears;
+            this.publicationCounts = publicationCounts;
+        }
+
+        public int getInvestigatorCount() {
+            return investigatorCount;
+        }
+
+        public int getEffectiveInvestigatorCount() {
+            return effectiveInvestigatorCount;
+        }
+
+        public int getStudentInvestigatorCount() {
+            return studentInvestigatorCount;
+        }
+
+        public int getInvestigationGroupCount() {
+            return investigationGroupCount;
+        }
+
+        public int getPublicationCount() {
+            return publicationCount;
+        }
+
+        /**
+         * @return the number of publications of the last years.
+         */
+        public int getRecentPublicationCount() {
+            return recentPublicationCount;
+        }
+
+        public int getLastYears() {
+            return lastYears;
+        }
+
+        public int getPublicationCount(PublicationType publicationType) {
+            return publicationCounts.get(publicationType);
+        }
+    }
+
+    /**
+     * Class that holds a value that is only built the first time it's needed.
+     * However many threads need it at the same time, it is built once, and
+     * reading it once built doesn't lock.
+     *
+     * @param <T> the type of the value.
+     */
+    private static final class Lazy<T> {
+
+        private Supplier<T> builder;
+        private volatile T value;
+
+        private Lazy(Supplier<T> builder) {
+            this.builder = builder;
+        }
+
+        private T get() {
+            T built = value;
+
+            if (built == null) {
+                synchronized (this) {
+                    built = value;
+                    if (built == null) {
+                        value = built = builder.get();
+                        builder = null;
+                    }
+                }
+            }
+            return built;
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,302 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.ConferenceArticle;
+import cisucmanager.datamodels.ConferenceArticleBook;
+import cisucmanager.datamodels.MagazineArticle;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.enums.ImpactFactor;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that ranks investigators, investigation groups or venues (the
+ * conferences and magazines the publications appeared in) by the number of
+ * their publications, their total audience or their impact-weighted score,
+ * keeping only the best ones.
+ *
+ * The subjects are split into partitions, which are scored concurrently, each
+ * one keeping its best subjects in a heap bounded to their wanted number, and
+ * the heaps are then merged, so that no more than that number of subjects per
+ * partition is ever kept.
+ */
+public class CISUCRanking {
+
+    // region Constants
+    private static final ImpactFactor[] IMPACT_FACTORS = ImpactFactor.values();
+    // worst first, so that the heap head is the subject to be dropped
+    private static final Comparator<Entry<?>> WORST_FIRST = Comparator.<Entry<?>>comparingLong(Entry::getScore)
+            .thenComparing(Entry::getName, Comparator.reverseOrder());
+
+    private final int partitions;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param partitions the number of partitions scored concurrently.
+     */
+    public CISUCRanking(int partitions) {
+        this.partitions = Math.max(1, partitions);
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the subjects with the highest scores.
+     *
+     * @param <T> the type of the subjects.
+     * @param subjects the subjects.
+     * @param nameOf the function that gets the name of a subject, which breaks
+     * the ties in alphabetical order.
+     * @param publicationsOf the function that gets the publications of a
+     * subject.
+     * @param metric the metric the subjects are scored by.
+     * @param maxResults the maximum number of subjects.
+     * @return the best subjects, from the highest to the lowest score.
+     */
+    public <T> List<Entry<T>> getTop(List<T> subjects, Function<T, String> nameOf, Function<T, List<Publication>> publicationsOf, Metric metric, int maxResults) {
+        ArrayList<CompletableFuture<PriorityQueue<Entry<T>>>> heaps = new ArrayList<>();
+        int partitionSize = (subjects.size() + partitions - 1) / partitions;
+
+        for (int begin = 0; begin < subjects.size() && maxResults > 0; begin += partitionSize) {
+            List<T> partition = subjects.subList(begin, Math.min(subjects.size(), begin + partitionSize));
+
+            heaps.add(supply(() -> {
+                PriorityQueue<Entry<T>> heap = new PriorityQueue<>(WORST_FIRST);
+
+                for (T subject : partition) {
+                    offer(heap, new Entry<>(subject, nameOf.apply(subject), metric.score(publicationsOf.apply(subject))), maxResults);
+                }
+                return heap;
+            }));
+        }
+        return merge(heaps, maxResults);
+    }
+
+    /**
+     * Function that gets the venues with the highest scores, out of the
+     * conference and magazine articles of some publications.
+     *
+     * @param publications the publications.
+     * @param metric the metric the venues are scored by.
+     * @param maxResults the maximum number of venues.
+     * @return the best venues, from the highest to the lowest score.
+     */
+    public List<Entry<String>> getTopVenues(List<Publication> publications, Metric metric, int maxResults) {
+        ArrayList<CompletableFuture<HashMap<String, long[]>>> partialScores = new ArrayList<>();
+        int partitionSize = (publications.size() + partitions - 1) / partitions;
+
+        for (int begin = 0; begin < publications.size(); begin += partitionSize) {
+            List<Publication> partition = publications.subList(begin, Math.min(publications.size(), begin + partitionSize));
+
+            partialScores.add(supply(() -> {
+                HashMap<String, long[]> scores = new HashMap<>();
+
+                for (Publication publication : partition) {
+                    String venue = getVenue(publication);
+
+                    if (venue != null) {
+                        scores.computeIfAbsent(venue, name -> new long[1])[0] += metric.score(publication);
+                    }
+                }
+                return scores;
+            }));
+        }
+
+        HashMap<String, long[]> scores = new HashMap<>();
+        for (CompletableFuture<HashMap<String, long[]>> partial : partialScores) {
+            for (Map.Entry<String, long[]> score : partial.join().entrySet()) {
+                scores.computeIfAbsent(score.getKey(), name -> new long[1])[0] += score.getValue()[0];
+            }
+        }
+
+        PriorityQueue<Entry<String>> heap = new PriorityQueue<>(WORST_FIRST);
+        for (Map.Entry<String, long[]> score : scores.entrySet()) {
+            offer(heap, new Entry<>(score.getKey(), score.getKey(), score.getValue()[0]), maxResults);
+        }
+        return toList(heap);
+    }
+
+    /**
+     * Function that gets the venue of a publication.
+     *
+     * @param publication the publication.
+     * @return the conference or magazine name, or null if the publication
+     * isn't a conference or magazine article.
+     */
+    public static String getVenue(Publication publication) {
+        if (publication instanceof ConferenceArticle) {
+            return ((ConferenceArticle) publication).getConferenceName();
+        }
+        if (publication instanceof ConferenceArticleBook) {
+            return ((ConferenceArticleBook) publication).getConferenceName();
+        }
+        if (publication instanceof MagazineArticle) {
+            return ((MagazineArticle) publication).getMagazineName();
+        }
+        return null;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that runs a task concurrently, unless there is a single
+     * partition.
+     *
+     * @param <T> the type of the task result.
+     * @param task the task.
+     * @return the future holding the task result.
+     */
+    private <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return partitions == 1 ? CompletableFuture.completedFuture(task.get()) : CompletableFuture.supplyAsync(task);
+    }
+
+    /**
+     * Function that offers an entry to a bounded heap, dropping its worst
+     * entry if it gets over the bound.
+     *
+     * @param <T> the type of the subjects.
+     * @param heap the heap, whose head is its worst entry.
+     * @param entry the entry.
+     * @param maxResults the heap bound.
+     */
+    private static <T> void offer(PriorityQueue<Entry<T>> heap, Entry<T> entry, int maxResults) {
+        if (heap.size() < maxResults) {
+            heap.add(entry);
+        } else if (maxResults > 0 && WORST_FIRST.compare(entry, heap.peek()) > 0) {
+            heap.poll();
+            heap.add(entry);
+        }
+    }
+
+    /**
+     * Function that merges the heaps of the partitions.
+     *
+     * @param <T> the type of the subjects.
+     * @param heaps the futures holding the heaps of the partitions.
+     * @param maxResults the maximum number of subjects.
+     * @return the best subjects, from the highest to the lowest score.
+     */
+    private static <T> List<Entry<T>> merge(List<CompletableFuture<PriorityQueue<Entry<T>>>> heaps, int maxResults) {
+        PriorityQueue<Entry<T>> merged = new PriorityQueue<>(WORST_FIRST);
+
+        for (CompletableFuture<PriorityQueue<Entry<T>>> heap : heaps) {
+            for (Entry<T> entry : heap.join()) {
+                offer(merged, entry, maxResults);
+            }
+        }
+        return toList(merged);
+    }
+
+    private static <T> List<Entry<T>> toList(PriorityQueue<Entry<T>> heap) {
+        ArrayList<Entry<T>> entries = new ArrayList<>(heap);
+
+        entries.sort(WORST_FIRST.reversed());
+        return entries;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Enum that holds the metrics the subjects are ranked by.
+     */
+    public enum Metric {
+        PUBLICATIONS("NUMBER OF PUBLICATIONS", "PUBLICATION(S)"),
+        AUDIENCE("TOTAL AUDIENCE", "READER(S)"),
+        IMPACT("IMPACT-WEIGHTED SCORE", "POINT(S)");
+
+        private final String value, unit;
+
+        private Metric(String value, String unit) {
+            this.value = value;
+            this.unit = unit;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public String getUnit() {
+            return unit;
+        }
+
+        /**
+         * Function that scores a single publication: 1 for the number of
+         * publications, its audience size for the total audience and, for
+         * the impact-weighted score, 3 for impact factor A, 2 for B and 1 for
+         * C.
+         *
+         * @param publication the publication.
+         * @return the score.
+         */
+        public long score(Publication publication) {
+            switch (this) {
+                case PUBLICATIONS:
+                    return 1;
+                case AUDIENCE:
+                    return publication.getAudienceSize();
+                default:
+                    return IMPACT_FACTORS.length - publication.getImpactFactor().ordinal();
+            }
+        }
+
+        /**
+         * Function that scores some publications.
+         *
+         * @param publications the publications.
+         * @return the sum of their scores.
+         */
+        public long score(List<Publication> publications) {
+            if (this == PUBLICATIONS) {
+                return publications.size();
+            }
+            long score = 0;
+
+            for (Publication publication : publications) {
+                score += score(publication);
+            }
+            return score;
+        }
+    }
+
+    /**
+     * Class that holds a ranked subject and its score.
+     *
+     * @param <T> the type of the subject.
+     */
+    public static class Entry<T> {
+
+        private final T subject;
+        private final String name;
+        private final long score;
+
+        private Entry(T subject, String name, long score) {
+            this.subject = subject;
+            this.name = name == null ? "" : name;
+            this.score = score;
+        }
+
+        public T getSubject() {
+            return subject;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getScore() {
+            return score;
+        }
+    }
+    // endregion Nested Classes
+}
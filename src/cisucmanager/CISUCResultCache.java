@@ -0,0 +1,239 @@
+package cisucmanager;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Objects;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that caches the rendered results of the operations, so that running
+ * the same operation again over the same subject and time window doesn't
+ * redo it.
+ *
+ * The cache is bounded by the total length of the results it holds: when it
+ * gets over the bound, the least recently used results are evicted, and a
+ * result longer than the entry bound isn't cached at all.
+ *
+ * Since the time windows are relative to the current year, every result is
+ * only valid for the year it was computed in, so the cache is cleared when
+ * the year changes. It is also cleared whenever the entities are (re)loaded
+ * (see CISUCManager), since the cached results were rendered out of them.
+ */
+public class CISUCResultCache {
+
+    // region Constants
+    private final long maxWeight, maxEntryWeight;
+    private final LinkedHashMap<Key, String> results;
+    // endregion Constants
+
+    // region Private Properties
+    private long weight;
+    private int year;
+    private long hits, misses, evictions, invalidations;
+    // endregion Private Properties
+
+    // region Constructors
+    /**
+     * @param maxWeight the maximum total length of the cached results.
+     * @param maxEntryWeight the maximum length of a cached result.
+     */
+    public CISUCResultCache(long maxWeight, long maxEntryWeight) {
+        this.maxWeight = maxWeight;
+        this.maxEntryWeight = Math.min(maxWeight, maxEntryWeight);
+        results = new LinkedHashMap<>(16, 0.75f, true);
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets a cached result, making it the most recently used.
+     *
+     * @param key the result key.
+     * @param year the current year. If it isn't the year the results were
+     * computed in, they are all discarded.
+     * @return the cached result, or null if there is none.
+     */
+    public synchronized String get(Key key, int year) {
+        if (year != this.year) {
+            invalidateAll();
+            this.year = year;
+        }
+        String result = results.get(key);
+
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    /**
+     * Function that caches a result, evicting the least recently used ones
+     * while the cache is over its bound. A result longer than the entry bound
+     * isn't cached.
+     *
+     * @param key the result key.
+     * @param year the year the result was computed in.
+     * @param result the result.
+     */
+    public synchronized void put(Key key, int year, String result) {
+        if (year != this.year || result.length() > maxEntryWeight) {
+            return;
+        }
+        String previous = results.put(key, result);
+
+        weight += result.length() - (previous == null ? 0 : previous.length());
+        Iterator<String> leastRecentlyUsed = results.values().iterator();
+        while (weight > maxWeight) {
+            weight -= leastRecentlyUsed.next().length();
+            leastRecentlyUsed.remove();
+            evictions++;
+        }
+    }
+
+    /**
+     * Function that discards all the cached results, e.g. when the entities
+     * they were computed from are replaced.
+     */
+    public synchronized void invalidateAll() {
+        invalidations += results.size();
+        results.clear();
+        weight = 0;
+    }
+
+    /**
+     * Function that gets the cache statistics.
+     *
+     * @return the number of hits, misses, evictions and invalidations, and
+     * the number and total length of the cached results.
+     */
+    public synchronized String getStatistics() {
+        return hits + " HIT(S), " + misses + " MISS(ES), " + evictions + " EVICTION(S), " + invalidations + " INVALIDATION(S), "
+                + results.size() + " RESULT(S) CACHED WITH " + weight + " OF " + maxWeight + " CHARACTERS";
+    }
+
+    public long getMaxEntryWeight() {
+        return maxEntryWeight;
+    }
+    // endregion Public Methods
+
+    // region Nested Classes
+    /**
+     * Class that identifies a result by its operation, subject (e.g. the
+     * investigator id or the investigation group name), time window and
+     * whether the publications were counted or listed.
+     */
+    public static final class Key {
+
+        private final String operation, subject;
+        private final int lastYears;
+        private final boolean count;
+
+        public Key(String operation, String subject, int lastYears, boolean count) {
+            this.operation = operation;
+            this.subject = subject;
+            this.lastYears = lastYears;
+            this.count = count;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public String getSubject() {
+            return subject;
+        }
+
+        public int getLastYears() {
+            return lastYears;
+        }
+
+        public boolean isCount() {
+            return count;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return operation.equals(key.operation) && Objects.equals(subject, key.subject) && lastYears == key.lastYears && count == key.count;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operation, subject, lastYears, count);
+        }
+    }
+
+    /**
+     * Class that passes the text appended to it on to another Appendable and
+     * records it, as long as it fits in a cache entry, so that a result is
+     * cached as it is written.
+     */
+    public static final class Recorder implements Appendable {
+
+        private final Appendable out;
+        private final long maxLength;
+        private StringBuilder recorded;
+
+        /**
+         * @param out where the text is passed on to.
+         * @param maxLength the maximum length of the recorded text, after
+         * which the recording is dropped.
+         */
+        public Recorder(Appendable out, long maxLength) {
+            this.out = out;
+            this.maxLength = maxLength;
+            recorded = new StringBuilder();
+        }
+
+        @Override
+        public Appendable append(CharSequence text) throws IOException {
+            return append(text, 0, text.length());
+        }
+
+        @Override
+        public Appendable append(CharSequence text, int begin, int end) throws IOException {
+            out.append(text, begin, end);
+            if (recorded != null) {
+                if (recorded.length() + (end - begin) > maxLength) {
+                    recorded = null;
+                } else {
+                    recorded.append(text, begin, end);
+                }
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            out.append(c);
+            if (recorded != null) {
+                if (recorded.length() + 1 > maxLength) {
+                    recorded = null;
+                } else {
+                    recorded.append(c);
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Function that gets the recorded text.
+         *
+         * @return the recorded text, or null if it got longer than the
+         * maximum length.
+         */
+        public String getRecorded() {
+            return recorded == null ? null : recorded.toString();
+        }
+    }
+    // endregion Nested Classes
+}
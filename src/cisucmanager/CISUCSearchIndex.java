@@ -0,0 +1,325 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Publication;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds an inverted index over the titles, summaries and keywords
+ * of the publications and ranks the publications matching a query with BM25.
+ *
+ * Each term maps to a posting list with, for every publication it occurs in,
+ * the gap to the previous publication number and the term frequency, both
+ * stored as variable length integers (7 bits per byte, the highest bit
+ * flagging that another byte follows) in a single byte array.
+ */
+public class CISUCSearchIndex {
+
+    // region Constants
+    private static final double K1 = 1.2,
+            B = 0.75;
+    private static final int INITIAL_POSTING_LIST_SIZE = 8;
+
+    private final Publication[] publications;
+    private final float[] lengthNorms;
+    private final HashMap<String, Integer> termIds;
+    private final byte[][] postingLists;
+    private final int[] documentFrequencies;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param publications the publications to be indexed.
+     */
+    public CISUCSearchIndex(Collection<Publication> publications) {
+        this.publications = publications.toArray(new Publication[0]);
+        termIds = new HashMap<>();
+
+        int[] documentLengths = new int[this.publications.length];
+
+        ArrayList<PostingListBuilder> builders = new ArrayList<>();
+        HashMap<String, int[]> termFrequencies = new HashMap<>();
+        long totalLength = 0;
+
+        for (int document = 0; document < this.publications.length; document++) {
+            Publication publication = this.publications[document];
+            int[] length = new int[1];
+            Consumer<String> counter = term -> {
+                termFrequencies.computeIfAbsent(term, t -> new int[1])[0]++;
+                length[0]++;
+            };
+
+            tokenize(publication.getTitle(), counter);
+            tokenize(publication.getSummary(), counter);
+            if (publication.getKeywords() != null) {
+                for (String keyword : publication.getKeywords()) {
+                    tokenize(keyword, counter);
+                }
+            }
+
+            for (String term : termFrequencies.keySet()) {
+                Integer termId = termIds.get(term);
+
+                if (termId == null) {
+                    termId = builders.size();
+                    termIds.put(term, termId);
+                    builders.add(new PostingListBuilder());
+                }
+                builders.get(termId).add(document, termFrequencies.get(term)[0]);
+            }
+            termFrequencies.clear();
+
+            documentLengths[document] = length[0];
+            totalLength += length[0];
+        }
+
+        postingLists = new byte[builders.size()][];
+        documentFrequencies = new int[builders.size()];
+        for (int termId = 0; termId < builders.size(); termId++) {
+            postingLists[termId] = builders.get(termId).toByteArray();
+            documentFrequencies[termId] = builders.get(termId).documentFrequency;
+            builders.set(termId, null);
+        }
+
+        // the length dependent part of the BM25 denominator, computed once per publication
+        double averageDocumentLength = this.publications.length == 0 ? 1 : Math.max(1, (double) totalLength / this.publications.length);
+        lengthNorms = new float[this.publications.length];
+        for (int document = 0; document < this.publications.length; document++) {
+            lengthNorms[document] = (float) (K1 * (1 - B + B * documentLengths[document] / averageDocumentLength));
+        }
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that searches the publications matching, at least, one of the
+     * terms of a query, ranked by their BM25 score.
+     *
+     * @param query the query.
+     * @param maxResults the maximum number of results.
+     * @return the best ranked results, from the highest to the lowest score.
+     */
+    public List<Result> search(String query, int maxResults) {
+        LinkedHashSet<String> terms = new LinkedHashSet<>();
+        tokenize(query, terms::add);
+
+        double[] scores = new double[publications.length];
+        int[] matched = new int[16];
+        int matchedCount = 0;
+
+        for (String term : terms) {
+            Integer termId = termIds.get(term);
+
+            if (termId == null) {
+                continue;
+            }
+
+            byte[] postingList = postingLists[termId];
+            double documentFrequency = documentFrequencies[termId],
+                    idf = Math.log(1 + (publications.length - documentFrequency + 0.5) / (documentFrequency + 0.5));
+            int position = 0, document = 0;
+
+            while (position < postingList.length) {
+                int value = 0, shift = 0;
+                byte current;
+
+                do {
+                    current = postingList[position++];
+                    value |= (current & 0x7F) << shift;
+                    shift += 7;
+                } while (current < 0);
+                document += value;
+
+                value = 0;
+                shift = 0;
+                do {
+                    current = postingList[position++];
+                    value |= (current & 0x7F) << shift;
+                    shift += 7;
+                } while (current < 0);
+
+                if (scores[document] == 0) {
+                    if (matchedCount == matched.length) {
+                        matched = Arrays.copyOf(matched, matchedCount * 2);
+                    }
+                    matched[matchedCount++] = document;
+                }
+                scores[document] += idf * value * (K1 + 1) / (value + lengthNorms[document]);
+            }
+        }
+
+        PriorityQueue<Result> best = new PriorityQueue<>(Math.max(1, Math.min(maxResults, matchedCount)));
+
+        for (int i = 0; i < matchedCount && maxResults > 0; i++) {
+            int document = matched[i];
+
+            if (best.size() < maxResults) {
+                best.add(new Result(publications[document], scores[document]));
+            } else if (scores[document] >= best.peek().score) {
+                Result result = new Result(publications[document], scores[document]);
+
+                if (result.compareTo(best.peek()) > 0) {
+                    best.poll();
+                    best.add(result);
+                }
+            }
+        }
+
+        ArrayList<Result> results = new ArrayList<>(best);
+        results.sort((first, second) -> second.compareTo(first));
+        return results;
+    }
+
+    /**
+     * Function that gets the number of distinct terms in the index.
+     *
+     * @return the number of terms.
+     */
+    public int getTermCount() {
+        return postingLists.length;
+    }
+
+    /**
+     * Function that splits a text into terms, which are its sequences of
+     * letters and digits, in lower case and without accents.
+     *
+     * @param text the text to be split.
+     * @param consumer the consumer of each term, in the order they appear.
+     */
+    public static void tokenize(String text, Consumer<String> consumer) {
+        if (text == null) {
+            return;
+        }
+        String normalized = isAscii(text) ? text : Normalizer.normalize(text, Normalizer.Form.NFD);
+        StringBuilder term = new StringBuilder();
+
+        for (int i = 0; i < normalized.length(); i++) {
+            char current = normalized.charAt(i);
+
+            if (Character.getType(current) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(current)) {
+                term.append(Character.toLowerCase(current));
+            } else if (term.length() != 0) {
+                consumer.accept(term.toString());
+                term.setLength(0);
+            }
+        }
+        if (term.length() != 0) {
+            consumer.accept(term.toString());
+        }
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that checks if a text only has ASCII characters, in which case
+     * it has no accents to be removed.
+     *
+     * @param text the text to be checked.
+     * @return true if the text only has ASCII characters. False otherwise.
+     */
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds a publication matching a query and its score.
+     */
+    public static class Result implements Comparable<Result> {
+
+        private final Publication publication;
+        private final double score;
+
+        /**
+         * @param publication the matching publication.
+         * @param score the publication score.
+         */
+        private Result(Publication publication, double score) {
+            this.publication = publication;
+            this.score = score;
+        }
+
+        public Publication getPublication() {
+            return publication;
+        }
+
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public int compareTo(Result other) {
+            int comparison = Double.compare(score, other.score);
+
+            if (comparison != 0) {
+                return comparison;
+            }
+            // ties are broken by title, so that the results don't depend on the index order
+            return other.publication.getTitle().compareTo(publication.getTitle());
+        }
+    }
+
+    /**
+     * Class that builds the posting list of a term, one publication at a
+     * time, in increasing order of their numbers.
+     */
+    private static class PostingListBuilder {
+
+        private byte[] data = new byte[INITIAL_POSTING_LIST_SIZE];
+        private int size, lastDocument, documentFrequency;
+
+        /**
+         * Function that adds a publication to the posting list.
+         *
+         * @param document the publication number.
+         * @param termFrequency the number of occurrences of the term.
+         */
+        private void add(int document, int termFrequency) {
+            put(document - lastDocument);
+            put(termFrequency);
+            lastDocument = document;
+            documentFrequency++;
+        }
+
+        /**
+         * Function that appends a variable length integer.
+         *
+         * @param value the non negative integer.
+         */
+        private void put(int value) {
+            if (size + 5 > data.length) {
+                data = Arrays.copyOf(data, data.length * 2);
+            }
+            while ((value & ~0x7F) != 0) {
+                data[size++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            data[size++] = (byte) value;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(data, size);
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,73 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.Publication;
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds every entity loaded by CISUCManager so that they can be
+ * persisted together into a snapshot file, preserving the identity of the
+ * investigators and investigation groups shared by the three mappings.
+ */
+public class CISUCSnapshot implements Serializable {
+
+    // region Constants
+    private static final long serialVersionUID = 1L;
+
+    private final Map<Integer, Investigator> investigators;
+    private final Map<String, InvestigationGroup> investigationGroups;
+    private final Map<String, Publication> publications;
+    private final transient CISUCSourceStamp[] sourceStamps;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param investigators the investigators mapping.
+     * @param investigationGroups the investigation groups mapping.
+     * @param publications the publications mapping.
+     */
+    public CISUCSnapshot(Map<Integer, Investigator> investigators, Map<String, InvestigationGroup> investigationGroups, Map<String, Publication> publications) {
+        this(investigators, investigationGroups, publications, new CISUCSourceStamp[]{CISUCSourceStamp.UNKNOWN, CISUCSourceStamp.UNKNOWN, CISUCSourceStamp.UNKNOWN});
+    }
+
+    /**
+     * @param investigators the investigators mapping.
+     * @param investigationGroups the investigation groups mapping.
+     * @param publications the publications mapping.
+     * @param sourceStamps the stamps of the text files the entities were read
+     * from, indexed by CISUCSnapshotFormat source.
+     */
+    public CISUCSnapshot(Map<Integer, Investigator> investigators, Map<String, InvestigationGroup> investigationGroups, Map<String, Publication> publications, CISUCSourceStamp[] sourceStamps) {
+        this.investigators = investigators;
+        this.investigationGroups = investigationGroups;
+        this.publications = publications;
+        this.sourceStamps = sourceStamps;
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    // region Getters
+    public Map<Integer, Investigator> getInvestigators() {
+        return investigators;
+    }
+
+    public Map<String, InvestigationGroup> getInvestigationGroups() {
+        return investigationGroups;
+    }
+
+    public Map<String, Publication> getPublications() {
+        return publications;
+    }
+
+    public CISUCSourceStamp getSourceStamp(int source) {
+        return sourceStamps[source];
+    }
+    // endregion Getters
+    // endregion Public Methods
+}
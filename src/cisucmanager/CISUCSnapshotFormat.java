@@ -0,0 +1,115 @@
+package cisucmanager;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the constants which describe the binary snapshot format.
+ *
+ * A snapshot file starts with a header, made of the magic number, the format
+ * version, the number of investigators, investigation groups, publications
+ * and dictionary strings, the stamps (size, modification time and hash) of the
+ * investigators, investigation groups and publications text files the
+ * entities were read from and a directory with the offset of each column.
+ * After the header come the columns, each one being a plain big-endian array
+ * of bytes, ints or longs with one element per entity (or per list element,
+ * for the list columns, which are paired with an offsets column). Strings are
+ * dictionary encoded: every string column holds ids of the strings dictionary
+ * (-1 stands for null), whose UTF-8 bytes are stored contiguously.
+ *
+ * Investigators are stored sorted by id and publications sorted by title, so
+ * that both can be looked up by binary search without decoding every entity.
+ * The publication and investigation group numbers are stored as well, so that
+ * they are numbered just as when they were first read from the text files.
+ */
+public final class CISUCSnapshotFormat {
+
+    // region Constants
+    public static final int MAGIC = 0x43495355,
+            VERSION = 2,
+            NULL_REFERENCE = -1;
+    public static final long NULL_DATE = Long.MIN_VALUE;
+
+    // source text files, in the order their stamps are stored
+    public static final int INVESTIGATORS_SOURCE = 0,
+            INVESTIGATION_GROUPS_SOURCE = 1,
+            PUBLICATIONS_SOURCE = 2,
+            SOURCE_COUNT = 3;
+
+    public static final byte EFFECTIVE_INVESTIGATOR = 0,
+            STUDENT_INVESTIGATOR = 1;
+
+    public static final byte CONFERENCE_ARTICLE = 0,
+            MAGAZINE_ARTICLE = 1,
+            BOOK = 2,
+            BOOK_CHAPTER = 3,
+            CONFERENCE_ARTICLE_BOOK = 4;
+
+    // Strings dictionary columns
+    public static final int STRING_OFFSETS = 0, // long[stringCount + 1]
+            STRING_BYTES = 1, // byte[]
+            // Investigator columns
+            INVESTIGATOR_ID = 2, // int[]
+            INVESTIGATOR_TYPE = 3, // byte[]
+            INVESTIGATOR_NAME = 4, // string id[]
+            INVESTIGATOR_EMAIL = 5, // string id[]
+            INVESTIGATOR_GROUP = 6, // investigation group ordinal[]
+            INVESTIGATOR_OFFICE_ID = 7, // string id[], effective only
+            INVESTIGATOR_PHONE_NUMBER = 8, // string id[], effective only
+            INVESTIGATOR_THESIS_TITLE = 9, // string id[], student only
+            INVESTIGATOR_PHD_COMPLETION_DATE = 10, // long[], student only
+            INVESTIGATOR_ADVISOR_ID = 11, // int[], student only
+            // Investigation group columns
+            GROUP_NAME = 12, // string id[]
+            GROUP_ACRONYM = 13, // string id[]
+            GROUP_RESPONSIBLE_ID = 14, // int[]
+            GROUP_MEMBER_OFFSETS = 15, // int[groupCount + 1]
+            GROUP_MEMBER_IDS = 16, // int[]
+            // Publication columns
+            PUBLICATION_TYPE = 17, // byte[], one of the publication type codes
+            PUBLICATION_YEAR = 18, // int[]
+            PUBLICATION_AUDIENCE_SIZE = 19, // int[]
+            PUBLICATION_IMPACT_FACTOR = 20, // byte[], ImpactFactor ordinal
+            PUBLICATION_TITLE = 21, // string id[]
+            PUBLICATION_SUMMARY = 22, // string id[]
+            PUBLICATION_KEYWORD_OFFSETS = 23, // int[publicationCount + 1]
+            PUBLICATION_KEYWORDS = 24, // string id[]
+            PUBLICATION_AUTHOR_OFFSETS = 25, // int[publicationCount + 1]
+            PUBLICATION_AUTHOR_IDS = 26, // int[]
+            // conference name, magazine name or ISBN
+            PUBLICATION_DETAIL_1 = 27, // string id[]
+            // conference place, magazine id or publishing company
+            PUBLICATION_DETAIL_2 = 28, // string id[]
+            // chapter name or conference name (of a conference article book)
+            PUBLICATION_DETAIL_3 = 29, // string id[]
+            // conference or magazine date
+            PUBLICATION_DATE = 30, // long[]
+            // begin page or number of articles
+            PUBLICATION_NUMBER_1 = 31, // int[]
+            // end page
+            PUBLICATION_NUMBER_2 = 32, // int[]
+            // publication number
+            PUBLICATION_ID = 33, // int[]
+            // conference article, magazine article or book number
+            PUBLICATION_TYPE_ID = 34, // int[]
+            // book chapter or conference article book number
+            PUBLICATION_SUBTYPE_ID = 35, // int[]
+            // investigation group number
+            GROUP_ID = 36, // int[]
+            // effective or student investigator number
+            INVESTIGATOR_TYPE_ID = 37, // int[]
+            COLUMN_COUNT = 38;
+
+    // magic, version, 4 counts and the column count, followed by the source
+    // stamps and the column offsets directory
+    public static final int SOURCE_STAMPS_OFFSET = 7 * Integer.BYTES,
+            COLUMN_DIRECTORY_OFFSET = SOURCE_STAMPS_OFFSET + SOURCE_COUNT * 3 * Long.BYTES,
+            HEADER_SIZE = COLUMN_DIRECTORY_OFFSET + COLUMN_COUNT * Long.BYTES;
+    // endregion Constants
+
+    // region Constructors
+    private CISUCSnapshotFormat() {
+    }
+    // endregion Constructors
+}
@@ -0,0 +1,469 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Book;
+import cisucmanager.datamodels.BookChapter;
+import cisucmanager.datamodels.ConferenceArticle;
+import cisucmanager.datamodels.ConferenceArticleBook;
+import cisucmanager.datamodels.EffectiveInvestigator;
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.MagazineArticle;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.datamodels.StudentInvestigator;
+import cisucmanager.enums.InvestigatorType;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static cisucmanager.CISUCSnapshotFormat.*;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that reads a snapshot file with the binary format described in
+ * CISUCSnapshotFormat, rebuilding the entities in a single pass over the
+ * columns. Each entity type can also be read on its own, bound to
+ * investigators that didn't come from the snapshot, since the snapshot only
+ * refers to investigators by their ids.
+ */
+public class CISUCSnapshotReader implements Closeable {
+
+    // region Constants
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ByteBuffer buffer;
+    private final RandomAccessFile file;
+    private final FileChannel channel;
+    private final long[] columnOffsets;
+    private final CISUCSourceStamp[] sourceStamps;
+    private final int investigatorCount, groupCount, publicationCount, stringCount;
+    // endregion Constants
+
+    // region Instance Variables
+    private String[] strings;
+    // endregion Instance Variables
+
+    // region Constructors
+    /**
+     * @param snapshotFile the snapshot file, whose header is read right away.
+     * @throws IOException if the file couldn't be read or if it isn't a
+     * snapshot file of the current format version.
+     */
+    public CISUCSnapshotReader(File snapshotFile) throws IOException {
+        buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        file = new RandomAccessFile(snapshotFile, "r");
+        channel = file.getChannel();
+
+        try {
+            fill(0, HEADER_SIZE);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("NOT A SNAPSHOT FILE");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("UNSUPPORTED SNAPSHOT VERSION " + version);
+            }
+            investigatorCount = buffer.getInt();
+            groupCount = buffer.getInt();
+            publicationCount = buffer.getInt();
+            stringCount = buffer.getInt();
+            if (buffer.getInt() != COLUMN_COUNT) {
+                throw new IOException("UNEXPECTED NUMBER OF COLUMNS");
+            }
+            sourceStamps = new CISUCSourceStamp[SOURCE_COUNT];
+            for (int i = 0; i < SOURCE_COUNT; i++) {
+                sourceStamps[i] = new CISUCSourceStamp(buffer.getLong(), buffer.getLong(), buffer.getLong());
+            }
+            columnOffsets = new long[COLUMN_COUNT];
+            for (int i = 0; i < COLUMN_COUNT; i++) {
+                columnOffsets[i] = buffer.getLong();
+            }
+        } catch (IOException ex) {
+            file.close();
+            throw ex;
+        }
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    public CISUCSourceStamp getSourceStamp(int source) {
+        return sourceStamps[source];
+    }
+
+    /**
+     * Function that reads the whole snapshot.
+     *
+     * @return the snapshot that was read.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    public CISUCSnapshot read() throws IOException {
+        HashMap<Integer, Investigator> investigators = readInvestigators();
+        HashMap<String, InvestigationGroup> groups = readInvestigationGroups(investigators);
+        HashMap<String, Publication> publications = readPublications(investigators);
+
+        if (groups == null || publications == null) {
+            throw new IOException("UNRESOLVED INVESTIGATOR REFERENCE");
+        }
+        return new CISUCSnapshot(investigators, groups, publications, sourceStamps);
+    }
+
+    /**
+     * Function that reads the investigators, with their advisors resolved but
+     * without their investigation groups, which are set when the
+     * investigation groups are read.
+     *
+     * @return the investigators mapping.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    public HashMap<Integer, Investigator> readInvestigators() throws IOException {
+        int n = investigatorCount;
+        int[] ids = readInts(INVESTIGATOR_ID, n),
+                names = readInts(INVESTIGATOR_NAME, n),
+                emails = readInts(INVESTIGATOR_EMAIL, n),
+                officeIds = readInts(INVESTIGATOR_OFFICE_ID, n),
+                phoneNumbers = readInts(INVESTIGATOR_PHONE_NUMBER, n),
+                thesisTitles = readInts(INVESTIGATOR_THESIS_TITLE, n),
+                advisorIds = readInts(INVESTIGATOR_ADVISOR_ID, n),
+                typeIds = readInts(INVESTIGATOR_TYPE_ID, n);
+        byte[] types = readBytes(INVESTIGATOR_TYPE, n);
+        long[] completionDates = readLongs(INVESTIGATOR_PHD_COMPLETION_DATE, n);
+        HashMap<Integer, Investigator> investigators = new HashMap<>(n * 2);
+
+        readStrings();
+        for (int i = 0; i < n; i++) {
+            if (types[i] == EFFECTIVE_INVESTIGATOR) {
+                EffectiveInvestigator effective = new EffectiveInvestigator(ids[i], string(names[i]), string(emails[i]), null, string(phoneNumbers[i]), string(officeIds[i]));
+                effective.setEffectiveInvestigatorId(typeIds[i]);
+                investigators.put(ids[i], effective);
+            } else {
+                StudentInvestigator student = new StudentInvestigator(ids[i], string(names[i]), string(emails[i]), null, string(thesisTitles[i]), null, date(completionDates[i]));
+                student.setStudentInvestigatorId(typeIds[i]);
+                investigators.put(ids[i], student);
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (advisorIds[i] != NULL_REFERENCE) {
+                ((StudentInvestigator) investigators.get(ids[i])).setAdvisorInvestigator(investigators.get(advisorIds[i]));
+            }
+        }
+        return investigators;
+    }
+
+    /**
+     * Function that reads the investigation groups, binding them to the given
+     * investigators by id. Each member investigator gets its investigation
+     * group set. The investigators may have been read again from a changed
+     * text file, so the checks of the investigation groups text file that
+     * depend on them are made again: every responsible and member
+     * investigator must exist and every responsible investigator must be an
+     * effective one.
+     *
+     * @param investigators the investigators mapping.
+     * @return the investigation groups mapping or null if a responsible or
+     * member investigator isn't in the given investigators mapping or a
+     * responsible investigator isn't an effective investigator.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    public HashMap<String, InvestigationGroup> readInvestigationGroups(Map<Integer, Investigator> investigators) throws IOException {
+        int n = groupCount;
+        int[] ids = readInts(GROUP_ID, n),
+                names = readInts(GROUP_NAME, n),
+                acronyms = readInts(GROUP_ACRONYM, n),
+                responsibleIds = readInts(GROUP_RESPONSIBLE_ID, n),
+                memberOffsets = readInts(GROUP_MEMBER_OFFSETS, n + 1),
+                memberIds = readInts(GROUP_MEMBER_IDS, memberOffsets[n]);
+        HashMap<String, InvestigationGroup> groups = new HashMap<>(n * 2);
+
+        for (int memberId : memberIds) {
+            if (!investigators.containsKey(memberId)) {
+                return null;
+            }
+        }
+        for (int responsibleId : responsibleIds) {
+            Investigator responsible = investigators.get(responsibleId);
+
+            if (responsible == null || responsible.getInvestigatorType() != InvestigatorType.EFFECTIVE) {
+                return null;
+            }
+        }
+
+        readStrings();
+        for (int i = 0; i < n; i++) {
+            ArrayList<Investigator> members = new ArrayList<>(memberOffsets[i + 1] - memberOffsets[i]);
+            InvestigationGroup group = new InvestigationGroup(string(names[i]), string(acronyms[i]), investigators.get(responsibleIds[i]), members);
+
+            for (int j = memberOffsets[i]; j < memberOffsets[i + 1]; j++) {
+                Investigator member = investigators.get(memberIds[j]);
+                member.setInvestigationGroup(group);
+                members.add(member);
+            }
+            group.setInvestigationGroupId(ids[i]);
+            groups.put(group.getName(), group);
+        }
+        return groups;
+    }
+
+    /**
+     * Function that reads the publications, binding their authors to the
+     * given investigators by id.
+     *
+     * @param investigators the investigators mapping.
+     * @return the publications mapping or null if an author isn't in the
+     * given investigators mapping.
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    public HashMap<String, Publication> readPublications(Map<Integer, Investigator> investigators) throws IOException {
+        int n = publicationCount;
+        byte[] types = readBytes(PUBLICATION_TYPE, n);
+        int[] years = readInts(PUBLICATION_YEAR, n),
+                audienceSizes = readInts(PUBLICATION_AUDIENCE_SIZE, n),
+                titles = readInts(PUBLICATION_TITLE, n),
+                summaries = readInts(PUBLICATION_SUMMARY, n),
+                keywordOffsets = readInts(PUBLICATION_KEYWORD_OFFSETS, n + 1),
+                keywords = readInts(PUBLICATION_KEYWORDS, keywordOffsets[n]),
+                authorOffsets = readInts(PUBLICATION_AUTHOR_OFFSETS, n + 1),
+                authorIds = readInts(PUBLICATION_AUTHOR_IDS, authorOffsets[n]),
+                details1 = readInts(PUBLICATION_DETAIL_1, n),
+                details2 = readInts(PUBLICATION_DETAIL_2, n),
+                details3 = readInts(PUBLICATION_DETAIL_3, n),
+                numbers1 = readInts(PUBLICATION_NUMBER_1, n),
+                numbers2 = readInts(PUBLICATION_NUMBER_2, n),
+                ids = readInts(PUBLICATION_ID, n),
+                typeIds = readInts(PUBLICATION_TYPE_ID, n),
+                subtypeIds = readInts(PUBLICATION_SUBTYPE_ID, n);
+        long[] dates = readLongs(PUBLICATION_DATE, n);
+        HashMap<String, Publication> publications = new HashMap<>(n * 2);
+
+        for (int authorId : authorIds) {
+            if (!investigators.containsKey(authorId)) {
+                return null;
+            }
+        }
+
+        readStrings();
+        for (int i = 0; i < n; i++) {
+            Publication publication;
+
+            switch (types[i]) {
+                case CONFERENCE_ARTICLE:
+                    ConferenceArticle conferenceArticle = new ConferenceArticle();
+                    conferenceArticle.setConferenceArticleId(typeIds[i]);
+                    conferenceArticle.setConferenceName(string(details1[i]));
+                    conferenceArticle.setConferencePlace(string(details2[i]));
+                    conferenceArticle.setConferenceDate(date(dates[i]));
+                    publication = conferenceArticle;
+                    break;
+                case MAGAZINE_ARTICLE:
+                    MagazineArticle magazineArticle = new MagazineArticle();
+                    magazineArticle.setMagazineArticleId(typeIds[i]);
+                    magazineArticle.setMagazineName(string(details1[i]));
+                    magazineArticle.setMagazineId(string(details2[i]));
+                    magazineArticle.setMagazineDate(date(dates[i]));
+                    publication = magazineArticle;
+                    break;
+                case BOOK_CHAPTER:
+                    BookChapter bookChapter = new BookChapter();
+                    bookChapter.setBookChapterId(subtypeIds[i]);
+                    bookChapter.setChapterName(string(details3[i]));
+                    bookChapter.setBeginPage(numbers1[i]);
+                    bookChapter.setEndPage(numbers2[i]);
+                    publication = bookChapter;
+                    break;
+                case CONFERENCE_ARTICLE_BOOK:
+                    ConferenceArticleBook conferenceArticleBook = new ConferenceArticleBook();
+                    conferenceArticleBook.setConferenceArticleBookId(subtypeIds[i]);
+                    conferenceArticleBook.setConferenceName(string(details3[i]));
+                    conferenceArticleBook.setArticleNumber(numbers1[i]);
+                    publication = conferenceArticleBook;
+                    break;
+                case BOOK:
+                    publication = new Book();
+                    break;
+                default:
+                    throw new IOException("INVALID PUBLICATION TYPE " + types[i]);
+            }
+
+            if (publication instanceof Book) {
+                ((Book) publication).setBookId(typeIds[i]);
+                ((Book) publication).setIsbn(string(details1[i]));
+                ((Book) publication).setPublishingCompany(string(details2[i]));
+            }
+
+            ArrayList<String> publicationKeywords = new ArrayList<>(keywordOffsets[i + 1] - keywordOffsets[i]);
+            ArrayList<Investigator> authors = new ArrayList<>(authorOffsets[i + 1] - authorOffsets[i]);
+
+            for (int j = keywordOffsets[i]; j < keywordOffsets[i + 1]; j++) {
+                publicationKeywords.add(string(keywords[j]));
+            }
+            for (int j = authorOffsets[i]; j < authorOffsets[i + 1]; j++) {
+                authors.add(investigators.get(authorIds[j]));
+            }
+
+            publication.setPublicationId(ids[i]);
+            publication.setTitle(string(titles[i]));
+            publication.setPublicationYear(years[i]);
+            publication.setAudienceSize(audienceSizes[i]);
+            publication.setSummary(string(summaries[i]));
+            publication.setKeywords(publicationKeywords);
+            publication.setAuthors(authors);
+            publication.setImpactFactor();
+
+            publications.put(publication.getTitle(), publication);
+        }
+        return publications;
+    }
+
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that decodes the whole strings dictionary, unless it was
+     * already decoded. The bytes are read by chunks, so strings that straddle
+     * two chunks are compacted to the start of the buffer before the next
+     * chunk is read.
+     *
+     * @throws IOException if something went wrong whilst reading the file.
+     */
+    private void readStrings() throws IOException {
+        if (strings != null) {
+            return;
+        }
+        int n = stringCount;
+        long[] offsets = readLongs(STRING_OFFSETS, n + 1);
+        String[] dictionary = new String[n];
+        long position = columnOffsets[STRING_BYTES], end = position + offsets[n];
+        ByteBuffer chunk = buffer;
+
+        chunk.clear().limit(0);
+        for (int i = 0; i < n; i++) {
+            int length = (int) (offsets[i + 1] - offsets[i]);
+
+            if (chunk.remaining() < length) {
+                if (length > chunk.capacity()) {
+                    ByteBuffer larger = ByteBuffer.allocate(length);
+                    larger.put(chunk);
+                    chunk = larger;
+                } else {
+                    chunk.compact();
+                }
+                while (chunk.position() < length) {
+                    int toRead = (int) Math.min(chunk.remaining(), end - position);
+                    if (toRead == 0) {
+                        throw new EOFException("UNEXPECTED END OF SNAPSHOT FILE");
+                    }
+                    chunk.limit(chunk.position() + toRead);
+                    position += readFully(chunk, position);
+                    chunk.limit(chunk.capacity());
+                }
+                chunk.flip();
+            }
+
+            dictionary[i] = new String(chunk.array(), chunk.arrayOffset() + chunk.position(), length, StandardCharsets.UTF_8);
+            chunk.position(chunk.position() + length);
+
+            if (chunk != buffer && !chunk.hasRemaining()) {
+                chunk = buffer;
+                chunk.clear().limit(0);
+            }
+        }
+        strings = dictionary;
+    }
+
+    // region Columns
+    private byte[] readBytes(int column, int n) throws IOException {
+        byte[] values = new byte[n];
+        long position = columnOffsets[column];
+
+        for (int i = 0; i < n; ) {
+            int count = Math.min(n - i, BUFFER_SIZE);
+            fill(position, count);
+            buffer.get(values, i, count);
+            position += count;
+            i += count;
+        }
+        return values;
+    }
+
+    private int[] readInts(int column, int n) throws IOException {
+        int[] values = new int[n];
+        long position = columnOffsets[column];
+
+        for (int i = 0; i < n; ) {
+            int count = Math.min(n - i, BUFFER_SIZE / Integer.BYTES);
+            fill(position, count * Integer.BYTES);
+            buffer.asIntBuffer().get(values, i, count);
+            position += (long) count * Integer.BYTES;
+            i += count;
+        }
+        return values;
+    }
+
+    private long[] readLongs(int column, int n) throws IOException {
+        long[] values = new long[n];
+        long position = columnOffsets[column];
+
+        for (int i = 0; i < n; ) {
+            int count = Math.min(n - i, BUFFER_SIZE / Long.BYTES);
+            fill(position, count * Long.BYTES);
+            buffer.asLongBuffer().get(values, i, count);
+            position += (long) count * Long.BYTES;
+            i += count;
+        }
+        return values;
+    }
+
+    private String string(int id) {
+        return id == NULL_REFERENCE ? null : strings[id];
+    }
+
+    private Date date(long value) {
+        return value == NULL_DATE ? null : new Date(value);
+    }
+    // endregion Columns
+
+    // region Buffered Input
+    /**
+     * Function that fills the buffer with a given number of bytes read from a
+     * given position of the file, leaving it ready to be read.
+     *
+     * @param position the file position.
+     * @param bytes the number of bytes.
+     * @throws IOException if the file ends before all bytes could be read.
+     */
+    private void fill(long position, int bytes) throws IOException {
+        buffer.clear().limit(bytes);
+        readFully(buffer, position);
+        buffer.flip();
+    }
+
+    private int readFully(ByteBuffer target, long position) throws IOException {
+        int total = 0;
+
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position + total);
+            if (read < 0) {
+                throw new EOFException("UNEXPECTED END OF SNAPSHOT FILE");
+            }
+            total += read;
+        }
+        return total;
+    }
+    // endregion Buffered Input
+    // endregion Private Methods
+}
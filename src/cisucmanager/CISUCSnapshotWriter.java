@@ -0,0 +1,411 @@
+package cisucmanager;
+
+import cisucmanager.datamodels.Book;
+import cisucmanager.datamodels.BookChapter;
+import cisucmanager.datamodels.ConferenceArticle;
+import cisucmanager.datamodels.ConferenceArticleBook;
+import cisucmanager.datamodels.EffectiveInvestigator;
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.MagazineArticle;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.datamodels.StudentInvestigator;
+import cisucmanager.enums.InvestigatorType;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+
+import static cisucmanager.CISUCSnapshotFormat.*;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that writes a snapshot of the loaded entities into a file with the
+ * binary format described in CISUCSnapshotFormat.
+ */
+public class CISUCSnapshotWriter {
+
+    // region Constants
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final ByteBuffer buffer;
+    private final long[] columnOffsets;
+    private final HashMap<String, Integer> stringIds;
+    private final ArrayList<String> strings;
+    // endregion Constants
+
+    // region Instance Variables
+    private FileChannel channel;
+    private long position;
+    // endregion Instance Variables
+
+    // region Constructors
+    public CISUCSnapshotWriter() {
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        columnOffsets = new long[COLUMN_COUNT];
+        stringIds = new HashMap<>();
+        strings = new ArrayList<>();
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that writes a snapshot into a file, replacing it if it exists.
+     *
+     * @param snapshot the snapshot to be written.
+     * @param snapshotFile the target file.
+     * @throws IOException if something went wrong whilst writing the file.
+     */
+    public void write(CISUCSnapshot snapshot, File snapshotFile) throws IOException {
+        ArrayList<Investigator> investigators = new ArrayList<>(snapshot.getInvestigators().values());
+        ArrayList<InvestigationGroup> groups = new ArrayList<>(snapshot.getInvestigationGroups().values());
+        ArrayList<Publication> publications = new ArrayList<>(snapshot.getPublications().values());
+
+        investigators.sort(Comparator.comparingInt(Investigator::getInvestigatorId));
+        groups.sort(Comparator.comparing(InvestigationGroup::getName));
+        publications.sort(Comparator.comparing(Publication::getTitle));
+
+        try (RandomAccessFile file = new RandomAccessFile(snapshotFile, "rw")) {
+            file.setLength(0);
+            channel = file.getChannel();
+            position = 0;
+            buffer.clear();
+
+            for (int i = 0; i < HEADER_SIZE; i++) {
+                putByte((byte) 0);
+            }
+
+            writeInvestigators(investigators, groups);
+            writeInvestigationGroups(groups);
+            writePublications(publications);
+            writeStrings();
+            flush();
+
+            position = 0;
+            putInt(MAGIC);
+            putInt(VERSION);
+            putInt(investigators.size());
+            putInt(groups.size());
+            putInt(publications.size());
+            putInt(strings.size());
+            putInt(COLUMN_COUNT);
+            for (int source = 0; source < SOURCE_COUNT; source++) {
+                CISUCSourceStamp stamp = snapshot.getSourceStamp(source);
+                putLong(stamp.getSize());
+                putLong(stamp.getLastModified());
+                putLong(stamp.getHash());
+            }
+            for (long columnOffset : columnOffsets) {
+                putLong(columnOffset);
+            }
+            buffer.flip();
+            channel.write(buffer, 0);
+            buffer.clear();
+            channel.force(false);
+        } finally {
+            channel = null;
+            stringIds.clear();
+            strings.clear();
+        }
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    // region Sections
+    private void writeInvestigators(ArrayList<Investigator> investigators, ArrayList<InvestigationGroup> groups) throws IOException {
+        HashMap<String, Integer> groupOrdinals = new HashMap<>();
+        int n = investigators.size();
+
+        for (int i = 0; i < groups.size(); i++) {
+            groupOrdinals.put(groups.get(i).getName(), i);
+        }
+
+        int[] ids = new int[n], names = new int[n], emails = new int[n], groupRefs = new int[n],
+                officeIds = new int[n], phoneNumbers = new int[n], thesisTitles = new int[n], advisorIds = new int[n], typeIds = new int[n];
+        byte[] types = new byte[n];
+        long[] completionDates = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            Investigator investigator = investigators.get(i);
+
+            ids[i] = investigator.getInvestigatorId();
+            names[i] = stringId(investigator.getName());
+            emails[i] = stringId(investigator.getEmail());
+            groupRefs[i] = investigator.getInvestigationGroup() == null ? NULL_REFERENCE : groupOrdinals.getOrDefault(investigator.getInvestigationGroup().getName(), NULL_REFERENCE);
+            officeIds[i] = phoneNumbers[i] = thesisTitles[i] = advisorIds[i] = NULL_REFERENCE;
+            completionDates[i] = NULL_DATE;
+
+            if (investigator.getInvestigatorType() == InvestigatorType.EFFECTIVE) {
+                EffectiveInvestigator effective = (EffectiveInvestigator) investigator;
+                types[i] = EFFECTIVE_INVESTIGATOR;
+                typeIds[i] = effective.getEffectiveInvestigatorId();
+                officeIds[i] = stringId(effective.getOfficeId());
+                phoneNumbers[i] = stringId(effective.getDeiPhoneNumber());
+            } else {
+                StudentInvestigator student = (StudentInvestigator) investigator;
+                types[i] = STUDENT_INVESTIGATOR;
+                typeIds[i] = student.getStudentInvestigatorId();
+                thesisTitles[i] = stringId(student.getThesisTitle());
+                completionDates[i] = dateValue(student.getExpectedPhdCompletionDate());
+                advisorIds[i] = student.getAdvisorInvestigator() == null ? NULL_REFERENCE : student.getAdvisorInvestigator().getInvestigatorId();
+            }
+        }
+
+        writeColumn(INVESTIGATOR_ID, ids);
+        writeColumn(INVESTIGATOR_TYPE, types);
+        writeColumn(INVESTIGATOR_NAME, names);
+        writeColumn(INVESTIGATOR_EMAIL, emails);
+        writeColumn(INVESTIGATOR_GROUP, groupRefs);
+        writeColumn(INVESTIGATOR_OFFICE_ID, officeIds);
+        writeColumn(INVESTIGATOR_PHONE_NUMBER, phoneNumbers);
+        writeColumn(INVESTIGATOR_THESIS_TITLE, thesisTitles);
+        writeColumn(INVESTIGATOR_PHD_COMPLETION_DATE, completionDates);
+        writeColumn(INVESTIGATOR_ADVISOR_ID, advisorIds);
+        writeColumn(INVESTIGATOR_TYPE_ID, typeIds);
+    }
+
+    private void writeInvestigationGroups(ArrayList<InvestigationGroup> groups) throws IOException {
+        int n = groups.size();
+        int[] ids = new int[n], names = new int[n], acronyms = new int[n], responsibleIds = new int[n], memberOffsets = new int[n + 1];
+        ArrayList<Integer> memberIds = new ArrayList<>();
+
+        for (int i = 0; i < n; i++) {
+            InvestigationGroup group = groups.get(i);
+
+            ids[i] = group.getInvestigationGroupId();
+            names[i] = stringId(group.getName());
+            acronyms[i] = stringId(group.getAcronym());
+            responsibleIds[i] = group.getResponsibleInvestigator() == null ? NULL_REFERENCE : group.getResponsibleInvestigator().getInvestigatorId();
+            for (Investigator member : group.getMemberList()) {
+                memberIds.add(member.getInvestigatorId());
+            }
+            memberOffsets[i + 1] = memberIds.size();
+        }
+
+        writeColumn(GROUP_ID, ids);
+        writeColumn(GROUP_NAME, names);
+        writeColumn(GROUP_ACRONYM, acronyms);
+        writeColumn(GROUP_RESPONSIBLE_ID, responsibleIds);
+        writeColumn(GROUP_MEMBER_OFFSETS, memberOffsets);
+        writeColumn(GROUP_MEMBER_IDS, memberIds.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    private void writePublications(ArrayList<Publication> publications) throws IOException {
+        int n = publications.size(), keywordCount = 0, authorCount = 0;
+        byte[] types = new byte[n], impactFactors = new byte[n];
+        int[] years = new int[n], audienceSizes = new int[n], titles = new int[n], summaries = new int[n],
+                keywordOffsets = new int[n + 1], authorOffsets = new int[n + 1],
+                details1 = new int[n], details2 = new int[n], details3 = new int[n], numbers1 = new int[n], numbers2 = new int[n],
+                ids = new int[n], typeIds = new int[n], subtypeIds = new int[n];
+        long[] dates = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            Publication publication = publications.get(i);
+
+            ids[i] = publication.getPublicationId();
+            years[i] = publication.getPublicationYear();
+            audienceSizes[i] = publication.getAudienceSize();
+            impactFactors[i] = (byte) publication.getImpactFactor().ordinal();
+            titles[i] = stringId(publication.getTitle());
+            summaries[i] = stringId(publication.getSummary());
+            keywordCount += publication.getKeywords().size();
+            keywordOffsets[i + 1] = keywordCount;
+            authorCount += publication.getAuthors().size();
+            authorOffsets[i + 1] = authorCount;
+
+            details1[i] = details2[i] = details3[i] = numbers1[i] = numbers2[i] = subtypeIds[i] = NULL_REFERENCE;
+            dates[i] = NULL_DATE;
+
+            if (publication instanceof ConferenceArticle) {
+                ConferenceArticle article = (ConferenceArticle) publication;
+                types[i] = CONFERENCE_ARTICLE;
+                typeIds[i] = article.getConferenceArticleId();
+                details1[i] = stringId(article.getConferenceName());
+                details2[i] = stringId(article.getConferencePlace());
+                dates[i] = dateValue(article.getConferenceDate());
+            } else if (publication instanceof MagazineArticle) {
+                MagazineArticle article = (MagazineArticle) publication;
+                types[i] = MAGAZINE_ARTICLE;
+                typeIds[i] = article.getMagazineArticleId();
+                details1[i] = stringId(article.getMagazineName());
+                details2[i] = stringId(article.getMagazineId());
+                dates[i] = dateValue(article.getMagazineDate());
+            } else {
+                Book book = (Book) publication;
+                types[i] = BOOK;
+                typeIds[i] = book.getBookId();
+                details1[i] = stringId(book.getIsbn());
+                details2[i] = stringId(book.getPublishingCompany());
+
+                if (book instanceof BookChapter) {
+                    BookChapter chapter = (BookChapter) book;
+                    types[i] = BOOK_CHAPTER;
+                    subtypeIds[i] = chapter.getBookChapterId();
+                    details3[i] = stringId(chapter.getChapterName());
+                    numbers1[i] = chapter.getBeginPage();
+                    numbers2[i] = chapter.getEndPage();
+                } else if (book instanceof ConferenceArticleBook) {
+                    ConferenceArticleBook articleBook = (ConferenceArticleBook) book;
+                    types[i] = CONFERENCE_ARTICLE_BOOK;
+                    subtypeIds[i] = articleBook.getConferenceArticleBookId();
+                    details3[i] = stringId(articleBook.getConferenceName());
+                    numbers1[i] = articleBook.getArticleNumber();
+                }
+            }
+        }
+
+        int[] keywords = new int[keywordCount], authorIds = new int[authorCount];
+
+        for (int i = 0; i < n; i++) {
+            Publication publication = publications.get(i);
+            int k = keywordOffsets[i], a = authorOffsets[i];
+
+            for (String keyword : publication.getKeywords()) {
+                keywords[k++] = stringId(keyword);
+            }
+            for (Investigator author : publication.getAuthors()) {
+                authorIds[a++] = author.getInvestigatorId();
+            }
+        }
+
+        writeColumn(PUBLICATION_TYPE, types);
+        writeColumn(PUBLICATION_YEAR, years);
+        writeColumn(PUBLICATION_AUDIENCE_SIZE, audienceSizes);
+        writeColumn(PUBLICATION_IMPACT_FACTOR, impactFactors);
+        writeColumn(PUBLICATION_TITLE, titles);
+        writeColumn(PUBLICATION_SUMMARY, summaries);
+        writeColumn(PUBLICATION_KEYWORD_OFFSETS, keywordOffsets);
+        writeColumn(PUBLICATION_KEYWORDS, keywords);
+        writeColumn(PUBLICATION_AUTHOR_OFFSETS, authorOffsets);
+        writeColumn(PUBLICATION_AUTHOR_IDS, authorIds);
+        writeColumn(PUBLICATION_DETAIL_1, details1);
+        writeColumn(PUBLICATION_DETAIL_2, details2);
+        writeColumn(PUBLICATION_DETAIL_3, details3);
+        writeColumn(PUBLICATION_DATE, dates);
+        writeColumn(PUBLICATION_NUMBER_1, numbers1);
+        writeColumn(PUBLICATION_NUMBER_2, numbers2);
+        writeColumn(PUBLICATION_ID, ids);
+        writeColumn(PUBLICATION_TYPE_ID, typeIds);
+        writeColumn(PUBLICATION_SUBTYPE_ID, subtypeIds);
+    }
+
+    /**
+     * Function that writes the strings dictionary. The bytes are written
+     * first, so that the offsets are known by the time they are written.
+     *
+     * @throws IOException if something went wrong whilst writing the file.
+     */
+    private void writeStrings() throws IOException {
+        long[] offsets = new long[strings.size() + 1];
+
+        columnOffsets[STRING_BYTES] = position;
+        for (int i = 0; i < strings.size(); i++) {
+            byte[] bytes = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            putBytes(bytes);
+            offsets[i + 1] = offsets[i] + bytes.length;
+        }
+
+        writeColumn(STRING_OFFSETS, offsets);
+    }
+    // endregion Sections
+
+    // region Columns
+    private void writeColumn(int column, byte[] values) throws IOException {
+        columnOffsets[column] = position;
+        putBytes(values);
+    }
+
+    private void writeColumn(int column, int[] values) throws IOException {
+        columnOffsets[column] = position;
+        for (int value : values) {
+            putInt(value);
+        }
+    }
+
+    private void writeColumn(int column, long[] values) throws IOException {
+        columnOffsets[column] = position;
+        for (long value : values) {
+            putLong(value);
+        }
+    }
+
+    /**
+     * Function that returns the dictionary id of a string, adding it to the
+     * dictionary if needed.
+     *
+     * @param value the string.
+     * @return the dictionary id or NULL_REFERENCE if the string is null.
+     */
+    private int stringId(String value) {
+        if (value == null) {
+            return NULL_REFERENCE;
+        }
+        Integer id = stringIds.get(value);
+        if (id == null) {
+            id = strings.size();
+            stringIds.put(value, id);
+            strings.add(value);
+        }
+        return id;
+    }
+
+    private long dateValue(Date date) {
+        return date == null ? NULL_DATE : date.getTime();
+    }
+    // endregion Columns
+
+    // region Buffered Output
+    private void putByte(byte value) throws IOException {
+        ensureRemaining(Byte.BYTES);
+        buffer.put(value);
+        position += Byte.BYTES;
+    }
+
+    private void putInt(int value) throws IOException {
+        ensureRemaining(Integer.BYTES);
+        buffer.putInt(value);
+        position += Integer.BYTES;
+    }
+
+    private void putLong(long value) throws IOException {
+        ensureRemaining(Long.BYTES);
+        buffer.putLong(value);
+        position += Long.BYTES;
+    }
+
+    private void putBytes(byte[] values) throws IOException {
+        int offset = 0;
+        while (offset < values.length) {
+            ensureRemaining(1);
+            int length = Math.min(buffer.remaining(), values.length - offset);
+            buffer.put(values, offset, length);
+            offset += length;
+        }
+        position += values.length;
+    }
+
+    private void ensureRemaining(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+    // endregion Buffered Output
+    // endregion Private Methods
+}
@@ -0,0 +1,180 @@
+package cisucmanager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that keeps some items sorted by a total order, so that they are
+ * browsed a page at a time. A page is fetched after a cursor, which is the
+ * last item of the previous page, or from the first item matching a key, by
+ * binary search, in time proportional to the page size rather than to the
+ * number of items.
+ *
+ * @param <T> the type of the items.
+ */
+public class CISUCSortedIndex<T> {
+
+    // region Constants
+    private final Comparator<? super T> order;
+    private final List<T> items;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param items the items.
+     * @param order the order of the items, which must only consider two
+     * items equal if they are the same, so that a cursor is never ambiguous.
+     */
+    @SuppressWarnings("unchecked")
+    public CISUCSortedIndex(Collection<? extends T> items, Comparator<? super T> order) {
+        T[] sorted = (T[]) items.toArray();
+
+        Arrays.sort(sorted, order);
+        this.order = order;
+        this.items = Collections.unmodifiableList(Arrays.asList(sorted));
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that gets the first page of items.
+     *
+     * @param pageSize the maximum number of items of the page.
+     * @return the page.
+     */
+    public Page<T> getFirstPage(int pageSize) {
+        return getPage(0, pageSize);
+    }
+
+    /**
+     * Function that gets the page of items that follows a cursor.
+     *
+     * @param cursor the last item of the previous page, which doesn't need
+     * to be one of the items.
+     * @param pageSize the maximum number of items of the page.
+     * @return the page.
+     */
+    public Page<T> getPageAfter(T cursor, int pageSize) {
+        return getPage(search(item -> order.compare(item, cursor) > 0 ? 1 : -1), pageSize);
+    }
+
+    /**
+     * Function that gets the page of items that begins with the first one
+     * matching or following a key, e.g. the first publication of a year.
+     *
+     * @param compareToKey the function that compares an item to the key, in
+     * a way consistent with the order of the items.
+     * @param pageSize the maximum number of items of the page.
+     * @return the page.
+     */
+    public Page<T> getPageFrom(ToIntFunction<? super T> compareToKey, int pageSize) {
+        return getPage(search(item -> compareToKey.applyAsInt(item) >= 0 ? 1 : -1), pageSize);
+    }
+
+    /**
+     * Function that gets all the items, sorted.
+     *
+     * @return the items, which can't be changed.
+     */
+    public List<T> getAll() {
+        return items;
+    }
+
+    public int getSize() {
+        return items.size();
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that finds, by binary search, the first item for which a
+     * function turns positive.
+     *
+     * @param sign the function, which must be negative for a prefix of the
+     * items and positive for the rest.
+     * @return the position of the first item for which the function is
+     * positive, or the number of items if there is none.
+     */
+    private int search(ToIntFunction<? super T> sign) {
+        int low = 0, high = items.size();
+
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+
+            if (sign.applyAsInt(items.get(middle)) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private Page<T> getPage(int begin, int pageSize) {
+        int end = (int) Math.min(items.size(), (long) begin + Math.max(0, pageSize));
+
+        return new Page<>(items.subList(begin, end), begin, items.size());
+    }
+    // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that holds a page of items and where it is among them.
+     *
+     * @param <T> the type of the items.
+     */
+    public static class Page<T> {
+
+        private final List<T> items;
+        private final int position, total;
+
+        private Page(List<T> items, int position, int total) {
+            this.items = items;
+            this.position = position;
+            this.total = total;
+        }
+
+        public List<T> getItems() {
+            return items;
+        }
+
+        /**
+         * Function that gets the position of the first item of the page.
+         *
+         * @return the number of items before the page.
+         */
+        public int getPosition() {
+            return position;
+        }
+
+        public int getTotal() {
+            return total;
+        }
+
+        public boolean isEmpty() {
+            return items.isEmpty();
+        }
+
+        public boolean hasNext() {
+            return position + items.size() < total;
+        }
+
+        /**
+         * Function that gets the cursor to fetch the next page with.
+         *
+         * @return the last item of the page, or null if it's empty.
+         */
+        public T getCursor() {
+            return items.isEmpty() ? null : items.get(items.size() - 1);
+        }
+    }
+    // endregion Nested Classes
+}
@@ -0,0 +1,114 @@
+package cisucmanager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.zip.CRC32;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that identifies the contents of a source text file by its size, last
+ * modification time and a hash of its bytes, so that a snapshot can tell
+ * whether the text file it was built from has changed since.
+ */
+public class CISUCSourceStamp {
+
+    // region Constants
+    public static final CISUCSourceStamp UNKNOWN = new CISUCSourceStamp(-1, -1, 0);
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final long size, lastModified, hash;
+    // endregion Constants
+
+    // region Constructors
+    /**
+     * @param size the file size, in bytes.
+     * @param lastModified the file last modification time.
+     * @param hash the file contents hash.
+     */
+    public CISUCSourceStamp(long size, long lastModified, long hash) {
+        this.size = size;
+        this.lastModified = lastModified;
+        this.hash = hash;
+    }
+
+    /**
+     * @param file the file to be stamped.
+     * @throws IOException if the file couldn't be read.
+     */
+    public CISUCSourceStamp(File file) throws IOException {
+        this(file.length(), file.lastModified(), hash(file));
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    // region Getters
+    public long getSize() {
+        return size;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+
+    public long getHash() {
+        return hash;
+    }
+
+    public boolean isUnknown() {
+        return size < 0;
+    }
+    // endregion Getters
+
+    /**
+     * Function that checks if a file still has the contents this stamp was
+     * taken from. The file is only hashed when its size is the same but its
+     * modification time isn't, so a file that was just touched doesn't count
+     * as changed. An unknown stamp, taken from entities that didn't come from
+     * a text file, matches any file.
+     *
+     * @param file the file to be checked.
+     * @return true if the file is unchanged. False otherwise.
+     * @throws IOException if the file couldn't be read.
+     */
+    public boolean matches(File file) throws IOException {
+        if (isUnknown()) {
+            return true;
+        }
+        if (!file.exists() || file.length() != size) {
+            return false;
+        }
+        return file.lastModified() == lastModified || hash(file) == hash;
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that computes the CRC-32 of the contents of a file.
+     *
+     * @param file the file to be hashed.
+     * @return the hash.
+     * @throws IOException if the file couldn't be read.
+     */
+    private static long hash(File file) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r")) {
+            FileChannel channel = randomAccessFile.getChannel();
+            while (channel.read(buffer) >= 0) {
+                buffer.flip();
+                crc.update(buffer);
+                buffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+    // endregion Private Methods
+}
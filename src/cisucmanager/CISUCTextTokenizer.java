@@ -0,0 +1,439 @@
+package cisucmanager;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.GregorianCalendar;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that tokenizes the CISUCManager text files directly over a memory
+ * mapped region of the file. Lines are split into fields on the field
+ * separator exactly like String.split(FIELD_SEPARATOR_REGEX) would, but fields
+ * are kept as byte slices and integers and dates are parsed from the bytes,
+ * so a String is only allocated when a field is explicitly requested.
+ */
+public class CISUCTextTokenizer implements Closeable {
+
+    // region Constants
+    private static final int WINDOW_SIZE = 64 * 1024 * 1024,
+            INITIAL_MAX_FIELDS = 16;
+    private static final byte FIELD_SEPARATOR = '|',
+            LINE_FEED = '\n',
+            CARRIAGE_RETURN = '\r',
+            DATE_SEPARATOR = '/';
+
+    private final FileChannel channel;
+    private final boolean ownsChannel;
+    private final long end;
+    private final GregorianCalendar calendar;
+    // endregion Constants
+
+    // region Instance Variables
+    private MappedByteBuffer window;
+    private long windowStart, nextLineStart, lineStart;
+    private int lineNumber, lineOffset, lineEnd, fieldCount;
+    private boolean fieldsSplit;
+    private int[] fieldStarts, fieldEnds;
+    private byte[] scratch;
+    // endregion Instance Variables
+
+    // region Constructors
+    /**
+     * @param channel the channel of the text file to be tokenized. It is
+     * shared, hence it is not closed by this tokenizer.
+     * @param start the position of the first byte to be tokenized. It must be
+     * the beginning of a line.
+     * @param end the position after the last byte to be tokenized.
+     * @param firstLineNumber the line number of the first line.
+     * @throws IOException if something went wrong whilst mapping the file.
+     */
+    public CISUCTextTokenizer(FileChannel channel, long start, long end, int firstLineNumber) throws IOException {
+        this(channel, false, start, end, firstLineNumber);
+    }
+
+    private CISUCTextTokenizer(FileChannel channel, boolean ownsChannel, long start, long end, int firstLineNumber) throws IOException {
+        this.channel = channel;
+        this.ownsChannel = ownsChannel;
+        this.end = end < 0 ? channel.size() : end;
+        calendar = new GregorianCalendar();
+        fieldStarts = new int[INITIAL_MAX_FIELDS];
+        fieldEnds = new int[INITIAL_MAX_FIELDS];
+        scratch = new byte[256];
+        nextLineStart = start;
+        lineNumber = firstLineNumber - 1;
+        map(start);
+    }
+    // endregion Constructors
+
+    // region Public Methods
+    /**
+     * Function that opens a tokenizer over a whole text file, which is closed
+     * along with the tokenizer, or right away if it couldn't be mapped.
+     *
+     * @param file the text file to be tokenized.
+     * @return the tokenizer.
+     * @throws FileNotFoundException if the file doesn't exist.
+     * @throws IOException if something went wrong whilst mapping the file.
+     */
+    public static CISUCTextTokenizer open(File file) throws IOException {
+        FileChannel channel = new RandomAccessFile(file, "r").getChannel();
+
+        try {
+            return new CISUCTextTokenizer(channel, true, 0, -1, 1);
+        } catch (IOException | RuntimeException ex) {
+            channel.close();
+            throw ex;
+        }
+    }
+
+    // region Getters
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public long getLineStart() {
+        return lineStart;
+    }
+
+    public long getNextLineStart() {
+        return nextLineStart;
+    }
+    // endregion Getters
+
+    /**
+     * Function that advances the tokenizer to the next line.
+     *
+     * @return true - if there is a next line. false - otherwise.
+     * @throws IOException if something went wrong whilst mapping the file or
+     * if a line doesn't fit in the mapping window.
+     */
+    public boolean nextLine() throws IOException {
+        if (nextLineStart >= end) {
+            return false;
+        }
+
+        int lineFeed = findLineFeed((int) (nextLineStart - windowStart));
+
+        if (lineFeed < 0 && windowStart + window.limit() < end) {
+            map(nextLineStart);
+            lineFeed = findLineFeed(0);
+            if (lineFeed < 0 && window.limit() < end - windowStart) {
+                throw new IOException("LINE " + (lineNumber + 1) + " IS LONGER THAN " + WINDOW_SIZE + " BYTES!");
+            }
+        }
+
+        lineStart = nextLineStart;
+        lineOffset = (int) (lineStart - windowStart);
+
+        if (lineFeed < 0) {
+            lineEnd = window.limit();
+            nextLineStart = end;
+        } else {
+            lineEnd = lineFeed;
+            nextLineStart = windowStart + lineFeed + 1;
+        }
+        if (lineEnd > lineOffset && window.get(lineEnd - 1) == CARRIAGE_RETURN) {
+            lineEnd--;
+        }
+
+        lineNumber++;
+        fieldsSplit = false;
+        return true;
+    }
+
+    /**
+     * Function that determines if the current line must be skipped, that is,
+     * if it is empty or if it is a comment.
+     *
+     * @return true - if the current line is empty or a comment. false -
+     * otherwise.
+     */
+    public boolean isEmptyOrComment() {
+        if (lineEnd == lineOffset) {
+            return true;
+        }
+        int i = lineOffset;
+        while (i < lineEnd && (window.get(i) & 0xFF) <= ' ') {
+            i++;
+        }
+        return i + 1 < lineEnd && window.get(i) == '/' && window.get(i + 1) == '/';
+    }
+
+    /**
+     * Function that returns the whole current line.
+     *
+     * @return the current line.
+     */
+    public String getLine() {
+        return decode(lineOffset, lineEnd);
+    }
+
+    /**
+     * Function that returns the number of fields of the current line, with
+     * the same semantics as the length of the array returned by String.split.
+     *
+     * @return the number of fields.
+     */
+    public int getFieldCount() {
+        splitFields();
+        return fieldCount;
+    }
+
+    /**
+     * Function that returns a field of the current line.
+     *
+     * @param index the index of the field.
+     * @return the field.
+     */
+    public String getField(int index) {
+        checkFieldIndex(index);
+        return decode(fieldStarts[index], fieldEnds[index]);
+    }
+
+    /**
+     * Function that determines if a field of the current line is equal to a
+     * given ASCII string, without allocating it.
+     *
+     * @param index the index of the field.
+     * @param value the ASCII string.
+     * @return true - if they are equal. false - otherwise.
+     */
+    public boolean fieldEquals(int index, String value) {
+        checkFieldIndex(index);
+        int start = fieldStarts[index];
+        if (fieldEnds[index] - start != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (window.get(start + i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Function that parses a field of the current line as an integer, with the
+     * same semantics as Integer.parseInt.
+     *
+     * @param index the index of the field.
+     * @return the parsed integer.
+     * @throws NumberFormatException if the field isn't a valid integer.
+     */
+    public int getIntField(int index) {
+        checkFieldIndex(index);
+        long value = parseDigits(fieldStarts[index], fieldEnds[index], true);
+        if (value == Long.MIN_VALUE) {
+            throw new NumberFormatException("For input string: \"" + getField(index) + "\"");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Function that parses a field of the current line as a dd/MM/yyyy date,
+     * with the same (lenient) semantics as SimpleDateFormat.parse.
+     *
+     * @param index the index of the field.
+     * @return the parsed date.
+     * @throws ParseException if the field isn't a valid date.
+     */
+    public Date getDateField(int index) throws ParseException {
+        checkFieldIndex(index);
+        int[] parts = new int[3];
+        int position = fieldStarts[index], fieldEnd = fieldEnds[index];
+
+        for (int part = 0; part < parts.length; part++) {
+            int digitsEnd = position;
+            while (digitsEnd < fieldEnd && digitsEnd - position < 9 && isDigit(window.get(digitsEnd))) {
+                digitsEnd++;
+            }
+            if (digitsEnd == position) {
+                throw new ParseException("Unparseable date: \"" + getField(index) + "\"", position - fieldStarts[index]);
+            }
+            parts[part] = (int) parseDigits(position, digitsEnd, false);
+            position = digitsEnd;
+
+            if (part < parts.length - 1) {
+                if (position >= fieldEnd || window.get(position) != DATE_SEPARATOR) {
+                    throw new ParseException("Unparseable date: \"" + getField(index) + "\"", position - fieldStarts[index]);
+                }
+                position++;
+            }
+        }
+
+        calendar.clear();
+        calendar.set(parts[2], parts[1] - 1, parts[0]);
+        return calendar.getTime();
+    }
+
+    @Override
+    public void close() throws IOException {
+        window = null;
+        if (ownsChannel) {
+            channel.close();
+        }
+    }
+    // endregion Public Methods
+
+    // region Private Methods
+    /**
+     * Function that maps a window of the file starting at a given position.
+     *
+     * @param position the position of the first mapped byte.
+     * @throws IOException if something went wrong whilst mapping the file.
+     */
+    private void map(long position) throws IOException {
+        windowStart = position;
+        window = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(WINDOW_SIZE, Math.max(0, end - position)));
+    }
+
+    /**
+     * Function that finds the next line feed in the current window.
+     *
+     * @param from the window offset where the search begins.
+     * @return the window offset of the line feed or -1 if there is none.
+     */
+    private int findLineFeed(int from) {
+        int limit = window.limit();
+        for (int i = from; i < limit; i++) {
+            if (window.get(i) == LINE_FEED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Function that splits the current line into fields, trimming the
+     * whitespace around each separator and dropping the trailing empty fields,
+     * just like String.split(FIELD_SEPARATOR_REGEX).
+     */
+    private void splitFields() {
+        if (fieldsSplit) {
+            return;
+        }
+        fieldsSplit = true;
+        fieldCount = 0;
+
+        if (lineEnd == lineOffset) {
+            addField(lineOffset, lineEnd);
+            return;
+        }
+
+        int fieldStart = lineOffset;
+        for (int i = lineOffset; i < lineEnd; i++) {
+            if (window.get(i) == FIELD_SEPARATOR) {
+                int fieldEnd = i;
+                while (fieldEnd > fieldStart && isWhitespace(window.get(fieldEnd - 1))) {
+                    fieldEnd--;
+                }
+                addField(fieldStart, fieldEnd);
+
+                fieldStart = i + 1;
+                while (fieldStart < lineEnd && isWhitespace(window.get(fieldStart))) {
+                    fieldStart++;
+                }
+                i = fieldStart - 1;
+            }
+        }
+        addField(fieldStart, lineEnd);
+
+        while (fieldCount > 0 && fieldStarts[fieldCount - 1] == fieldEnds[fieldCount - 1]) {
+            fieldCount--;
+        }
+    }
+
+    private void addField(int start, int end) {
+        if (fieldCount == fieldStarts.length) {
+            fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+            fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private void checkFieldIndex(int index) {
+        splitFields();
+        if (index < 0 || index >= fieldCount) {
+            throw new ArrayIndexOutOfBoundsException(index);
+        }
+    }
+
+    /**
+     * Function that parses a run of ASCII digits, optionally preceded by a
+     * sign, into a number.
+     *
+     * @param start the window offset of the first byte.
+     * @param end the window offset after the last byte.
+     * @param signed flag that toggles the acceptance of a sign.
+     * @return the parsed number or Long.MIN_VALUE if the bytes aren't a valid
+     * integer.
+     */
+    private long parseDigits(int start, int end, boolean signed) {
+        boolean negative = false;
+        if (signed && start < end && (window.get(start) == '-' || window.get(start) == '+')) {
+            negative = window.get(start) == '-';
+            start++;
+        }
+        if (start == end) {
+            return Long.MIN_VALUE;
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            byte current = window.get(i);
+            if (!isDigit(current)) {
+                return Long.MIN_VALUE;
+            }
+            value = value * 10 + (current - '0');
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                return Long.MIN_VALUE;
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            return Long.MIN_VALUE;
+        }
+        return value;
+    }
+
+    /**
+     * Function that decodes a slice of the current window as an UTF-8 string.
+     *
+     * @param start the window offset of the first byte.
+     * @param end the window offset after the last byte.
+     * @return the decoded string.
+     */
+    private String decode(int start, int end) {
+        int length = end - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = window.get(start + i);
+        }
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    private boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == LINE_FEED || b == 0x0B || b == '\f' || b == CARRIAGE_RETURN;
+    }
+    // endregion Private Methods
+}
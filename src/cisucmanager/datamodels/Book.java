@@ -3,6 +3,7 @@ package cisucmanager.datamodels;
 import cisucmanager.enums.ImpactFactor;
 import cisucmanager.enums.PublicationType;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -14,14 +15,12 @@ import java.util.ArrayList;
 public class Book extends Publication {
 
     // region Static Variables
-    private static int globalBookId = 0;
+    private static final long serialVersionUID = 6769886862151224077L;
+    private static final AtomicInteger globalBookId = new AtomicInteger();
     // endregion Static Variables
 
-    // region Constants
-    protected final int bookId;
-    // endregion Constants
-
     // region Instance Variables
+    protected int bookId;
     protected String isbn;
     protected String publishingCompany;
     // endregion Instance Variables
@@ -29,7 +28,7 @@ public class Book extends Publication {
     // region Constructors
     public Book() {
         super();
-        bookId = globalBookId++;
+        bookId = globalBookId.getAndIncrement();
         publicationType = PublicationType.BOOK;
     }
 
@@ -45,7 +44,7 @@ public class Book extends Publication {
      */
     public Book(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors, String isbn, String publishingCompany) {
         super(title, publicationYear, audienceSize, summary, keywords, authors);
-        bookId = globalBookId++;
+        bookId = globalBookId.getAndIncrement();
         publicationType = PublicationType.BOOK;
         this.publishingCompany = publishingCompany;
         this.isbn = isbn;
@@ -54,12 +53,22 @@ public class Book extends Publication {
 
     // region Public Methods
     // region Getters & Setters
+    public int getBookId() {
+        return bookId;
+    }
+
+    public void setBookId(int bookId) {
+        this.bookId = bookId;
+        invalidate();
+    }
+
     public String getPublishingCompany() {
         return publishingCompany;
     }
 
     public void setPublishingCompany(String publishingCompany) {
         this.publishingCompany = publishingCompany;
+        invalidate();
     }
 
     public String getIsbn() {
@@ -68,6 +77,7 @@ public class Book extends Publication {
 
     public void setIsbn(String isbn) {
         this.isbn = isbn;
+        invalidate();
     }
 
     // region Overridden Methods
@@ -80,11 +90,12 @@ public class Book extends Publication {
         } else {
             impactFactor = ImpactFactor.C;
         }
+        invalidate();
     }
     // endregion Getters & Setters
 
     @Override
-    public String toString() {
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + "\n"
                 + "Book publication no: " + bookId + FIELDSET_DIVIDER
@@ -94,7 +105,7 @@ public class Book extends Publication {
                 + "Authors:" + getFormattedAuthors() + FIELDSET_DIVIDER
                 + "Book ISBN: " + isbn + "\n"
                 + "Publishing company: " + publishingCompany + FIELDSET_DIVIDER
-                + "Summary: " + summary + "\n"
+                + "Summary: " + getSummary() + "\n"
                 + "Keywords: " + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
     }
     // endregion Overridden Methods
@@ -1,6 +1,7 @@
 package cisucmanager.datamodels;
 
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -12,14 +13,12 @@ import java.util.ArrayList;
 public class BookChapter extends Book {
 
     // region Static Variables
-    private static int globalBookChapterId = 0;
+    private static final long serialVersionUID = 9106170696677282013L;
+    private static final AtomicInteger globalBookChapterId = new AtomicInteger();
     // endregion Static Variables
 
-    // region Constants
-    private final int bookChapterId;
-    // endregion Constants
-
     // region Instance Variables
+    private int bookChapterId;
     private String chapterName;
     private int beginPage, endPage;
     // endregion Instance Variables
@@ -27,7 +26,7 @@ public class BookChapter extends Book {
     // region Constructors
     public BookChapter() {
         super();
-        bookChapterId = globalBookChapterId++;
+        bookChapterId = globalBookChapterId.getAndIncrement();
     }
 
     /**
@@ -46,7 +45,7 @@ public class BookChapter extends Book {
      */
     public BookChapter(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors, String isbn, String publishingCompany, String chapterName, int beginPage, int endPage) {
         super(title, publicationYear, audienceSize, summary, keywords, authors, isbn, publishingCompany);
-        bookChapterId = globalBookChapterId++;
+        bookChapterId = globalBookChapterId.getAndIncrement();
         this.chapterName = chapterName;
         this.beginPage = beginPage;
         this.endPage = endPage;
@@ -55,12 +54,22 @@ public class BookChapter extends Book {
 
     // region Public Methods
     // region Getters & Setters
+    public int getBookChapterId() {
+        return bookChapterId;
+    }
+
+    public void setBookChapterId(int bookChapterId) {
+        this.bookChapterId = bookChapterId;
+        invalidate();
+    }
+
     public String getChapterName() {
         return chapterName;
     }
 
     public void setChapterName(String chapterName) {
         this.chapterName = chapterName;
+        invalidate();
     }
 
     public int getBeginPage() {
@@ -69,6 +78,7 @@ public class BookChapter extends Book {
 
     public void setBeginPage(int beginPage) {
         this.beginPage = beginPage;
+        invalidate();
     }
 
     public int getEndPage() {
@@ -77,12 +87,13 @@ public class BookChapter extends Book {
 
     public void setEndPage(int endPage) {
         this.endPage = endPage;
+        invalidate();
     }
     // region Getters & Setters
 
     // endregion Overridden Methods
     @Override
-    public String toString() {
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + "\n"
                 + "Book publication no: " + bookId + "\n"
@@ -96,7 +107,7 @@ public class BookChapter extends Book {
                 + "Book chapter name: " + chapterName + "\n"
                 + "Chapter begin page: " + beginPage + "\n"
                 + "Chapter end page: " + endPage + FIELDSET_DIVIDER
-                + "Summary: " + summary + "\n"
+                + "Summary: " + getSummary() + "\n"
                 + "Keywords: " + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
     }
     // endregion Overridden Methods
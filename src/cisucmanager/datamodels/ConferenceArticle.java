@@ -5,6 +5,7 @@ import cisucmanager.enums.PublicationType;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -16,14 +17,12 @@ import java.util.Date;
 public class ConferenceArticle extends Publication {
 
     // region Static Variables
-    private static int globalConferenceArticleId = 0;
+    private static final long serialVersionUID = 6201170818859333408L;
+    private static final AtomicInteger globalConferenceArticleId = new AtomicInteger();
     // endregion Static Variables
 
-    // region Constants
-    private final int conferenceArticleId;
-    // endregion Constants
-
     // region Instance Variables
+    private int conferenceArticleId;
     private String conferenceName, conferencePlace;
     private Date conferenceDate;
     // endregion Instance Variables
@@ -32,7 +31,7 @@ public class ConferenceArticle extends Publication {
     public ConferenceArticle() {
         super();
         publicationType = PublicationType.CONFERENCE_ARTICLE;
-        conferenceArticleId = globalConferenceArticleId++;
+        conferenceArticleId = globalConferenceArticleId.getAndIncrement();
     }
 
     /**
@@ -51,7 +50,7 @@ public class ConferenceArticle extends Publication {
      */
     public ConferenceArticle(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors, String conferenceName, String conferencePlace, Date conferenceDate) {
         super(title, publicationYear, audienceSize, summary, keywords, authors);
-        conferenceArticleId = globalConferenceArticleId++;
+        conferenceArticleId = globalConferenceArticleId.getAndIncrement();
         publicationType = PublicationType.CONFERENCE_ARTICLE;
         this.conferenceName = conferenceName;
         this.conferencePlace = conferencePlace;
@@ -61,12 +60,22 @@ public class ConferenceArticle extends Publication {
 
     // region Public Methods
     // region Getters & Setters
+    public int getConferenceArticleId() {
+        return conferenceArticleId;
+    }
+
+    public void setConferenceArticleId(int conferenceArticleId) {
+        this.conferenceArticleId = conferenceArticleId;
+        invalidate();
+    }
+
     public String getConferenceName() {
         return conferenceName;
     }
 
     public void setConferenceName(String conferenceName) {
         this.conferenceName = conferenceName;
+        invalidate();
     }
 
     public String getConferencePlace() {
@@ -75,6 +84,7 @@ public class ConferenceArticle extends Publication {
 
     public void setConferencePlace(String conferencePlace) {
         this.conferencePlace = conferencePlace;
+        invalidate();
     }
 
     public Date getConferenceDate() {
@@ -83,6 +93,7 @@ public class ConferenceArticle extends Publication {
 
     public void setConferenceDate(Date conferenceDate) {
         this.conferenceDate = conferenceDate;
+        invalidate();
     }
 
     // region Overridden Methods
@@ -95,11 +106,12 @@ public class ConferenceArticle extends Publication {
         } else {
             impactFactor = ImpactFactor.C;
         }
+        invalidate();
     }
     // endregion Getters & Setters
 
     @Override
-    public String toString() {
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + "\n"
                 + "Conference article publication no: " + conferenceArticleId + FIELDSET_DIVIDER
@@ -110,7 +122,7 @@ public class ConferenceArticle extends Publication {
                 + "Conference name: " + conferenceName + "\n"
                 + "Conference place: " + conferencePlace + "\n"
                 + "Conference date: " + new SimpleDateFormat("dd/MM/yyyy").format(conferenceDate) + FIELDSET_DIVIDER
-                + "Summary: " + summary + "\n"
+                + "Summary: " + getSummary() + "\n"
                 + "Keywords: " + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
     }
     // endregion Overridden Methods
@@ -2,6 +2,7 @@ package cisucmanager.datamodels;
 
 import cisucmanager.enums.ImpactFactor;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -13,21 +14,19 @@ import java.util.ArrayList;
 public class ConferenceArticleBook extends Book {
 
     // region Static Variables
-    private static int globalConferenceArticleBookId = 0;
+    private static final long serialVersionUID = 4209648019752235364L;
+    private static final AtomicInteger globalConferenceArticleBookId = new AtomicInteger();
     // endregion Static Variables
 
-    // region Constants
-    private final int conferenceArticleBookId;
-    // endregion Constants
-
     // region Instance Variables
+    private int conferenceArticleBookId;
     private String conferenceName;
     private int numberOfArticles;
     // endregion Instance Variables
 
     // region Constructors
     public ConferenceArticleBook() {
-        conferenceArticleBookId = globalConferenceArticleBookId++;
+        conferenceArticleBookId = globalConferenceArticleBookId.getAndIncrement();
     }
 
     /**
@@ -46,7 +45,7 @@ public class ConferenceArticleBook extends Book {
      */
     public ConferenceArticleBook(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors, String isbn, String publishingCompany, String conferenceName, int numberOfArticles) {
         super(title, publicationYear, audienceSize, summary, keywords, authors, isbn, publishingCompany);
-        conferenceArticleBookId = globalConferenceArticleBookId++;
+        conferenceArticleBookId = globalConferenceArticleBookId.getAndIncrement();
         this.conferenceName = conferenceName;
         this.numberOfArticles = numberOfArticles;
     }
@@ -54,12 +53,22 @@ public class ConferenceArticleBook extends Book {
 
     //region Public Methods
     //region Getters & Setters
+    public int getConferenceArticleBookId() {
+        return conferenceArticleBookId;
+    }
+
+    public void setConferenceArticleBookId(int conferenceArticleBookId) {
+        this.conferenceArticleBookId = conferenceArticleBookId;
+        invalidate();
+    }
+
     public String getConferenceName() {
         return conferenceName;
     }
 
     public void setConferenceName(String conferenceName) {
         this.conferenceName = conferenceName;
+        invalidate();
     }
 
     public int getArticleNumber() {
@@ -68,6 +77,7 @@ public class ConferenceArticleBook extends Book {
 
     public void setArticleNumber(int articleNumber) {
         this.numberOfArticles = articleNumber;
+        invalidate();
     }
 
     //region Overridden Methods
@@ -80,11 +90,12 @@ public class ConferenceArticleBook extends Book {
         } else {
             impactFactor = ImpactFactor.C;
         }
+        invalidate();
     }
     //endregion Getters & Setters
 
     @Override
-    public String toString() {
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + "\n"
                 + "Book publication no: " + bookId + "\n"
@@ -97,7 +108,7 @@ public class ConferenceArticleBook extends Book {
                 + "Publishing company: " + publishingCompany + FIELDSET_DIVIDER
                 + "Conference name: " + conferenceName + "\n"
                 + "Number of conference articles: " + numberOfArticles + FIELDSET_DIVIDER
-                + "Summary: " + summary + "\n"
+                + "Summary: " + getSummary() + "\n"
                 + "Keywords: " + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
 
     }
@@ -12,14 +12,12 @@ import cisucmanager.enums.InvestigatorType;
 public class EffectiveInvestigator extends Investigator {
 
     // region Static Variables
+    private static final long serialVersionUID = -625960196064924478L;
     private static int globalEffectiveInvestigatorId = 0;
     // endregion Static Variables
 
-    // region Constants
-    private final int effectiveInvestigatorId;
-    // endregion Constants
-
     // region Instance Variables
+    private int effectiveInvestigatorId;
     private String officeId, deiPhoneNumber;
     // endregion Instance Variables
 
@@ -54,6 +52,10 @@ public class EffectiveInvestigator extends Investigator {
         return effectiveInvestigatorId;
     }
 
+    public void setEffectiveInvestigatorId(int effectiveInvestigatorId) {
+        this.effectiveInvestigatorId = effectiveInvestigatorId;
+    }
+
     public String getOfficeId() {
         return officeId;
     }
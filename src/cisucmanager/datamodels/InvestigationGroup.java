@@ -13,14 +13,12 @@ import java.util.ArrayList;
 public class InvestigationGroup implements Serializable {
 
     // region Static Variables
+    private static final long serialVersionUID = -9072406519268552451L;
     private static int globalInvestigationGroupId = 0;
     // endregion Static Variables
 
-    // region Constants
-    private final int investigationGroupId;
-    // endregion Constants
-
     // region Instance Variables
+    private int investigationGroupId;
     private String name, acronym;
     private Investigator responsibleInvestigator;
     private ArrayList<Investigator> memberList;
@@ -54,6 +52,10 @@ public class InvestigationGroup implements Serializable {
         return investigationGroupId;
     }
 
+    public void setInvestigationGroupId(int investigationGroupId) {
+        this.investigationGroupId = investigationGroupId;
+    }
+
     public String getName() {
         return name;
     }
@@ -100,14 +102,7 @@ public class InvestigationGroup implements Serializable {
 
     // region Private Methods
     protected String getFormattedMembers() {
-        String out = "";
-        for (int i = 0; i < memberList.size(); i++) {
-            out += memberList.get(i).getName();
-            if (i != memberList.size() - 1) {
-                out += ", ";
-            }
-        }
-        return out + "\n";
+        return TextFormatter.join(memberList, Investigator::getName, ", ") + "\n";
     }
 
     // endregion Private Methods
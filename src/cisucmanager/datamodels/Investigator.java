@@ -3,6 +3,7 @@ package cisucmanager.datamodels;
 import cisucmanager.enums.InvestigatorType;
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -13,7 +14,12 @@ import java.util.Objects;
  */
 public class Investigator implements Serializable {
 
+    // region Static Variables
+    private static final AtomicInteger globalNameVersion = new AtomicInteger();
+    // endregion Static Variables
+
     // region Constants
+    private static final long serialVersionUID = 826500514884733401L;
     protected final String FIELDSET_DIVIDER = "\n====================================================\n";
     // endregion Constants
 
@@ -64,6 +70,16 @@ public class Investigator implements Serializable {
 
     public void setName(String name) {
         this.name = name;
+        globalNameVersion.incrementAndGet();
+    }
+
+    /**
+     * @return the number of times any investigator was renamed, so that the
+     * texts holding investigator names (such as the cached publication
+     * strings) can tell if they are outdated.
+     */
+    public static int getNameVersion() {
+        return globalNameVersion.get();
     }
 
     public String getEmail() {
@@ -5,6 +5,7 @@ import cisucmanager.enums.PublicationType;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -16,14 +17,12 @@ import java.util.Date;
 public class MagazineArticle extends Publication {
 
     // region Static Variables
-    private static int globalMagazineArticleId = 0;
+    private static final long serialVersionUID = 7167438615591293627L;
+    private static final AtomicInteger globalMagazineArticleId = new AtomicInteger();
     // endregion Static Variables
 
-    // region Constants
-    private final int magazineArticleId;
-    // endregion Constants
-
     // region Instance Variables
+    private int magazineArticleId;
     private String magazineName, magazineId;
     private Date magazineDate;
     // endregion Instance Variables
@@ -31,7 +30,7 @@ public class MagazineArticle extends Publication {
     // region Constructors
     public MagazineArticle() {
         super();
-        magazineArticleId = globalMagazineArticleId++;
+        magazineArticleId = globalMagazineArticleId.getAndIncrement();
         publicationType = PublicationType.MAGAZINE_ARTICLE;
     }
 
@@ -52,7 +51,7 @@ public class MagazineArticle extends Publication {
      */
     public MagazineArticle(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors, String magazineId, String magazineName, Date magazineDate) {
         super(title, publicationYear, audienceSize, summary, keywords, authors);
-        magazineArticleId = globalMagazineArticleId++;
+        magazineArticleId = globalMagazineArticleId.getAndIncrement();
         publicationType = PublicationType.MAGAZINE_ARTICLE;
         this.magazineDate = magazineDate;
         this.magazineName = magazineName;
@@ -62,12 +61,22 @@ public class MagazineArticle extends Publication {
 
     // region Public Methods
     // region Getters & Setters
+    public int getMagazineArticleId() {
+        return magazineArticleId;
+    }
+
+    public void setMagazineArticleId(int magazineArticleId) {
+        this.magazineArticleId = magazineArticleId;
+        invalidate();
+    }
+
     public Date getMagazineDate() {
         return magazineDate;
     }
 
     public void setMagazineDate(Date magazineDate) {
         this.magazineDate = magazineDate;
+        invalidate();
     }
 
     public String getMagazineName() {
@@ -76,6 +85,7 @@ public class MagazineArticle extends Publication {
 
     public void setMagazineName(String magazineName) {
         this.magazineName = magazineName;
+        invalidate();
     }
 
     public String getMagazineId() {
@@ -84,6 +94,7 @@ public class MagazineArticle extends Publication {
 
     public void setMagazineId(String magazineId) {
         this.magazineId = magazineId;
+        invalidate();
     }
 
     //region Overridden Methods
@@ -96,11 +107,12 @@ public class MagazineArticle extends Publication {
         } else {
             impactFactor = ImpactFactor.C;
         }
+        invalidate();
     }
 
     // endregion Getters & Setters
     @Override
-    public String toString() {
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + "\n"
                 + "Magazine article publication no: " + magazineArticleId + FIELDSET_DIVIDER
@@ -111,7 +123,7 @@ public class MagazineArticle extends Publication {
                 + "Magazine ID: " + magazineId + "\n"
                 + "Magazine name: " + magazineName + "\n"
                 + "Magazine date: " + new SimpleDateFormat("dd/MM/yyyy").format(magazineDate) + FIELDSET_DIVIDER
-                + "Summary: " + summary + "\n"
+                + "Summary: " + getSummary() + "\n"
                 + "Keywords: " + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
     }
     //endregion Overridden Methods
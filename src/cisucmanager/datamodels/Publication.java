@@ -3,8 +3,12 @@ package cisucmanager.datamodels;
 import cisucmanager.enums.ImpactFactor;
 import cisucmanager.enums.InvestigatorType;
 import cisucmanager.enums.PublicationType;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author Sancho Amaral Simoes, 2019217590
@@ -13,20 +17,26 @@ import java.util.ArrayList;
  *
  * Abstract class that encapsulates the base information about an investigation
  * publication.
+ *
+ * The string representation is rendered once and kept until one of the
+ * setters is called or any investigator is renamed, since it holds the names
+ * of the authors. It is only softly referenced, so that listing a large
+ * catalogue doesn't keep every rendered publication in memory.
  */
 public abstract class Publication implements Serializable {
 
     // region Static Variables
-    private static int globalPublicationId = 0;
+    private static final long serialVersionUID = 1655455412215254453L;
+    private static final AtomicInteger globalPublicationId = new AtomicInteger();
     // endregion Static Variables
 
     // region Constants
-    protected final int publicationId;
     protected final int MAX_LINE_SIZE = 50;
     protected final String FIELDSET_DIVIDER = "\n" + new String(new char[MAX_LINE_SIZE]).replace("\0", "=") + "\n";
     // endregion Constants
 
     // region Instance Variables
+    protected int publicationId;
     protected PublicationType publicationType;
     protected String title;
     protected int publicationYear;
@@ -35,11 +45,13 @@ public abstract class Publication implements Serializable {
     protected ImpactFactor impactFactor;
     protected ArrayList<String> keywords;
     protected ArrayList<Investigator> authors;
+    protected transient volatile Runnable deferredDetailsLoader;
+    private transient volatile Rendered rendered;
     // endregion Instance Variables
 
     // region Constructors
     public Publication() {
-        publicationId = globalPublicationId++;
+        publicationId = globalPublicationId.getAndIncrement();
         authors = new ArrayList<>();
     }
 
@@ -52,7 +64,7 @@ public abstract class Publication implements Serializable {
      * @param authors the publication's author's.
      */
     public Publication(String title, int publicationYear, int audienceSize, String summary, ArrayList<String> keywords, ArrayList<Investigator> authors) {
-        publicationId = globalPublicationId++;
+        publicationId = globalPublicationId.getAndIncrement();
         setImpactFactor();
         this.authors = authors;
         this.title = title;
@@ -65,6 +77,15 @@ public abstract class Publication implements Serializable {
 
     // region Public Methods
     // region Getters & Setters
+    public int getPublicationId() {
+        return publicationId;
+    }
+
+    public void setPublicationId(int publicationId) {
+        this.publicationId = publicationId;
+        invalidate();
+    }
+
     public PublicationType getPublicationType() {
         return publicationType;
     }
@@ -75,6 +96,7 @@ public abstract class Publication implements Serializable {
 
     public void setTitle(String title) {
         this.title = title;
+        invalidate();
     }
 
     public int getPublicationYear() {
@@ -83,6 +105,7 @@ public abstract class Publication implements Serializable {
 
     public void setPublicationYear(int publicationYear) {
         this.publicationYear = publicationYear;
+        invalidate();
     }
 
     public int getAudienceSize() {
@@ -91,14 +114,17 @@ public abstract class Publication implements Serializable {
 
     public void setAudienceSize(int audienceSize) {
         this.audienceSize = audienceSize;
+        invalidate();
     }
 
     public String getSummary() {
+        loadDeferredDetails();
         return summary;
     }
 
     public void setSummary(String summary) {
         this.summary = summary;
+        invalidate();
     }
 
     public ImpactFactor getImpactFactor() {
@@ -108,11 +134,13 @@ public abstract class Publication implements Serializable {
     public abstract void setImpactFactor();
 
     public ArrayList<String> getKeywords() {
+        loadDeferredDetails();
         return keywords;
     }
 
     public void setKeywords(ArrayList<String> keywords) {
         this.keywords = keywords;
+        invalidate();
     }
 
     public ArrayList<Investigator> getAuthors() {
@@ -121,25 +149,66 @@ public abstract class Publication implements Serializable {
 
     public void setAuthors(ArrayList<Investigator> authors) {
         this.authors = authors;
+        invalidate();
+    }
+
+    /**
+     * Function that defers the loading of the summary and the keywords until
+     * one of them is first needed. The loader is run once, at most, and is
+     * expected to set both through their setters.
+     *
+     * @param deferredDetailsLoader the summary and keywords loader.
+     */
+    public void setDeferredDetailsLoader(Runnable deferredDetailsLoader) {
+        this.deferredDetailsLoader = deferredDetailsLoader;
     }
 
     // endregion Getters & Setters
     // region Overridden Methods
     @Override
     public String toString() {
+        Rendered cached = rendered;
+        // read before rendering, so that a rename while rendering outdates the new string
+        int nameVersion = Investigator.getNameVersion();
+        String string = cached == null || cached.nameVersion != nameVersion ? null : cached.get();
+
+        if (string == null) {
+            string = render();
+            rendered = new Rendered(string, nameVersion);
+        }
+        return string;
+    }
+
+    // endregion Overridden Methods
+    // endregion Public Methods
+    // region Protected Methods
+    /**
+     * Function that renders the string representation of the publication,
+     * which toString caches.
+     *
+     * @return the string representation.
+     */
+    protected String render() {
         return breakText("\nPublication no: " + publicationId + "\n"
                 + "Publication type: " + publicationType.getValue() + FIELDSET_DIVIDER
                 + "Publication year: " + publicationYear + "\n"
                 + "Audience size: " + audienceSize + "\n"
                 + "Impact factor: " + impactFactor + "\n"
                 + "Authors: " + getFormattedAuthors() + "\n"
-                + "Summary: " + breakText(summary, MAX_LINE_SIZE) + "\n"
+                + "Summary: " + breakText(getSummary(), MAX_LINE_SIZE) + "\n"
                 + "Keywords:" + getFormattedKeywords() + "\n\n", MAX_LINE_SIZE);
     }
 
-    // endregion Overridden Methods
-    // endregion Public Methods
-    // region Protected Methods
+    /**
+     * Function that discards the cached string representation, so that it is
+     * rendered again. It is called by every setter, whereas renaming an
+     * author outdates it through the investigator name version (see
+     * Investigator.getNameVersion).
+     */
+    protected void invalidate() {
+        rendered = null;
+    }
+
     /**
      * Method that returns a csv formatted representation of the publication
      * authors.
@@ -147,14 +216,7 @@ public abstract class Publication implements Serializable {
      * @return the formatted list.
      */
     protected String getFormattedAuthors() {
-        String out = "";
-        for (int i = 0; i < authors.size(); i++) {
-            out += getFormattedAuthorName(authors.get(i));
-            if (i != authors.size() - 1) {
-                out += ", ";
-            }
-        }
-        return out;
+        return TextFormatter.join(authors, this::getFormattedAuthorName, ", ");
     }
 
     /**
@@ -164,47 +226,50 @@ public abstract class Publication implements Serializable {
      * @return the formatted list.
      */
     protected String getFormattedKeywords() {
-        String out = "";
-        for (int i = 0; i < keywords.size(); i++) {
-            out += keywords.get(i);
-            if (i != keywords.size() - 1) {
-                out += ", ";
-            }
-        }
-        return out;
+        return String.join(", ", getKeywords());
     }
 
     /**
-     * Rudimentary function that breaks text after a certain amount of
-     * characters.
+     * Function that breaks text after a certain amount of characters (see
+     * TextFormatter).
      *
      * @param toBreak the text to break.
      * @param maxLineSize the max number of chars per line.
      * @return the formatted text.
      */
     protected String breakText(String toBreak, int maxLineSize) {
-        String out = "";
-        int counter = 0;
-        for (int i = 0; i < toBreak.length() - 1; i++) {
-            char current = toBreak.charAt(i), next = toBreak.charAt(i + 1);
-            out += Character.toString(current);
-            if (counter % maxLineSize == 0 && counter != 0 && current != '\n') {
-                if (!(next == '-' || next == ',' || next == ';' || next == ' ' || next == '.')) {
-                    out += "_";
+        return TextFormatter.breakText(toBreak, maxLineSize);
+    }
+    // endregion Protected Methods
+
+    // region Private Methods
+    /**
+     * Function that runs the deferred summary and keywords loader, if there is
+     * one still pending.
+     */
+    private void loadDeferredDetails() {
+        if (deferredDetailsLoader != null) {
+            synchronized (this) {
+                if (deferredDetailsLoader != null) {
+                    deferredDetailsLoader.run();
+                    deferredDetailsLoader = null;
                 }
-                counter = 0;
-                out += "\n";
-            }
-            counter++;
-            if (current == '\n') {
-                counter = 0;
             }
         }
-        return out;
     }
-    // endregion Protected Methods
 
-    // region Private Methods
+    /**
+     * Function that loads the deferred summary and keywords before the
+     * publication is serialized, since the loader itself can't be.
+     *
+     * @param out the object output stream.
+     * @throws IOException if something went wrong whilst writing the object.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        loadDeferredDetails();
+        out.defaultWriteObject();
+    }
+
     /**
      * Util function that returns a formatted name of an author according to its
      * type.
@@ -222,4 +287,20 @@ public abstract class Publication implements Serializable {
         }
     }
     // endregion Private Methods
+
+    // region Nested Classes
+    /**
+     * Class that softly references a rendered string representation, along
+     * with the investigator name version it was rendered at.
+     */
+    private static final class Rendered extends SoftReference<String> {
+
+        private final int nameVersion;
+
+        private Rendered(String string, int nameVersion) {
+            super(string);
+            this.nameVersion = nameVersion;
+        }
+    }
+    // endregion Nested Classes
 }
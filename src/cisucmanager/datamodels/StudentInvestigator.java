@@ -14,14 +14,12 @@ import java.util.Date;
 public class StudentInvestigator extends Investigator {
 
     // region Static Variables
+    private static final long serialVersionUID = 3027281421529800920L;
     private static int globalStudentInvestigatorId = 0;
     // endregion Static Variables
 
-    // region Constants
-    private final int studentInvestigatorId;
-    // endregion Constants
-
     // region Instance Variables
+    private int studentInvestigatorId;
     private String thesisTitle;
     private Date expectedPhdCompletionDate;
     private Investigator advisorInvestigator;
@@ -63,6 +61,10 @@ public class StudentInvestigator extends Investigator {
         return studentInvestigatorId;
     }
 
+    public void setStudentInvestigatorId(int studentInvestigatorId) {
+        this.studentInvestigatorId = studentInvestigatorId;
+    }
+
     public String getThesisTitle() {
         return thesisTitle;
     }
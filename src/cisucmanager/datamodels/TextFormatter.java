@@ -0,0 +1,77 @@
+package cisucmanager.datamodels;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Class that holds the text formatting functions shared by the data models'
+ * string representations. Every function writes into a single StringBuilder,
+ * sized up front, so formatting takes time proportional to the text length.
+ */
+final class TextFormatter {
+
+    // region Constructors
+    private TextFormatter() {
+    }
+    // endregion Constructors
+
+    // region Package-private Methods
+    /**
+     * Rudimentary function that breaks text after a certain amount of
+     * characters. A line broken in the middle of a word ends with an
+     * underscore. The last character of the text is dropped.
+     *
+     * @param toBreak the text to break.
+     * @param maxLineSize the max number of chars per line.
+     * @return the formatted text.
+     */
+    static String breakText(String toBreak, int maxLineSize) {
+        StringBuilder out = new StringBuilder(toBreak.length() + 2 * (toBreak.length() / maxLineSize + 1));
+        int counter = 0;
+
+        for (int i = 0; i < toBreak.length() - 1; i++) {
+            char current = toBreak.charAt(i), next = toBreak.charAt(i + 1);
+
+            out.append(current);
+            if (counter == maxLineSize && current != '\n') {
+                if (!(next == '-' || next == ',' || next == ';' || next == ' ' || next == '.')) {
+                    out.append('_');
+                }
+                counter = 0;
+                out.append('\n');
+            }
+            counter++;
+            if (current == '\n') {
+                counter = 0;
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Function that joins the string representations of some items.
+     *
+     * @param <T> the type of the items.
+     * @param items the items.
+     * @param toString the function that gets the string representation of an
+     * item.
+     * @param separator the separator between two items.
+     * @return the joined string.
+     */
+    static <T> String join(List<T> items, Function<T, String> toString, String separator) {
+        StringBuilder out = new StringBuilder();
+
+        for (int i = 0; i < items.size(); i++) {
+            if (i != 0) {
+                out.append(separator);
+            }
+            out.append(toString.apply(items.get(i)));
+        }
+        return out.toString();
+    }
+    // endregion Package-private Methods
+}
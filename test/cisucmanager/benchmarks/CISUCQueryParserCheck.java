@@ -0,0 +1,92 @@
+package cisucmanager.benchmarks;
+
+import cisucmanager.CISUCQuery;
+import cisucmanager.CISUCQueryException;
+import java.util.ArrayList;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Check that parses each documented form of a CISUCQuery, including a query
+ * starting with the group field, and compares it with its expected reading.
+ * It exits with status 1 if any query is read otherwise.
+ *
+ * Usage: CISUCQueryParserCheck
+ */
+public class CISUCQueryParserCheck {
+
+    // region Constants
+    private static final String[][] QUERIES = {
+        {"", ""},
+        {"count", "count"},
+        {"year>=2018", "year >= 2018"},
+        {"type=BOOK and year>=2018 and year<2021", "type = BOOK and year >= 2018 and year < 2021"},
+        {"impact=A or impact=B", "impact = A or impact = B"},
+        {"not (type=BOOK or author=3)", "not (type = BOOK or author = 3)"},
+        {"title~learning and group!=AC", "title ~ \"learning\" and group != \"AC\""},
+        {"group=SSE and year>=2020", "group = \"SSE\" and year >= 2020"},
+        {"group=\"SSE\"", "group = \"SSE\""},
+        {"group by year,impact", "group by year,impact"},
+        {"group=SSE group by type count", "group = \"SSE\" group by type count"},
+        {"explain type=BOOK and year>=2018 and group=\"Software and Systems Engineering\" group by year,impact count",
+            "explain type = BOOK and year >= 2018 and group = \"Software and Systems Engineering\" group by year,impact count"}
+    };
+    // endregion Constants
+
+    /**
+     * @param args the command line arguments, which are ignored.
+     */
+    public static void main(String[] args) {
+        int failures = 0;
+
+        for (String[] query : QUERIES) {
+            String reading;
+
+            try {
+                reading = read(CISUCQuery.parse(query[0]));
+            } catch (CISUCQueryException ex) {
+                reading = ex.getMessage();
+            }
+            if (reading.equals(query[1])) {
+                System.out.println("OK: " + query[0]);
+            } else {
+                System.out.println("ERROR: " + query[0] + " WAS READ AS " + reading + " INSTEAD OF " + query[1] + "!");
+                failures++;
+            }
+        }
+        System.out.println(QUERIES.length - failures + " OF " + QUERIES.length + " QUERIES PARSED AS EXPECTED.");
+        if (failures > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Function that writes back a parsed query, with a single space between
+     * its parts.
+     *
+     * @param query the parsed query.
+     * @return the query reading.
+     */
+    private static String read(CISUCQuery query) {
+        ArrayList<String> parts = new ArrayList<>(), groupBy = new ArrayList<>();
+
+        if (query.isExplain()) {
+            parts.add("explain");
+        }
+        if (query.getPredicate() != null) {
+            parts.add(query.getPredicate().toString());
+        }
+        for (CISUCQuery.Field field : query.getGroupBy()) {
+            groupBy.add(field.toString());
+        }
+        if (!groupBy.isEmpty()) {
+            parts.add("group by " + String.join(",", groupBy));
+        }
+        if (query.isCount()) {
+            parts.add("count");
+        }
+        return String.join(" ", parts);
+    }
+}
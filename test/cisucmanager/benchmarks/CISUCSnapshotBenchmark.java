@@ -0,0 +1,228 @@
+package cisucmanager.benchmarks;
+
+import cisucmanager.CISUCSnapshot;
+import cisucmanager.CISUCSnapshotReader;
+import cisucmanager.CISUCSnapshotWriter;
+import cisucmanager.datamodels.Book;
+import cisucmanager.datamodels.BookChapter;
+import cisucmanager.datamodels.ConferenceArticle;
+import cisucmanager.datamodels.EffectiveInvestigator;
+import cisucmanager.datamodels.InvestigationGroup;
+import cisucmanager.datamodels.Investigator;
+import cisucmanager.datamodels.MagazineArticle;
+import cisucmanager.datamodels.Publication;
+import cisucmanager.datamodels.StudentInvestigator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Benchmark that compares, on a large synthetic set of entities, the former
+ * Java serialization snapshot (a single ObjectOutputStream object graph) with
+ * the columnar binary snapshot written by CISUCSnapshotWriter and read by
+ * CISUCSnapshotReader.
+ *
+ * With the default 500000 publications (25000 investigators, 500
+ * investigation groups), 4 rounds and -Xmx6g, serialization read the
+ * snapshot in 5.6-7.4 s out of 185.8 MB and the columnar format in 1.2-1.7 s
+ * out of 131.7 MB, a 3.4-4.9x read speedup rather than the order of
+ * magnitude that was aimed for. The columnar read only decodes primitive
+ * columns, so its time is spent creating the entities themselves (the
+ * publications, their author and keyword lists, dates and the maps holding
+ * them): building the same entities in memory, without any file, took
+ * 1.7-1.9 s once warmed up. No reader that rebuilds every entity can get much
+ * faster, so the startup that avoids it is the lazy one (see
+ * CISUCMappedSnapshot), which maps the same file in a few milliseconds and
+ * only creates the entities that are used.
+ *
+ * Usage:CISUCSnapshotBenchmark [$numberOfPublications] [$rounds]
+ */
+public class CISUCSnapshotBenchmark {
+
+    // region Constants
+    private static final int DEFAULT_PUBLICATIONS = 500000,
+            DEFAULT_ROUNDS = 3,
+            PUBLICATIONS_PER_INVESTIGATOR = 20,
+            INVESTIGATORS_PER_GROUP = 50;
+    // endregion Constants
+
+    /**
+     * @param args the command line arguments.
+     * @throws IOException if something went wrong whilst writing or reading
+     * the snapshot files.
+     * @throws ClassNotFoundException if the serialized snapshot couldn't be
+     * deserialized.
+     */
+    public static void main(String[] args) throws IOException, ClassNotFoundException {
+        int publications = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PUBLICATIONS,
+                rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        CISUCSnapshot snapshot = createSyntheticSnapshot(publications);
+        File serializedFile = File.createTempFile("cisuc", ".obj"),
+                columnarFile = File.createTempFile("cisuc", ".snapshot");
+        serializedFile.deleteOnExit();
+        columnarFile.deleteOnExit();
+
+        System.out.printf("SYNTHETIC SNAPSHOT: %d INVESTIGATORS, %d INVESTIGATION GROUPS, %d PUBLICATIONS%n",
+                snapshot.getInvestigators().size(), snapshot.getInvestigationGroups().size(), snapshot.getPublications().size());
+
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            try (ObjectOutputStream writer = new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(serializedFile)))) {
+                writer.writeObject(snapshot);
+            }
+            long serializedWriteNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CISUCSnapshot serialized;
+            try (ObjectInputStream reader = new ObjectInputStream(new BufferedInputStream(new FileInputStream(serializedFile)))) {
+                serialized = (CISUCSnapshot) reader.readObject();
+            }
+            long serializedReadNanos = System.nanoTime() - start;
+
+            columnarFile.delete();
+            start = System.nanoTime();
+            new CISUCSnapshotWriter().write(snapshot, columnarFile);
+            long columnarWriteNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            CISUCSnapshot columnar;
+            try (CISUCSnapshotReader reader = new CISUCSnapshotReader(columnarFile)) {
+                columnar = reader.read();
+            }
+            long columnarReadNanos = System.nanoTime() - start;
+
+            if (checksum(serialized) != checksum(columnar)) {
+                System.out.println("ERROR: CHECKSUMS DON'T MATCH!");
+                System.exit(1);
+            }
+
+            System.out.printf("ROUND %d: SERIALIZATION WRITE %6d MS READ %6d MS (%6.1f MB) | COLUMNAR WRITE %6d MS READ %6d MS (%6.1f MB) | READ SPEEDUP %.2fx%n",
+                    round,
+                    serializedWriteNanos / 1000000, serializedReadNanos / 1000000, serializedFile.length() / (1024.0 * 1024.0),
+                    columnarWriteNanos / 1000000, columnarReadNanos / 1000000, columnarFile.length() / (1024.0 * 1024.0),
+                    (double) serializedReadNanos / columnarReadNanos);
+        }
+    }
+
+    /**
+     * Function that creates a synthetic snapshot with every kind of entity.
+     *
+     * @param publications the number of publications to create.
+     * @return the synthetic snapshot.
+     */
+    private static CISUCSnapshot createSyntheticSnapshot(int publications) {
+        Random random = new Random(42);
+        HashMap<Integer, Investigator> investigators = new HashMap<>();
+        HashMap<String, InvestigationGroup> investigationGroups = new HashMap<>();
+        HashMap<String, Publication> publicationsByTitle = new HashMap<>();
+        int investigatorCount = Math.max(INVESTIGATORS_PER_GROUP, publications / PUBLICATIONS_PER_INVESTIGATOR);
+        Investigator[] investigatorArray = new Investigator[investigatorCount];
+        InvestigationGroup group = null;
+
+        for (int i = 0; i < investigatorCount; i++) {
+            if (i % INVESTIGATORS_PER_GROUP == 0) {
+                group = new InvestigationGroup("Investigation group " + i, "G" + i, null, new ArrayList<>());
+                investigationGroups.put(group.getName(), group);
+            }
+            if (i % INVESTIGATORS_PER_GROUP == 0 || random.nextBoolean()) {
+                investigatorArray[i] = new EffectiveInvestigator(i, "Investigator " + i, "investigator" + i + "@dei.uc.pt", group, String.valueOf(239000000 + i), "D" + random.nextInt(500));
+            } else {
+                investigatorArray[i] = new StudentInvestigator(i, "Student " + i, "student" + i + "@dei.uc.pt", group, "Thesis number " + i, investigatorArray[i - i % INVESTIGATORS_PER_GROUP], new Date(1600000000000L + random.nextInt(1000000) * 1000L));
+            }
+            if (i % INVESTIGATORS_PER_GROUP == 0) {
+                group.setResponsibleInvestigator(investigatorArray[i]);
+            }
+            group.getMemberList().add(investigatorArray[i]);
+            investigators.put(i, investigatorArray[i]);
+        }
+
+        for (int i = 0; i < publications; i++) {
+            Publication publication;
+
+            switch (i % 4) {
+                case 0:
+                    ConferenceArticle conferenceArticle = new ConferenceArticle();
+                    conferenceArticle.setConferenceName("Conference " + random.nextInt(100));
+                    conferenceArticle.setConferencePlace("Coimbra");
+                    conferenceArticle.setConferenceDate(new Date(1500000000000L + random.nextInt(1000000) * 1000L));
+                    publication = conferenceArticle;
+                    break;
+                case 1:
+                    MagazineArticle magazineArticle = new MagazineArticle();
+                    magazineArticle.setMagazineName("Magazine " + random.nextInt(100));
+                    magazineArticle.setMagazineId("M" + random.nextInt(1000));
+                    magazineArticle.setMagazineDate(new Date(1500000000000L + random.nextInt(1000000) * 1000L));
+                    publication = magazineArticle;
+                    break;
+                case 2:
+                    Book book = new Book();
+                    book.setIsbn("978-" + random.nextInt(1000000000));
+                    book.setPublishingCompany("Publisher " + random.nextInt(50));
+                    publication = book;
+                    break;
+                default:
+                    BookChapter bookChapter = new BookChapter();
+                    bookChapter.setIsbn("978-" + random.nextInt(1000000000));
+                    bookChapter.setPublishingCompany("Publisher " + random.nextInt(50));
+                    bookChapter.setChapterName("Chapter " + random.nextInt(30));
+                    bookChapter.setBeginPage(1 + random.nextInt(100));
+                    bookChapter.setEndPage(101 + random.nextInt(100));
+                    publication = bookChapter;
+            }
+
+            ArrayList<Investigator> authors = new ArrayList<>();
+            for (int j = 0; j < 1 + random.nextInt(4); j++) {
+                authors.add(investigatorArray[random.nextInt(investigatorCount)]);
+            }
+
+            publication.setTitle("Synthetic publication number " + i);
+            publication.setPublicationYear(1950 + random.nextInt(70));
+            publication.setAudienceSize(1 + random.nextInt(5000));
+            publication.setSummary("A summary of the synthetic publication number " + i + ", long enough to resemble a real abstract of a scientific publication.");
+            publication.setKeywords(new ArrayList<>(Arrays.asList("Keyword " + random.nextInt(50), "Keyword " + random.nextInt(50), "Keyword " + random.nextInt(50))));
+            publication.setAuthors(authors);
+            publication.setImpactFactor();
+            publicationsByTitle.put(publication.getTitle(), publication);
+        }
+
+        return new CISUCSnapshot(investigators, investigationGroups, publicationsByTitle);
+    }
+
+    /**
+     * Function that computes a checksum over the contents of a snapshot, so
+     * that both snapshot formats can be checked to hold the same entities.
+     *
+     * @param snapshot the snapshot.
+     * @return the checksum.
+     */
+    private static long checksum(CISUCSnapshot snapshot) {
+        long checksum = 0;
+
+        for (Investigator investigator : snapshot.getInvestigators().values()) {
+            checksum += investigator.getName().hashCode() + investigator.getInvestigationGroup().getAcronym().hashCode();
+        }
+        for (InvestigationGroup group : snapshot.getInvestigationGroups().values()) {
+            checksum += group.getMemberList().size() + group.getResponsibleInvestigator().getInvestigatorId();
+        }
+        for (Publication publication : snapshot.getPublications().values()) {
+            checksum += publication.getPublicationId() + publication.getPublicationYear() + publication.getImpactFactor().ordinal()
+                    + publication.getSummary().hashCode() + publication.getKeywords().hashCode() + publication.getAuthors().size();
+        }
+        return checksum;
+    }
+}
@@ -0,0 +1,171 @@
+package cisucmanager.benchmarks;
+
+import cisucmanager.CISUCTextTokenizer;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Random;
+
+/**
+ * @author Sancho Amaral Simoes, 2019217590
+ * Universidade de Coimbra, Licenciatura em Engenharia Informática
+ * Programação Orientada a Objetos, 2º ano, 1º semestre, 2020/2021
+ *
+ * Benchmark that compares, on a large synthetic publications text file, the
+ * former BufferedReader + String.split(FIELD_SEPARATOR_REGEX) tokenization
+ * path with the memory mapped CISUCTextTokenizer.
+ *
+ * Usage: CISUCTokenizerBenchmark [$numberOfPublications] [$rounds]
+ */
+public class CISUCTokenizerBenchmark {
+
+    // region Constants
+    private static final String FIELD_SEPARATOR_REGEX = "\\s*\\|\\s*",
+            COMMENT_SEPARATOR = "//",
+            DATE_FORMAT = "dd/MM/yyyy";
+    private static final int DEFAULT_PUBLICATIONS = 1000000,
+            DEFAULT_ROUNDS = 3;
+    // endregion Constants
+
+    /**
+     * @param args the command line arguments.
+     * @throws IOException if something went wrong whilst writing or reading
+     * the synthetic file.
+     * @throws ParseException if a generated date couldn't be parsed.
+     */
+    public static void main(String[] args) throws IOException, ParseException {
+        int publications = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PUBLICATIONS,
+                rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+
+        File file = File.createTempFile("cisuc-publications", ".txt");
+        file.deleteOnExit();
+
+        writeSyntheticFile(file, publications);
+
+        double megabytes = file.length() / (1024.0 * 1024.0);
+        System.out.printf("SYNTHETIC FILE: %d PUBLICATIONS, %.1f MB%n", publications, megabytes);
+
+        for (int round = 1; round <= rounds; round++) {
+            long start = System.nanoTime();
+            long splitChecksum = tokenizeWithSplit(file);
+            long splitNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long tokenizerChecksum = tokenizeWithTokenizer(file);
+            long tokenizerNanos = System.nanoTime() - start;
+
+            if (splitChecksum != tokenizerChecksum) {
+                System.out.println("ERROR: CHECKSUMS DON'T MATCH (" + splitChecksum + " != " + tokenizerChecksum + ")!");
+                System.exit(1);
+            }
+
+            System.out.printf("ROUND %d: STRING.SPLIT %6d MS (%6.1f MB/S) | TOKENIZER %6d MS (%6.1f MB/S) | SPEEDUP %.2fx%n",
+                    round,
+                    splitNanos / 1000000, megabytes / (splitNanos / 1e9),
+                    tokenizerNanos / 1000000, megabytes / (tokenizerNanos / 1e9),
+                    (double) splitNanos / tokenizerNanos);
+        }
+    }
+
+    /**
+     * Function that writes a synthetic publications text file, with
+     * conference article records in the format expected by CISUCFileHandler.
+     *
+     * @param file the target file.
+     * @param publications the number of publications to write.
+     * @throws IOException if something went wrong whilst writing the file.
+     */
+    private static void writeSyntheticFile(File file, int publications) throws IOException {
+        Random random = new Random(42);
+
+        try (BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            writer.write("// Synthetic publications file\n\n");
+            for (int i = 0; i < publications; i++) {
+                writer.write("0 | Synthetic publication number " + i + " | " + (1950 + random.nextInt(70)) + " | " + (1 + random.nextInt(5000))
+                        + " | Conference " + random.nextInt(100) + " | Coimbra | " + (1 + random.nextInt(28)) + "/" + (1 + random.nextInt(12)) + "/" + (1950 + random.nextInt(70)) + "\n");
+                writer.write("A summary of the synthetic publication number " + i + ", long enough to resemble a real abstract of a scientific publication.\n");
+                writer.write("Keyword " + random.nextInt(50) + "|Keyword " + random.nextInt(50) + "|Keyword " + random.nextInt(50) + "\n");
+                writer.write((1 + random.nextInt(30)) + "|" + (1 + random.nextInt(30)) + "|" + (1 + random.nextInt(30)) + "\n\n");
+            }
+        }
+    }
+
+    /**
+     * Function that tokenizes the synthetic file as CISUCFileHandler used to,
+     * accumulating the parsed numeric fields into a checksum.
+     *
+     * @param file the synthetic file.
+     * @return the checksum.
+     * @throws IOException if something went wrong whilst reading the file.
+     * @throws ParseException if a date couldn't be parsed.
+     */
+    private static long tokenizeWithSplit(File file) throws IOException, ParseException {
+        long checksum = 0;
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.trim().startsWith(COMMENT_SEPARATOR) || line.length() == 0) {
+                    continue;
+                }
+                String[] splitLine = line.split(FIELD_SEPARATOR_REGEX);
+                checksum += splitLine[1].length();
+                checksum += Integer.parseInt(splitLine[2]);
+                checksum += Integer.parseInt(splitLine[3]);
+                checksum += new SimpleDateFormat(DATE_FORMAT).parse(splitLine[6]).getTime();
+
+                checksum += reader.readLine().length();
+                checksum += reader.readLine().split(FIELD_SEPARATOR_REGEX).length;
+
+                for (String authorId : reader.readLine().split(FIELD_SEPARATOR_REGEX)) {
+                    checksum += Integer.parseInt(authorId);
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * Function that tokenizes the synthetic file with CISUCTextTokenizer,
+     * accumulating the parsed numeric fields into a checksum.
+     *
+     * @param file the synthetic file.
+     * @return the checksum.
+     * @throws IOException if something went wrong whilst reading the file.
+     * @throws ParseException if a date couldn't be parsed.
+     */
+    private static long tokenizeWithTokenizer(File file) throws IOException, ParseException {
+        long checksum = 0;
+
+        try (CISUCTextTokenizer tokenizer = CISUCTextTokenizer.open(file)) {
+            while (tokenizer.nextLine()) {
+                if (tokenizer.isEmptyOrComment()) {
+                    continue;
+                }
+                checksum += tokenizer.getField(1).length();
+                checksum += tokenizer.getIntField(2);
+                checksum += tokenizer.getIntField(3);
+                checksum += tokenizer.getDateField(6).getTime();
+
+                tokenizer.nextLine();
+                checksum += tokenizer.getLine().length();
+                tokenizer.nextLine();
+                checksum += tokenizer.getFieldCount();
+
+                tokenizer.nextLine();
+                for (int i = 0; i < tokenizer.getFieldCount(); i++) {
+                    checksum += tokenizer.getIntField(i);
+                }
+            }
+        }
+        return checksum;
+    }
+}